@@ -0,0 +1,284 @@
+package com.tcon.learning_management_service.availability.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.tcon.learning_management_service.booking.repository.BookingRepository;
+import com.tcon.learning_management_service.booking.service.AvailabilityEngine;
+import com.tcon.learning_management_service.session.entity.ClassSession;
+import com.tcon.learning_management_service.session.repository.ClassSessionRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * In-memory free/busy index per teacher, for read-only views such as the availability
+ * endpoint.
+ * Each day of a rolling horizon is a 288-bit bitmap (5-minute cells, five longs), so most
+ * checks are a handful of word-level ANDs; a hit is confirmed against the exact intervals.
+ * A teacher's calendar is built lazily from class_sessions and bookings on first use,
+ * kept current by the write paths on this instance, and rebuilt after
+ * {@code refresh-after} so writes made by other instances are picked up. It can therefore
+ * be briefly stale, and must not be the final word before a write: scheduling and booking
+ * confirm against Mongo (see SessionConflictService). Cold teachers are evicted once
+ * {@code max-teachers} is reached.
+ */
+@Slf4j
+@Service
+public class TeacherBusyIndex {
+
+    static final int SLOT_MINUTES = 5;
+    static final int SLOTS_PER_DAY = 24 * 60 / SLOT_MINUTES;
+    static final int WORDS_PER_DAY = (SLOTS_PER_DAY + 63) / 64;
+
+    private final ClassSessionRepository sessionRepository;
+    private final BookingRepository bookingRepository;
+    private final AvailabilityEngine availabilityEngine;
+    private final Cache<String, TeacherCalendar> calendars;
+    private final int lookbackDays;
+    private final int horizonDays;
+
+    public TeacherBusyIndex(ClassSessionRepository sessionRepository,
+                            BookingRepository bookingRepository,
+                            AvailabilityEngine availabilityEngine,
+                            @Value("${availability.busy-index.max-teachers:2000}") long maxTeachers,
+                            @Value("${availability.busy-index.lookback-days:1}") int lookbackDays,
+                            @Value("${availability.busy-index.horizon-days:90}") int horizonDays,
+                            @Value("${availability.busy-index.refresh-after:PT2M}") Duration refreshAfter) {
+        this.sessionRepository = sessionRepository;
+        this.bookingRepository = bookingRepository;
+        this.availabilityEngine = availabilityEngine;
+        this.lookbackDays = lookbackDays;
+        this.horizonDays = horizonDays;
+        this.calendars = Caffeine.newBuilder()
+                .maximumSize(maxTeachers)
+                .expireAfterWrite(refreshAfter)
+                .build();
+    }
+
+    /**
+     * Whether [start, end) falls inside the indexed horizon. Outside it callers query Mongo.
+     */
+    public boolean covers(LocalDateTime start, LocalDateTime end) {
+        LocalDate today = LocalDate.now();
+        return !start.toLocalDate().isBefore(today.minusDays(lookbackDays))
+                && end.toLocalDate().isBefore(today.plusDays(horizonDays));
+    }
+
+    /**
+     * Whether any live session or booking of the teacher overlaps [start, end).
+     */
+    public boolean isBusy(String teacherId, LocalDateTime start, LocalDateTime end) {
+        return calendar(teacherId).isBusy(start, end, null);
+    }
+
+    /**
+     * Same as {@link #isBusy(String, LocalDateTime, LocalDateTime)} but ignoring the
+     * interval recorded under excludeKey (e.g. the session being rescheduled).
+     */
+    public boolean isBusy(String teacherId, LocalDateTime start, LocalDateTime end, String excludeKey) {
+        return calendar(teacherId).isBusy(start, end, excludeKey);
+    }
+
+    /**
+     * Number of sessions/bookings starting on the given day.
+     */
+    public int sessionsOn(String teacherId, LocalDate date) {
+        return calendar(teacherId).countOn(date);
+    }
+
+    /**
+     * Record new busy time. Only touches calendars already in memory; others pick the
+     * change up from Mongo when they are built.
+     */
+    public void markBusy(String teacherId, String key, LocalDateTime start, LocalDateTime end) {
+        if (teacherId == null || start == null || end == null) {
+            return;
+        }
+        TeacherCalendar calendar = calendars.getIfPresent(teacherId);
+        if (calendar != null) {
+            calendar.add(key, start, end);
+        }
+    }
+
+    public void markBusy(ClassSession session) {
+        markBusy(session.getTeacherId(), sessionKey(session.getId()),
+                session.getScheduledStartTime(), session.getScheduledEndTime());
+    }
+
+    /**
+     * Free the busy time recorded under a key (and any "key:n" children, used for
+     * multi-session bookings).
+     */
+    public void release(String teacherId, String key) {
+        if (teacherId == null) {
+            return;
+        }
+        TeacherCalendar calendar = calendars.getIfPresent(teacherId);
+        if (calendar != null) {
+            calendar.remove(key);
+        }
+    }
+
+    public void invalidate(String teacherId) {
+        calendars.invalidate(teacherId);
+    }
+
+    public static String sessionKey(String sessionId) {
+        return "session:" + sessionId;
+    }
+
+    public static String bookingKey(String bookingId) {
+        return "booking:" + bookingId;
+    }
+
+    private TeacherCalendar calendar(String teacherId) {
+        return calendars.get(teacherId, this::build);
+    }
+
+    private TeacherCalendar build(String teacherId) {
+        LocalDateTime from = LocalDate.now().minusDays(lookbackDays).atStartOfDay();
+        LocalDateTime to = LocalDate.now().plusDays(horizonDays).atStartOfDay();
+
+        List<AvailabilityEngine.BusyInterval> busy = availabilityEngine.toBusyIntervals(
+                sessionRepository.findActiveByTeacherIdOverlapping(teacherId, from, to),
+                bookingRepository.findActiveByTeacherIdOverlapping(teacherId, from, to));
+
+        TeacherCalendar calendar = new TeacherCalendar();
+        busy.forEach(interval -> calendar.add(interval.getKey(), interval.getStart(), interval.getEnd()));
+
+        log.debug("Built busy index for teacher {} with {} intervals", teacherId, busy.size());
+        return calendar;
+    }
+
+    /**
+     * One teacher's busy bitmaps plus the intervals they were built from, so a
+     * removal can rebuild just the affected days.
+     */
+    static class TeacherCalendar {
+
+        private final Map<LocalDate, long[]> days = new HashMap<>();
+        private final Map<String, LocalDateTime[]> entries = new HashMap<>();
+
+        synchronized void add(String key, LocalDateTime start, LocalDateTime end) {
+            if (!end.isAfter(start)) {
+                return;
+            }
+            LocalDateTime[] previous = entries.put(key, new LocalDateTime[]{start, end});
+            if (previous != null) {
+                rebuildDays(previous[0], previous[1]);
+            }
+            setBits(start, end);
+        }
+
+        synchronized void remove(String key) {
+            Set<String> removed = new HashSet<>();
+            for (String existing : entries.keySet()) {
+                if (existing.equals(key) || existing.startsWith(key + ":")) {
+                    removed.add(existing);
+                }
+            }
+            for (String existing : removed) {
+                LocalDateTime[] interval = entries.remove(existing);
+                rebuildDays(interval[0], interval[1]);
+            }
+        }
+
+        synchronized boolean isBusy(LocalDateTime start, LocalDateTime end, String excludeKey) {
+            if (!bitsOverlap(start, end)) {
+                return false;
+            }
+            // Cells are rounded outwards, so a hit only means "maybe": settle it against
+            // the exact intervals, which also drops the excluded one
+            for (Map.Entry<String, LocalDateTime[]> entry : entries.entrySet()) {
+                LocalDateTime[] interval = entry.getValue();
+                if (!entry.getKey().equals(excludeKey) && interval[0].isBefore(end) && interval[1].isAfter(start)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private boolean bitsOverlap(LocalDateTime start, LocalDateTime end) {
+            for (LocalDate day = start.toLocalDate(); !day.isAfter(lastDay(end)); day = day.plusDays(1)) {
+                long[] bits = days.get(day);
+                if (bits == null) {
+                    continue;
+                }
+                long[] mask = mask(day, start, end);
+                for (int i = 0; i < WORDS_PER_DAY; i++) {
+                    if ((bits[i] & mask[i]) != 0) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+
+        synchronized int countOn(LocalDate date) {
+            int count = 0;
+            for (LocalDateTime[] interval : entries.values()) {
+                if (interval[0].toLocalDate().equals(date)) {
+                    count++;
+                }
+            }
+            return count;
+        }
+
+        private void setBits(LocalDateTime start, LocalDateTime end) {
+            for (LocalDate day = start.toLocalDate(); !day.isAfter(lastDay(end)); day = day.plusDays(1)) {
+                long[] bits = days.computeIfAbsent(day, d -> new long[WORDS_PER_DAY]);
+                long[] mask = mask(day, start, end);
+                for (int i = 0; i < WORDS_PER_DAY; i++) {
+                    bits[i] |= mask[i];
+                }
+            }
+        }
+
+        private void rebuildDays(LocalDateTime start, LocalDateTime end) {
+            for (LocalDate day = start.toLocalDate(); !day.isAfter(lastDay(end)); day = day.plusDays(1)) {
+                days.remove(day);
+            }
+            LocalDateTime from = start.toLocalDate().atStartOfDay();
+            LocalDateTime to = lastDay(end).plusDays(1).atStartOfDay();
+            for (LocalDateTime[] interval : entries.values()) {
+                if (interval[0].isBefore(to) && interval[1].isAfter(from)) {
+                    LocalDateTime clippedStart = interval[0].isBefore(from) ? from : interval[0];
+                    LocalDateTime clippedEnd = interval[1].isAfter(to) ? to : interval[1];
+                    setBits(clippedStart, clippedEnd);
+                }
+            }
+        }
+
+        // Last calendar day touched by an interval ending at 'end' (exclusive)
+        private static LocalDate lastDay(LocalDateTime end) {
+            return end.minusNanos(1).toLocalDate();
+        }
+
+        // Cells of 'day' covered by [start, end), rounded outwards to whole cells
+        private static long[] mask(LocalDate day, LocalDateTime start, LocalDateTime end) {
+            LocalDateTime dayStart = day.atStartOfDay();
+            long fromMinute = Math.max(0, Duration.between(dayStart, start).toMinutes());
+            long toMinute = Math.min(24 * 60, (Duration.between(dayStart, end).toSeconds() + 59) / 60);
+
+            int first = (int) (fromMinute / SLOT_MINUTES);
+            int last = Math.min(SLOTS_PER_DAY - 1, (int) ((toMinute + SLOT_MINUTES - 1) / SLOT_MINUTES) - 1);
+
+            long[] mask = new long[WORDS_PER_DAY];
+            for (int word = first >>> 6; first <= last && word <= last >>> 6; word++) {
+                int lo = word == first >>> 6 ? first & 63 : 0;
+                int hi = word == last >>> 6 ? last & 63 : 63;
+                mask[word] = (-1L << lo) & (-1L >>> (63 - hi));
+            }
+            return mask;
+        }
+    }
+}
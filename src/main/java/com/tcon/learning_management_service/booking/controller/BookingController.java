@@ -6,10 +6,15 @@ import com.tcon.learning_management_service.booking.dto.AvailabilityDto;
 import com.tcon.learning_management_service.booking.dto.BatchBookingRequest;
 import com.tcon.learning_management_service.booking.dto.BookingCancellationRequest;
 import com.tcon.learning_management_service.booking.dto.BookingDto;
+import com.tcon.learning_management_service.booking.dto.BookingPage;
 import com.tcon.learning_management_service.booking.dto.BookingRequest;
+import com.tcon.learning_management_service.booking.dto.BookingSummaryDto;
+import com.tcon.learning_management_service.booking.entity.BookingStatus;
+import com.tcon.learning_management_service.booking.repository.BookingPageQuery;
 import com.tcon.learning_management_service.booking.service.AvailabilityService;
 import com.tcon.learning_management_service.booking.service.BookingService;
 import com.tcon.learning_management_service.booking.service.CancellationService;
+import com.tcon.learning_management_service.idempotency.service.IdempotencyService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -32,12 +37,14 @@ public class BookingController {
     private final BookingService bookingService;
     private final CancellationService cancellationService;
     private final AvailabilityService availabilityService;
+    private final IdempotencyService idempotencyService;
 
     // ==================== CREATE BOOKING ====================
 
     @PostMapping
     public ResponseEntity<?> createBooking(
             @RequestHeader("X-User-Id") String userId,
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey,
             @Valid @RequestBody BookingRequest request) {
 
         log.info("📥 POST /api/bookings - Creating booking");
@@ -52,26 +59,28 @@ public class BookingController {
         log.info("  - subject: {}", request.getSubject());
         log.info("  - notes: {}", request.getNotes());
 
-        try {
-            BookingDto booking = bookingService.createBooking(userId, request);
+        return idempotencyService.execute("booking", userId, idempotencyKey, request, () -> {
+            try {
+                BookingDto booking = bookingService.createBooking(userId, request);
 
-            log.info("✅ Booking created successfully: ID={}, Status={}",
-                    booking.getId(), booking.getStatus());
+                log.info("✅ Booking created successfully: ID={}, Status={}",
+                        booking.getId(), booking.getStatus());
 
-            return ResponseEntity.status(HttpStatus.CREATED).body(booking);
+                return ResponseEntity.status(HttpStatus.CREATED).body(booking);
 
-        } catch (IllegalArgumentException e) {
-            log.error("❌ Validation error: {}", e.getMessage());
-            return ResponseEntity.badRequest().body(
-                    Map.of("error", e.getMessage())
-            );
+            } catch (IllegalArgumentException e) {
+                log.error("❌ Validation error: {}", e.getMessage());
+                return ResponseEntity.badRequest().body(
+                        Map.of("error", e.getMessage())
+                );
 
-        } catch (Exception e) {
-            log.error("❌ Unexpected error creating booking", e);
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(
-                    Map.of("error", "Failed to create booking: " + e.getMessage())
-            );
-        }
+            } catch (Exception e) {
+                log.error("❌ Unexpected error creating booking", e);
+                return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(
+                        Map.of("error", "Failed to create booking: " + e.getMessage())
+                );
+            }
+        });
     }
 
     // ==================== CREATE BATCH BOOKING (NEW) ====================
@@ -79,6 +88,7 @@ public class BookingController {
     @PostMapping("/batch")
     public ResponseEntity<?> createBatchBooking(
             @RequestHeader("X-User-Id") String userId,
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey,
             @Valid @RequestBody BatchBookingRequest request) {
 
         log.info("📥 POST /api/bookings/batch - Creating multi-session booking");
@@ -88,28 +98,30 @@ public class BookingController {
         log.info("📦 Sessions: {}", request.getSessions().size());
         log.info("💰 Total: {} {}", request.getCurrency(), request.getTotalAmount());
 
-        try {
-            // ✅ Creates ONE booking with multiple sessions
-            BookingDto booking = bookingService.createBatchBooking(userId, request);
-
-            log.info("✅ Multi-session booking created: ID={}, Sessions={}",
-                    booking.getId(),
-                    booking.getSessions() != null ? booking.getSessions().size() : 0);
-
-            return ResponseEntity.status(HttpStatus.CREATED).body(booking);
-
-        } catch (IllegalArgumentException e) {
-            log.error("❌ Validation error: {}", e.getMessage());
-            return ResponseEntity.badRequest().body(
-                    Map.of("error", e.getMessage())
-            );
-
-        } catch (Exception e) {
-            log.error("❌ Unexpected error creating batch booking", e);
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(
-                    Map.of("error", "Failed to create batch booking: " + e.getMessage())
-            );
-        }
+        return idempotencyService.execute("booking-batch", userId, idempotencyKey, request, () -> {
+            try {
+                // ✅ Creates ONE booking with multiple sessions
+                BookingDto booking = bookingService.createBatchBooking(userId, request);
+
+                log.info("✅ Multi-session booking created: ID={}, Sessions={}",
+                        booking.getId(),
+                        booking.getSessions() != null ? booking.getSessions().size() : 0);
+
+                return ResponseEntity.status(HttpStatus.CREATED).body(booking);
+
+            } catch (IllegalArgumentException e) {
+                log.error("❌ Validation error: {}", e.getMessage());
+                return ResponseEntity.badRequest().body(
+                        Map.of("error", e.getMessage())
+                );
+
+            } catch (Exception e) {
+                log.error("❌ Unexpected error creating batch booking", e);
+                return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(
+                        Map.of("error", "Failed to create batch booking: " + e.getMessage())
+                );
+            }
+        });
     }
 
     // ==================== CONFIRM BOOKING (AFTER PAYMENT) ====================
@@ -241,6 +253,58 @@ public class BookingController {
         return ResponseEntity.ok(bookings);
     }
 
+    // ==================== PAGED LISTINGS ====================
+
+    @GetMapping("/student/{studentId}/page")
+    public ResponseEntity<BookingPage<BookingSummaryDto>> getStudentBookingsPage(
+            @PathVariable String studentId,
+            @RequestParam(required = false) List<BookingStatus> status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        log.info("📥 GET /api/bookings/student/{}/page", studentId);
+        return ResponseEntity.ok(bookingService.getBookingsPage(
+                BookingPageQuery.Owner.STUDENT, studentId, status, from, to, cursor, size));
+    }
+
+    @GetMapping("/teacher/{teacherId}/page")
+    public ResponseEntity<BookingPage<BookingSummaryDto>> getTeacherBookingsPage(
+            @PathVariable String teacherId,
+            @RequestParam(required = false) List<BookingStatus> status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        log.info("📥 GET /api/bookings/teacher/{}/page", teacherId);
+        return ResponseEntity.ok(bookingService.getBookingsPage(
+                BookingPageQuery.Owner.TEACHER, teacherId, status, from, to, cursor, size));
+    }
+
+    @GetMapping("/parent/{parentId}/page")
+    public ResponseEntity<BookingPage<BookingSummaryDto>> getParentBookingsPage(
+            @PathVariable String parentId,
+            @RequestParam(required = false) List<BookingStatus> status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        log.info("📥 GET /api/bookings/parent/{}/page", parentId);
+        return ResponseEntity.ok(bookingService.getBookingsPage(
+                BookingPageQuery.Owner.PARENT, parentId, status, from, to, cursor, size));
+    }
+
+    @GetMapping("/session/{sessionId}/page")
+    public ResponseEntity<BookingPage<BookingSummaryDto>> getSessionBookingsPage(
+            @PathVariable String sessionId,
+            @RequestParam(required = false) List<BookingStatus> status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        log.info("📥 GET /api/bookings/session/{}/page", sessionId);
+        return ResponseEntity.ok(bookingService.getBookingsPage(
+                BookingPageQuery.Owner.SESSION, sessionId, status, null, null, cursor, size));
+    }
+
     // ==================== TEACHER APPROVE/REJECT ====================
 
     @PostMapping("/{bookingId}/approve")
@@ -69,6 +69,9 @@ public class BookingDto {
     @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
     private LocalDateTime refundedAt;
 
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime holdExpiresAt;
+
     private Boolean reminderSent;
     private String notes;
 
@@ -84,6 +87,8 @@ public class BookingDto {
     @NoArgsConstructor
     @AllArgsConstructor
     public static class SessionTimeDto {
+        private String sessionId;
+
         @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
         private LocalDateTime startTime;
 
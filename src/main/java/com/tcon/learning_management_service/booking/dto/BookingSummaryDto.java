@@ -0,0 +1,41 @@
+package com.tcon.learning_management_service.booking.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.tcon.learning_management_service.booking.entity.BookingStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * List row for dashboards: just what a booking list renders.
+ * Full detail is served by GET /api/bookings/{id}.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingSummaryDto {
+    private String id;
+    private String sessionId;
+    private String courseId;
+    private String studentId;
+    private String studentName;
+    private String teacherId;
+    private String parentId;
+    private String subject;
+
+    private BookingStatus status;
+
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime sessionStartTime;
+
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime sessionEndTime;
+
+    private BigDecimal amount;
+    private String currency;
+}
@@ -8,6 +8,7 @@ import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
@@ -20,7 +21,16 @@ import java.util.List;
 @NoArgsConstructor
 @AllArgsConstructor
 @Document(collection = "bookings")
-@CompoundIndex(name = "session_student_idx", def = "{'sessionId': 1, 'studentId': 1}", unique = false)
+@CompoundIndexes({
+        @CompoundIndex(name = "session_student_idx", def = "{'sessionId': 1, 'studentId': 1}", unique = false),
+        // Keyset paging: owner, then (sessionStartTime, _id) descending
+        @CompoundIndex(name = "student_start_idx", def = "{'studentId': 1, 'sessionStartTime': -1, '_id': -1}"),
+        @CompoundIndex(name = "teacher_start_idx", def = "{'teacherId': 1, 'sessionStartTime': -1, '_id': -1}"),
+        @CompoundIndex(name = "parent_start_idx", def = "{'parentId': 1, 'sessionStartTime': -1, '_id': -1}"),
+        @CompoundIndex(name = "session_start_idx", def = "{'sessionId': 1, 'sessionStartTime': -1, '_id': -1}"),
+        // Payment-hold sweep: PENDING_PAYMENT bookings whose hold has passed
+        @CompoundIndex(name = "hold_expiry_idx", def = "{'status': 1, 'holdExpiresAt': 1}")
+})
 public class Booking {
 
     @Id
@@ -77,6 +87,26 @@ public class Booking {
     private String refundTransactionId;
     private LocalDateTime refundedAt;
 
+    // Payment hold: a PENDING_PAYMENT booking keeps the slot until this time
+    private LocalDateTime holdExpiresAt;
+
+    // Set by the hold-expiry sweep that expired this booking
+    @Indexed(sparse = true)
+    private String expiryBatchId;
+
+    // Set by the session-cancellation cascade that cancelled this booking
+    @Indexed(sparse = true)
+    private String cancellationBatchId;
+
+    // Set by the no-show sweep that marked this booking NO_SHOW
+    @Indexed(sparse = true)
+    private String noShowBatchId;
+
+    // Set with expiryBatchId and removed once the batch's seats and sessions are released,
+    // so a sweep that died in between is finished by a later one
+    @Indexed(sparse = true)
+    private Boolean releasePending;
+
     private Boolean reminderSent;
     private LocalDateTime reminderSentAt;
 
@@ -94,6 +124,8 @@ public class Booking {
     @NoArgsConstructor
     @AllArgsConstructor
     public static class SessionTime {
+        // ClassSession created for this slot
+        private String sessionId;
         private LocalDateTime startTime;
         private LocalDateTime endTime;
         private BigDecimal amount;
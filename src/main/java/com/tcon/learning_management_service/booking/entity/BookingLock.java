@@ -0,0 +1,38 @@
+package com.tcon.learning_management_service.booking.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+/**
+ * Shared lease lock, one document per locked resource (e.g. "session:<id>").
+ * A lease is free once expiresAt has passed; the TTL index only garbage-collects
+ * leases that have been idle for a day, so fencing tokens keep increasing while
+ * a resource is in active use.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "booking_locks")
+public class BookingLock {
+
+    @Id
+    private String resourceId;
+
+    private String ownerId;
+
+    // Incremented on every successful acquire
+    private Long fencingToken;
+
+    private LocalDateTime acquiredAt;
+
+    @Indexed(name = "lease_ttl_idx", expireAfter = "1d")
+    private LocalDateTime expiresAt;
+}
@@ -0,0 +1,49 @@
+package com.tcon.learning_management_service.booking.repository;
+
+import com.tcon.learning_management_service.booking.entity.Booking;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position in a booking listing ordered by (sessionStartTime, _id) descending.
+ * Encoded as an opaque URL-safe token; sessionStartTime may be null for old
+ * batch bookings, which sort after all dated ones.
+ */
+@Getter
+@AllArgsConstructor
+public class BookingCursor {
+
+    private static final String SEPARATOR = "|";
+
+    private final LocalDateTime sessionStartTime;
+    private final String id;
+
+    public static BookingCursor of(Booking booking) {
+        return new BookingCursor(booking.getSessionStartTime(), booking.getId());
+    }
+
+    public String encode() {
+        String raw = (sessionStartTime != null ? sessionStartTime.toString() : "") + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static BookingCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            String time = raw.substring(0, separator);
+            String id = raw.substring(separator + 1);
+            if (id.isEmpty()) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return new BookingCursor(time.isEmpty() ? null : LocalDateTime.parse(time), id);
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+}
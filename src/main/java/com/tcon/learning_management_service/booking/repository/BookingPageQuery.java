@@ -0,0 +1,46 @@
+package com.tcon.learning_management_service.booking.repository;
+
+import com.tcon.learning_management_service.booking.entity.BookingStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Filters for one page of bookings belonging to a student, teacher, parent or session.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingPageQuery {
+
+    private Owner owner;
+    private String ownerId;
+
+    // Optional filters
+    private List<BookingStatus> statuses;
+    private LocalDateTime from;   // sessionStartTime >= from
+    private LocalDateTime to;     // sessionStartTime < to
+
+    private BookingCursor after;
+    private int limit;
+
+    // Load only the fields of BookingSummaryDto
+    private boolean summaryOnly;
+
+    @Getter
+    @AllArgsConstructor
+    public enum Owner {
+        STUDENT("studentId"),
+        TEACHER("teacherId"),
+        PARENT("parentId"),
+        SESSION("sessionId");
+
+        private final String field;
+    }
+}
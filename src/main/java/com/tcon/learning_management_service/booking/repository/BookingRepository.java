@@ -3,6 +3,7 @@ package com.tcon.learning_management_service.booking.repository;
 import com.tcon.learning_management_service.booking.entity.Booking;
 import com.tcon.learning_management_service.booking.entity.BookingStatus;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
@@ -10,7 +11,7 @@ import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface BookingRepository extends MongoRepository<Booking, String> {
+public interface BookingRepository extends MongoRepository<Booking, String>, BookingRepositoryCustom {
 
     Optional<Booking> findBySessionIdAndStudentId(String sessionId, String studentId);
 
@@ -39,6 +40,13 @@ public interface BookingRepository extends MongoRepository<Booking, String> {
     List<Booking> findByTeacherIdAndSessionStartTimeBetween(
             String teacherId, LocalDateTime start, LocalDateTime end);
 
+    // Bookings that hold the teacher's time and overlap [start, end), including batch bookings
+    @Query(value = "{ 'teacherId': ?0, 'status': { $in: ['PENDING', 'PENDING_PAYMENT', 'CONFIRMED'] }, $or: [ " +
+            "{ 'sessionStartTime': { $lt: ?2 }, 'sessionEndTime': { $gt: ?1 } }, " +
+            "{ 'sessions': { $elemMatch: { 'startTime': { $lt: ?2 }, 'endTime': { $gt: ?1 } } } } ] }",
+            fields = "{ 'sessionId': 1, 'status': 1, 'sessionStartTime': 1, 'sessionEndTime': 1, 'sessions': 1, 'holdExpiresAt': 1 }")
+    List<Booking> findActiveByTeacherIdOverlapping(String teacherId, LocalDateTime start, LocalDateTime end);
+
     Long countBySessionIdAndStatus(String sessionId, BookingStatus status);
 
     Long countByStudentIdAndStatus(String studentId, BookingStatus status);
@@ -0,0 +1,24 @@
+package com.tcon.learning_management_service.booking.repository;
+
+import com.tcon.learning_management_service.booking.entity.Booking;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface BookingRepositoryCustom {
+
+    /**
+     * Bookings after the query's cursor, newest session first, at most limit rows.
+     */
+    List<Booking> findPage(BookingPageQuery query);
+
+    /**
+     * Whether a booking holding the teacher's time overlaps [start, end) widened by the
+     * buffer. Counts the same bookings as the availability engine: lapsed payment holds
+     * are free, and batch bookings are checked per session.
+     *
+     * @param excludeSessionId bookings of this session are ignored, may be null
+     */
+    boolean existsConflict(String teacherId, LocalDateTime start, LocalDateTime end,
+                           int bufferMinutes, String excludeSessionId);
+}
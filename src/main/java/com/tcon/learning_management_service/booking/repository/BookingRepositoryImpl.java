@@ -0,0 +1,104 @@
+package com.tcon.learning_management_service.booking.repository;
+
+import com.tcon.learning_management_service.booking.entity.Booking;
+import com.tcon.learning_management_service.booking.entity.BookingStatus;
+import lombok.RequiredArgsConstructor;
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Keyset paging over (owner, sessionStartTime desc, _id desc). Each owner field has a
+ * matching compound index on Booking, so a page costs one index range scan no matter
+ * how deep into the history it is. Also the booking half of the teacher conflict check.
+ */
+@RequiredArgsConstructor
+public class BookingRepositoryImpl implements BookingRepositoryCustom {
+
+    // Fields behind BookingSummaryDto (sessionStartTime and _id also feed the cursor)
+    private static final String[] SUMMARY_FIELDS = {
+            "sessionId", "courseId", "studentId", "studentName", "teacherId", "parentId", "subject",
+            "status", "sessionStartTime", "sessionEndTime", "amount", "currency"
+    };
+
+    private static final List<BookingStatus> HOLDING_TIME = List.of(
+            BookingStatus.PENDING, BookingStatus.PENDING_PAYMENT, BookingStatus.CONFIRMED);
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public List<Booking> findPage(BookingPageQuery pageQuery) {
+        List<Criteria> filters = new ArrayList<>();
+        filters.add(Criteria.where(pageQuery.getOwner().getField()).is(pageQuery.getOwnerId()));
+
+        if (pageQuery.getStatuses() != null && !pageQuery.getStatuses().isEmpty()) {
+            filters.add(Criteria.where("status").in(pageQuery.getStatuses()));
+        }
+        if (pageQuery.getFrom() != null) {
+            filters.add(Criteria.where("sessionStartTime").gte(pageQuery.getFrom()));
+        }
+        if (pageQuery.getTo() != null) {
+            filters.add(Criteria.where("sessionStartTime").lt(pageQuery.getTo()));
+        }
+        if (pageQuery.getAfter() != null) {
+            filters.add(after(pageQuery.getAfter()));
+        }
+
+        Query query = new Query(new Criteria().andOperator(filters))
+                .with(Sort.by(Sort.Direction.DESC, "sessionStartTime", "_id"))
+                .limit(pageQuery.getLimit());
+
+        if (pageQuery.isSummaryOnly()) {
+            query.fields().include(SUMMARY_FIELDS);
+        }
+
+        return mongoTemplate.find(query, Booking.class);
+    }
+
+    @Override
+    public boolean existsConflict(String teacherId, LocalDateTime start, LocalDateTime end,
+                                  int bufferMinutes, String excludeSessionId) {
+        LocalDateTime before = end.plusMinutes(bufferMinutes);
+        LocalDateTime after = start.minusMinutes(bufferMinutes);
+
+        Criteria single = Criteria.where("sessions.0").exists(false)
+                .and("sessionStartTime").lt(before)
+                .and("sessionEndTime").gt(after);
+        Criteria slot = Criteria.where("startTime").lt(before).and("endTime").gt(after);
+        if (excludeSessionId != null) {
+            single = single.and("sessionId").ne(excludeSessionId);
+            slot = slot.and("sessionId").ne(excludeSessionId);
+        }
+
+        Query query = new Query(new Criteria().andOperator(
+                Criteria.where("teacherId").is(teacherId).and("status").in(HOLDING_TIME),
+                // A payment hold past its expiry no longer blocks the slot, swept or not
+                new Criteria().norOperator(Criteria.where("status").is(BookingStatus.PENDING_PAYMENT)
+                        .and("holdExpiresAt").lte(LocalDateTime.now())),
+                new Criteria().orOperator(single, Criteria.where("sessions").elemMatch(slot))))
+                .limit(1);
+        query.fields().include("_id");
+        return !mongoTemplate.find(query, Booking.class).isEmpty();
+    }
+
+    // Rows strictly after the cursor in (sessionStartTime desc, _id desc) order; nulls sort last
+    private Criteria after(BookingCursor cursor) {
+        Object id = ObjectId.isValid(cursor.getId()) ? new ObjectId(cursor.getId()) : cursor.getId();
+
+        if (cursor.getSessionStartTime() == null) {
+            return new Criteria().andOperator(
+                    Criteria.where("sessionStartTime").is(null),
+                    Criteria.where("_id").lt(id));
+        }
+        return new Criteria().orOperator(
+                Criteria.where("sessionStartTime").lt(cursor.getSessionStartTime()),
+                Criteria.where("sessionStartTime").is(cursor.getSessionStartTime()).and("_id").lt(id),
+                Criteria.where("sessionStartTime").is(null));
+    }
+}
@@ -0,0 +1,28 @@
+package com.tcon.learning_management_service.booking.scheduler;
+
+import com.tcon.learning_management_service.booking.service.PaymentHoldService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PaymentHoldExpiryScheduler {
+
+    private final PaymentHoldService paymentHoldService;
+
+    /**
+     * Releases slots held by approved bookings that were never paid
+     */
+    @Scheduled(fixedDelayString = "${booking.payment-hold.sweep-interval:PT1M}",
+            initialDelayString = "${booking.payment-hold.sweep-interval:PT1M}")
+    public void expireLapsedHolds() {
+        try {
+            paymentHoldService.expireLapsedHolds();
+        } catch (Exception e) {
+            log.error("Payment hold sweep failed", e);
+        }
+    }
+}
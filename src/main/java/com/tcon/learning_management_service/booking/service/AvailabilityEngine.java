@@ -0,0 +1,170 @@
+package com.tcon.learning_management_service.booking.service;
+
+import com.tcon.learning_management_service.availability.dto.SessionMode;
+import com.tcon.learning_management_service.booking.dto.AvailabilityDto;
+import com.tcon.learning_management_service.booking.entity.Booking;
+import com.tcon.learning_management_service.booking.entity.BookingStatus;
+import com.tcon.learning_management_service.session.entity.ClassSession;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Pure in-memory free/busy computation. Busy intervals are padded by the teacher's
+ * buffer, sorted and merged once; candidate slots are then swept against them in a
+ * single pass, so a slot that starts inside a longer earlier session is detected too.
+ */
+@Component
+public class AvailabilityEngine {
+
+    public static final String REASON_BUSY = "Session scheduled";
+    public static final String REASON_DAILY_LIMIT = "Daily session limit reached";
+
+    /**
+     * Turn sessions and bookings into busy intervals. A booking (or batch slot) linked
+     * to a loaded session shares its key, so the pair counts once towards the daily limit.
+     * Payment holds that have run out are ignored even before the sweep expires them.
+     */
+    public List<BusyInterval> toBusyIntervals(List<ClassSession> sessions, List<Booking> bookings) {
+        Map<String, BusyInterval> byKey = new LinkedHashMap<>();
+        LocalDateTime now = LocalDateTime.now();
+
+        for (ClassSession session : sessions) {
+            if (session.getScheduledStartTime() == null || session.getScheduledEndTime() == null) {
+                continue;
+            }
+            String key = "session:" + session.getId();
+            byKey.put(key, new BusyInterval(session.getScheduledStartTime(), session.getScheduledEndTime(), key));
+        }
+
+        for (Booking booking : bookings) {
+            if (isLapsedHold(booking, now)) {
+                continue;
+            }
+            if (booking.getSessions() != null && !booking.getSessions().isEmpty()) {
+                for (int i = 0; i < booking.getSessions().size(); i++) {
+                    Booking.SessionTime time = booking.getSessions().get(i);
+                    if (time.getStartTime() == null || time.getEndTime() == null) {
+                        continue;
+                    }
+                    String key = time.getSessionId() != null
+                            ? "session:" + time.getSessionId()
+                            : "booking:" + booking.getId() + ":" + i;
+                    byKey.putIfAbsent(key, new BusyInterval(time.getStartTime(), time.getEndTime(), key));
+                }
+            } else if (booking.getSessionStartTime() != null && booking.getSessionEndTime() != null) {
+                String key = booking.getSessionId() != null
+                        ? "session:" + booking.getSessionId()
+                        : "booking:" + booking.getId();
+                byKey.putIfAbsent(key, new BusyInterval(booking.getSessionStartTime(), booking.getSessionEndTime(), key));
+            }
+        }
+
+        return new ArrayList<>(byKey.values());
+    }
+
+    /**
+     * Mark each candidate slot free or busy.
+     *
+     * @param bufferMinutes     gap the teacher needs around every busy interval
+     * @param maxSessionsPerDay daily cap, or null for no cap
+     * @return one entry per slot, ordered by start time
+     */
+    public List<AvailabilityDto> evaluate(List<CandidateSlot> slots,
+                                          List<BusyInterval> busy,
+                                          int bufferMinutes,
+                                          Integer maxSessionsPerDay) {
+        List<BusyInterval> merged = mergePadded(busy, bufferMinutes);
+        Map<LocalDate, Integer> sessionsPerDay = countPerDay(busy);
+
+        List<CandidateSlot> sorted = new ArrayList<>(slots);
+        sorted.sort(Comparator.comparing(CandidateSlot::getStart));
+
+        List<AvailabilityDto> result = new ArrayList<>(sorted.size());
+        int cursor = 0;
+
+        for (CandidateSlot slot : sorted) {
+            // Busy intervals ending before this slot cannot touch any later slot either
+            while (cursor < merged.size() && !merged.get(cursor).getEnd().isAfter(slot.getStart())) {
+                cursor++;
+            }
+
+            boolean overlaps = cursor < merged.size() && merged.get(cursor).getStart().isBefore(slot.getEnd());
+            boolean dayFull = maxSessionsPerDay != null
+                    && sessionsPerDay.getOrDefault(slot.getStart().toLocalDate(), 0) >= maxSessionsPerDay;
+
+            String reason = overlaps ? REASON_BUSY : dayFull ? REASON_DAILY_LIMIT : null;
+            result.add(AvailabilityDto.builder()
+                    .startTime(slot.getStart())
+                    .endTime(slot.getEnd())
+                    .isAvailable(reason == null)
+                    .reason(reason)
+                    .mode(slot.getMode())
+                    .build());
+        }
+
+        return result;
+    }
+
+    private boolean isLapsedHold(Booking booking, LocalDateTime now) {
+        return booking.getStatus() == BookingStatus.PENDING_PAYMENT
+                && booking.getHoldExpiresAt() != null
+                && !booking.getHoldExpiresAt().isAfter(now);
+    }
+
+    private List<BusyInterval> mergePadded(List<BusyInterval> busy, int bufferMinutes) {
+        List<BusyInterval> padded = new ArrayList<>(busy.size());
+        for (BusyInterval interval : busy) {
+            padded.add(new BusyInterval(
+                    interval.getStart().minusMinutes(bufferMinutes),
+                    interval.getEnd().plusMinutes(bufferMinutes),
+                    interval.getKey()));
+        }
+        padded.sort(Comparator.comparing(BusyInterval::getStart));
+
+        List<BusyInterval> merged = new ArrayList<>();
+        for (BusyInterval interval : padded) {
+            if (!merged.isEmpty() && !interval.getStart().isAfter(merged.get(merged.size() - 1).getEnd())) {
+                BusyInterval last = merged.remove(merged.size() - 1);
+                LocalDateTime end = interval.getEnd().isAfter(last.getEnd()) ? interval.getEnd() : last.getEnd();
+                merged.add(new BusyInterval(last.getStart(), end, last.getKey()));
+            } else {
+                merged.add(interval);
+            }
+        }
+        return merged;
+    }
+
+    private Map<LocalDate, Integer> countPerDay(List<BusyInterval> busy) {
+        Map<LocalDate, Integer> counts = new HashMap<>();
+        for (BusyInterval interval : busy) {
+            counts.merge(interval.getStart().toLocalDate(), 1, Integer::sum);
+        }
+        return counts;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class BusyInterval {
+        private final LocalDateTime start;
+        private final LocalDateTime end;
+        private final String key;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class CandidateSlot {
+        private final LocalDateTime start;
+        private final LocalDateTime end;
+        private final SessionMode mode;
+    }
+}
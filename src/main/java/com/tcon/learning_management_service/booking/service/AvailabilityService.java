@@ -3,8 +3,8 @@ package com.tcon.learning_management_service.booking.service;
 import com.tcon.learning_management_service.availability.entity.TeacherAvailability;
 import com.tcon.learning_management_service.availability.entity.TimeSlot;
 import com.tcon.learning_management_service.availability.repository.TeacherAvailabilityRepository;
+import com.tcon.learning_management_service.availability.service.TeacherBusyIndex;
 import com.tcon.learning_management_service.booking.dto.AvailabilityDto;
-import com.tcon.learning_management_service.booking.entity.BookingStatus;
 import com.tcon.learning_management_service.booking.repository.BookingRepository;
 import com.tcon.learning_management_service.session.repository.ClassSessionRepository;
 import lombok.RequiredArgsConstructor;
@@ -16,6 +16,7 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
 
@@ -27,6 +28,8 @@ public class AvailabilityService {
     private final ClassSessionRepository sessionRepository;
     private final BookingRepository bookingRepository;
     private final TeacherAvailabilityRepository availabilityRepository;
+    private final AvailabilityEngine availabilityEngine;
+    private final TeacherBusyIndex busyIndex;
 
     public List<AvailabilityDto> getTeacherAvailability(String teacherId,
                                                         LocalDateTime start,
@@ -45,6 +48,7 @@ public class AvailabilityService {
             }
 
             TeacherAvailability teacherAvailability = teacherAvailabilityOpt.get();
+            List<AvailabilityEngine.CandidateSlot> candidates = new ArrayList<>();
 
             LocalDate currentDate = start.toLocalDate();
             LocalDate endDate = end.toLocalDate();
@@ -80,20 +84,28 @@ public class AvailabilityService {
                     LocalDateTime slotEnd = LocalDateTime.of(currentDate, slotEndTime);
 
                     if (!slotStart.isBefore(start) && !slotEnd.isAfter(end)) {
-                        boolean isBooked = isSlotBooked(teacherId, slotStart, slotEnd);
-                        availabilityList.add(AvailabilityDto.builder()
-                                .startTime(slotStart)
-                                .endTime(slotEnd)
-                                .isAvailable(!isBooked)
-                                .reason(isBooked ? "Session scheduled" : null)
-                                .mode(slot.getMode())
-                                .build());
+                        candidates.add(new AvailabilityEngine.CandidateSlot(slotStart, slotEnd, slot.getMode()));
                     }
                 }
 
                 currentDate = currentDate.plusDays(1);
             }
 
+            int buffer = teacherAvailability.getBufferTimeMinutes() != null
+                    ? teacherAvailability.getBufferTimeMinutes() : 0;
+            LocalDateTime rangeStart = start.toLocalDate().atStartOfDay().minusMinutes(buffer);
+            LocalDateTime rangeEnd = endDate.plusDays(1).atStartOfDay().plusMinutes(buffer);
+
+            if (busyIndex.covers(rangeStart, rangeEnd)) {
+                // Inside the in-memory horizon: bitmap lookups only
+                availabilityList = evaluateWithIndex(teacherId, candidates, buffer,
+                        teacherAvailability.getMaxSessionsPerDay());
+            } else {
+                // Load the whole range once (padded to full days for the daily cap), then sweep in memory
+                List<AvailabilityEngine.BusyInterval> busy = loadBusyIntervals(teacherId, rangeStart, rangeEnd);
+                availabilityList = availabilityEngine.evaluate(
+                        candidates, busy, buffer, teacherAvailability.getMaxSessionsPerDay());
+            }
 
             log.info("Generated {} availability slots", availabilityList.size());
 
@@ -105,20 +117,42 @@ public class AvailabilityService {
         return availabilityList;
     }
 
-    private boolean isSlotBooked(String teacherId, LocalDateTime slotStart, LocalDateTime slotEnd) {
-        var bookings = bookingRepository.findByTeacherIdAndSessionStartTimeBetween(
-                teacherId, slotStart.minusMinutes(1), slotEnd.plusMinutes(1));
-
-        boolean hasBooking = bookings.stream()
-                .anyMatch(b -> b.getStatus() == BookingStatus.CONFIRMED ||
-                        b.getStatus() == BookingStatus.PENDING);
-
-        if (hasBooking) return true;
-
-        var sessions = sessionRepository.findByTeacherIdAndScheduledStartTimeBetween(
-                teacherId, slotStart.minusMinutes(1), slotEnd.plusMinutes(1));
+    private List<AvailabilityDto> evaluateWithIndex(String teacherId,
+                                                    List<AvailabilityEngine.CandidateSlot> candidates,
+                                                    int buffer,
+                                                    Integer maxSessionsPerDay) {
+        List<AvailabilityEngine.CandidateSlot> sorted = new ArrayList<>(candidates);
+        sorted.sort(Comparator.comparing(AvailabilityEngine.CandidateSlot::getStart));
+
+        List<AvailabilityDto> result = new ArrayList<>(sorted.size());
+        for (AvailabilityEngine.CandidateSlot slot : sorted) {
+            boolean busy = busyIndex.isBusy(teacherId,
+                    slot.getStart().minusMinutes(buffer), slot.getEnd().plusMinutes(buffer));
+            boolean dayFull = maxSessionsPerDay != null
+                    && busyIndex.sessionsOn(teacherId, slot.getStart().toLocalDate()) >= maxSessionsPerDay;
+
+            String reason = busy ? AvailabilityEngine.REASON_BUSY
+                    : dayFull ? AvailabilityEngine.REASON_DAILY_LIMIT : null;
+            result.add(AvailabilityDto.builder()
+                    .startTime(slot.getStart())
+                    .endTime(slot.getEnd())
+                    .isAvailable(reason == null)
+                    .reason(reason)
+                    .mode(slot.getMode())
+                    .build());
+        }
+        return result;
+    }
 
-        return !sessions.isEmpty();
+    /**
+     * Busy time for a teacher in [start, end): two range queries, no per-slot lookups.
+     */
+    private List<AvailabilityEngine.BusyInterval> loadBusyIntervals(String teacherId,
+                                                                     LocalDateTime start,
+                                                                     LocalDateTime end) {
+        var sessions = sessionRepository.findActiveByTeacherIdOverlapping(teacherId, start, end);
+        var bookings = bookingRepository.findActiveByTeacherIdOverlapping(teacherId, start, end);
+        return availabilityEngine.toBusyIntervals(sessions, bookings);
     }
 
     private List<AvailabilityDto> getBookedSessionsOnly(String teacherId,
@@ -0,0 +1,222 @@
+package com.tcon.learning_management_service.booking.service;
+
+import com.tcon.learning_management_service.availability.service.TeacherBusyIndex;
+import com.tcon.learning_management_service.booking.dto.BatchBookingRequest;
+import com.tcon.learning_management_service.booking.entity.Booking;
+import com.tcon.learning_management_service.booking.entity.BookingStatus;
+import com.tcon.learning_management_service.booking.entity.CancellationPolicy;
+import com.tcon.learning_management_service.booking.repository.BookingRepository;
+import com.tcon.learning_management_service.session.entity.ClassSession;
+import com.tcon.learning_management_service.session.entity.ClassStatus;
+import com.tcon.learning_management_service.session.entity.SessionType;
+import com.tcon.learning_management_service.session.entity.StudentTimelineEntry;
+import com.tcon.learning_management_service.session.service.SessionConflictService;
+import com.tcon.learning_management_service.session.service.StudentTimelineService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Multi-session bookings (e.g. a 12-week package) in a constant number of round-trips:
+ * one range read per collection, an in-memory overlap check that honours the teacher's
+ * buffer time, one unordered bulk insert of the sessions and one insert of the booking.
+ * The teacher's calendar lease is held for the duration, so two packages for the same
+ * teacher cannot interleave.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BatchBookingService {
+
+    private static final Duration LOCK_WAIT = Duration.ofSeconds(2);
+
+    private final MongoTemplate mongoTemplate;
+    private final BookingRepository bookingRepository;
+    private final SessionConflictService conflictService;
+    private final BookingLockService lockService;
+    private final TeacherBusyIndex busyIndex;
+    private final StudentTimelineService timelineService;
+
+    /**
+     * Check every slot against the teacher's calendar and, if all are free, write the
+     * sessions and the booking. Nothing is written when any slot conflicts.
+     */
+    public Booking createBatch(String studentId, BatchBookingRequest request, CancellationPolicy policy) {
+        List<BatchBookingRequest.SessionSlot> slots = new ArrayList<>(request.getSessions());
+        slots.sort(Comparator.comparing(BatchBookingRequest.SessionSlot::getSessionStartTime));
+        rejectSelfOverlaps(slots);
+
+        String bookingId = new ObjectId().toHexString();
+        String lockKey = "teacher:" + request.getTeacherId();
+        if (lockService.tryAcquire(lockKey, bookingId, LOCK_WAIT).isEmpty()) {
+            throw new IllegalArgumentException("Teacher's calendar is being updated, please try again");
+        }
+
+        try {
+            rejectConflicts(request.getTeacherId(), slots);
+
+            LocalDateTime now = LocalDateTime.now();
+            List<ClassSession> sessions = new ArrayList<>(slots.size());
+            List<Booking.SessionTime> sessionTimes = new ArrayList<>(slots.size());
+
+            for (BatchBookingRequest.SessionSlot slot : slots) {
+                String sessionId = new ObjectId().toHexString();
+                sessions.add(buildSession(sessionId, bookingId, studentId, request, slot, now));
+                sessionTimes.add(Booking.SessionTime.builder()
+                        .sessionId(sessionId)
+                        .startTime(slot.getSessionStartTime())
+                        .endTime(slot.getSessionEndTime())
+                        .amount(slot.getAmount())
+                        .build());
+            }
+
+            Booking booking = Booking.builder()
+                    .id(bookingId)
+                    .studentId(studentId)
+                    .studentName(request.getStudentName())
+                    .studentEmail(request.getStudentEmail())
+                    .teacherId(request.getTeacherId())
+                    .courseId(request.getCourseId())
+                    // The first session stands in for the booking's own times (sorting, refunds)
+                    .sessionStartTime(sessionTimes.get(0).getStartTime())
+                    .sessionEndTime(sessionTimes.get(0).getEndTime())
+                    .sessions(sessionTimes)
+                    .amount(request.getTotalAmount())
+                    .currency(request.getCurrency())
+                    .status(BookingStatus.PENDING)
+                    .bookedAt(now)
+                    .cancellationPolicy(policy)
+                    .reminderSent(false)
+                    .notes(request.getNotes())
+                    .createdAt(now)
+                    .updatedAt(now)
+                    .build();
+
+            Booking saved = write(sessions, booking);
+            sessions.forEach(busyIndex::markBusy);
+            timelineService.addAll(sessions, StudentTimelineEntry.Source.ONE_ON_ONE);
+            return saved;
+
+        } finally {
+            lockService.releaseLock(lockKey, bookingId);
+        }
+    }
+
+    /**
+     * Cancel the sessions a batch booking created, in one update.
+     * Bookings for a single session keep their session, as before.
+     */
+    public void cancelSessions(Booking booking, String reason, String cancelledBy) {
+        List<String> sessionIds = sessionIds(booking);
+        if (sessionIds.isEmpty()) {
+            return;
+        }
+
+        Query query = new Query(Criteria.where("_id").in(sessionIds).and("status").is(ClassStatus.SCHEDULED));
+        Update update = new Update()
+                .set("status", ClassStatus.CANCELLED)
+                .set("cancellationReason", reason)
+                .set("cancelledAt", LocalDateTime.now())
+                .set("cancelledBy", cancelledBy)
+                .set("updatedAt", LocalDateTime.now());
+
+        long cancelled = mongoTemplate.updateMulti(query, update, ClassSession.class).getModifiedCount();
+        sessionIds.forEach(id -> busyIndex.release(booking.getTeacherId(), TeacherBusyIndex.sessionKey(id)));
+        log.info("🗑️ Cancelled {} session(s) of batch booking {}", cancelled, booking.getId());
+    }
+
+    private void rejectSelfOverlaps(List<BatchBookingRequest.SessionSlot> sorted) {
+        for (int i = 1; i < sorted.size(); i++) {
+            if (sorted.get(i).getSessionStartTime().isBefore(sorted.get(i - 1).getSessionEndTime())) {
+                throw new IllegalArgumentException("Requested sessions overlap each other at "
+                        + sorted.get(i).getSessionStartTime());
+            }
+        }
+    }
+
+    // One range read per collection covering every slot, honouring the teacher's buffer
+    private void rejectConflicts(String teacherId, List<BatchBookingRequest.SessionSlot> sorted) {
+        List<AvailabilityEngine.CandidateSlot> candidates = sorted.stream()
+                .map(slot -> new AvailabilityEngine.CandidateSlot(
+                        slot.getSessionStartTime(), slot.getSessionEndTime(), null))
+                .toList();
+
+        List<LocalDateTime> conflicts = conflictService.findConflicts(teacherId, candidates, List.of());
+
+        if (!conflicts.isEmpty()) {
+            log.warn("⚠️ Batch booking for teacher {} conflicts at {}", teacherId, conflicts);
+            throw new IllegalArgumentException("Teacher is not available at: " + conflicts);
+        }
+    }
+
+    private Booking write(List<ClassSession> sessions, Booking booking) {
+        List<String> sessionIds = sessions.stream().map(ClassSession::getId).toList();
+
+        try {
+            mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, ClassSession.class)
+                    .insert(sessions)
+                    .execute();
+            return bookingRepository.insert(booking);
+
+        } catch (RuntimeException e) {
+            // Mongo has no cross-collection bulk write: undo whatever sessions made it in
+            log.error("❌ Batch booking {} failed, removing its sessions: {}", booking.getId(), e.getMessage());
+            mongoTemplate.remove(new Query(Criteria.where("_id").in(sessionIds)), ClassSession.class);
+            if (e instanceof BulkOperationException) {
+                throw new IllegalArgumentException("Could not create all sessions for this booking", e);
+            }
+            throw e;
+        }
+    }
+
+    private ClassSession buildSession(String sessionId, String bookingId, String studentId,
+                                      BatchBookingRequest request, BatchBookingRequest.SessionSlot slot,
+                                      LocalDateTime now) {
+        return ClassSession.builder()
+                .id(sessionId)
+                .sessionType(SessionType.ONE_ON_ONE)
+                .courseId(request.getCourseId())
+                .teacherId(request.getTeacherId())
+                .teacherName("")
+                .studentId(studentId)
+                .bookingId(bookingId)
+                .title("One-on-One Class")
+                .description("Package booking with " + request.getStudentName())
+                .status(ClassStatus.SCHEDULED)
+                .scheduledStartTime(slot.getSessionStartTime())
+                .scheduledEndTime(slot.getSessionEndTime())
+                .durationMinutes((int) Duration.between(slot.getSessionStartTime(), slot.getSessionEndTime()).toMinutes())
+                .maxParticipants(1)
+                .reservedSeats(1)
+                .reservedStudentIds(new ArrayList<>(List.of(studentId)))
+                .reminderSent(false)
+                .createdBy(studentId)
+                .createdAt(now)
+                .updatedAt(now)
+                .build();
+    }
+
+    private List<String> sessionIds(Booking booking) {
+        if (booking.getSessions() == null) {
+            return List.of();
+        }
+        return booking.getSessions().stream()
+                .map(Booking.SessionTime::getSessionId)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+}
@@ -1,72 +1,139 @@
 package com.tcon.learning_management_service.booking.service;
 
 
+import com.tcon.learning_management_service.booking.entity.BookingLock;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 
 import java.time.Duration;
 import java.time.LocalDateTime;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
-
+import java.util.Optional;
+
+/**
+ * Cluster-wide lease locks backed by the booking_locks collection.
+ * Acquiring is a single findAndModify: it matches the lease only if it is free
+ * (expired) or already held by the caller, otherwise the upsert collides on _id
+ * and the lock is reported as contended.
+ */
 @Slf4j
 @Service
 public class BookingLockService {
 
-    private final Map<String, LockEntry> locks = new ConcurrentHashMap<>();
     private static final Duration LOCK_TIMEOUT = Duration.ofMinutes(5);
+    private static final long MIN_BACKOFF_MS = 25;
+    private static final long MAX_BACKOFF_MS = 200;
+
+    private final MongoTemplate mongoTemplate;
+    private final Counter acquiredCounter;
+    private final Counter contendedCounter;
+    private final Timer waitTimer;
+
+    public BookingLockService(MongoTemplate mongoTemplate, MeterRegistry meterRegistry) {
+        this.mongoTemplate = mongoTemplate;
+        this.acquiredCounter = Counter.builder("booking.lock.acquisitions")
+                .tag("outcome", "acquired")
+                .description("Lease locks acquired")
+                .register(meterRegistry);
+        this.contendedCounter = Counter.builder("booking.lock.acquisitions")
+                .tag("outcome", "contended")
+                .description("Lease lock attempts that found the lock held by another owner")
+                .register(meterRegistry);
+        this.waitTimer = Timer.builder("booking.lock.wait")
+                .description("Time spent acquiring a lease lock, including retries")
+                .register(meterRegistry);
+    }
 
     public boolean acquireLock(String resourceId, String userId) {
-        cleanupExpiredLocks();
-
-        LockEntry existingLock = locks.get(resourceId);
-
-        if (existingLock != null) {
-            if (existingLock.getUserId().equals(userId)) {
-                // Same user trying to acquire lock again
-                existingLock.setAcquiredAt(LocalDateTime.now());
-                return true;
-            }
+        return tryAcquire(resourceId, userId, Duration.ZERO).isPresent();
+    }
 
-            // Lock held by another user
-            if (!isLockExpired(existingLock)) {
-                log.warn("Lock for {} is held by another user: {}", resourceId, existingLock.getUserId());
-                return false;
+    /**
+     * Try to acquire the lease, retrying with backoff for up to maxWait.
+     *
+     * @return the fencing token of the acquired lease, or empty if the lock is held elsewhere
+     */
+    public Optional<Long> tryAcquire(String resourceId, String ownerId, Duration maxWait) {
+        long startNanos = System.nanoTime();
+        long deadlineNanos = startNanos + maxWait.toNanos();
+        long backoffMs = MIN_BACKOFF_MS;
+
+        try {
+            while (true) {
+                Optional<Long> token = attemptAcquire(resourceId, ownerId);
+                if (token.isPresent()) {
+                    acquiredCounter.increment();
+                    log.info("Lock acquired for {} by user {} (token {})", resourceId, ownerId, token.get());
+                    return token;
+                }
+
+                contendedCounter.increment();
+                if (System.nanoTime() + backoffMs * 1_000_000 > deadlineNanos) {
+                    log.warn("Lock for {} is held by another user", resourceId);
+                    return Optional.empty();
+                }
+
+                Thread.sleep(backoffMs);
+                backoffMs = Math.min(backoffMs * 2, MAX_BACKOFF_MS);
             }
-
-            // Lock expired, remove it
-            locks.remove(resourceId);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Optional.empty();
+        } finally {
+            waitTimer.record(Duration.ofNanos(System.nanoTime() - startNanos));
         }
-
-        // Acquire new lock
-        LockEntry newLock = new LockEntry(userId, LocalDateTime.now());
-        locks.put(resourceId, newLock);
-        log.info("Lock acquired for {} by user {}", resourceId, userId);
-        return true;
     }
 
     public void releaseLock(String resourceId, String userId) {
-        LockEntry lock = locks.get(resourceId);
+        Query query = new Query(Criteria.where("_id").is(resourceId).and("ownerId").is(userId));
+        Update update = new Update()
+                .set("ownerId", null)
+                .set("expiresAt", LocalDateTime.now());
 
-        if (lock != null && lock.getUserId().equals(userId)) {
-            locks.remove(resourceId);
+        if (mongoTemplate.updateFirst(query, update, BookingLock.class).getModifiedCount() > 0) {
             log.info("Lock released for {} by user {}", resourceId, userId);
         }
     }
 
-    private boolean isLockExpired(LockEntry lock) {
-        return Duration.between(lock.getAcquiredAt(), LocalDateTime.now()).compareTo(LOCK_TIMEOUT) > 0;
-    }
-
-    private void cleanupExpiredLocks() {
-        locks.entrySet().removeIf(entry -> isLockExpired(entry.getValue()));
+    /**
+     * Check that a fencing token still belongs to the live lease, so a holder whose
+     * lease expired mid-operation can refuse to write.
+     */
+    public boolean isLeaseValid(String resourceId, long fencingToken) {
+        Query query = new Query(Criteria.where("_id").is(resourceId)
+                .and("fencingToken").is(fencingToken)
+                .and("expiresAt").gt(LocalDateTime.now()));
+        return mongoTemplate.exists(query, BookingLock.class);
     }
 
-    @lombok.Data
-    @lombok.AllArgsConstructor
-    private static class LockEntry {
-        private String userId;
-        private LocalDateTime acquiredAt;
+    private Optional<Long> attemptAcquire(String resourceId, String ownerId) {
+        LocalDateTime now = LocalDateTime.now();
+
+        Query query = new Query(Criteria.where("_id").is(resourceId).orOperator(
+                Criteria.where("expiresAt").lte(now),
+                Criteria.where("ownerId").is(ownerId)
+        ));
+        Update update = new Update()
+                .set("ownerId", ownerId)
+                .set("acquiredAt", now)
+                .set("expiresAt", now.plus(LOCK_TIMEOUT))
+                .inc("fencingToken", 1L);
+
+        try {
+            BookingLock lease = mongoTemplate.findAndModify(query, update,
+                    FindAndModifyOptions.options().upsert(true).returnNew(true), BookingLock.class);
+            return Optional.ofNullable(lease).map(BookingLock::getFencingToken);
+        } catch (DuplicateKeyException e) {
+            // Lease exists and is held by someone else: the upsert collided on _id
+            return Optional.empty();
+        }
     }
 }
-
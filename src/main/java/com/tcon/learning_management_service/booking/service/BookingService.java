@@ -2,25 +2,39 @@
 
 package com.tcon.learning_management_service.booking.service;
 
+import com.tcon.learning_management_service.availability.service.TeacherBusyIndex;
 import com.tcon.learning_management_service.booking.dto.BatchBookingRequest;
 import com.tcon.learning_management_service.booking.dto.BookingDto;
+import com.tcon.learning_management_service.booking.dto.BookingPage;
 import com.tcon.learning_management_service.booking.dto.BookingRequest;
+import com.tcon.learning_management_service.booking.dto.BookingSummaryDto;
 import com.tcon.learning_management_service.booking.entity.Booking;
 import com.tcon.learning_management_service.booking.entity.BookingStatus;
 import com.tcon.learning_management_service.booking.entity.CancellationPolicy;
+import com.tcon.learning_management_service.booking.repository.BookingCursor;
+import com.tcon.learning_management_service.booking.repository.BookingPageQuery;
 import com.tcon.learning_management_service.booking.repository.BookingRepository;
 import com.tcon.learning_management_service.event.BookingEventPublisher;
 import com.tcon.learning_management_service.session.entity.ClassSession;
 import com.tcon.learning_management_service.session.entity.ClassStatus;
+import com.tcon.learning_management_service.session.entity.StudentTimelineEntry;
 import com.tcon.learning_management_service.session.repository.ClassSessionRepository;
+import com.tcon.learning_management_service.session.service.SeatReservationService;
+import com.tcon.learning_management_service.session.service.SessionConflictService;
+import com.tcon.learning_management_service.session.service.StudentTimelineService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -32,7 +46,19 @@ public class BookingService {
     private final BookingRepository bookingRepository;
     private final ClassSessionRepository sessionRepository;
     private final BookingEventPublisher eventPublisher;
-    private final BookingLockService lockService;
+    private final SeatReservationService seatReservationService;
+    private final TeacherBusyIndex busyIndex;
+    private final BatchBookingService batchBookingService;
+    private final PaymentHoldService paymentHoldService;
+    private final StudentTimelineService timelineService;
+    private final SessionConflictService conflictService;
+    private final MongoTemplate mongoTemplate;
+
+    @Value("${booking.pagination.default-size:20}")
+    private int defaultPageSize;
+
+    @Value("${booking.pagination.max-size:100}")
+    private int maxPageSize;
 
     // ==================== CREATE BOOKING ====================
 
@@ -66,44 +92,18 @@ public class BookingService {
     }
 
     /**
-     * Create booking for an existing scheduled session
+     * Create booking for an existing scheduled session.
+     * The seat is taken with one conditional update on the session, then the booking is inserted.
      */
     private BookingDto createBookingForExistingSession(String studentId, BookingRequest request) {
         log.info("📋 Creating booking for existing session: {}", request.getSessionId());
 
-        // Get session
-        ClassSession session = sessionRepository.findById(request.getSessionId())
-                .orElseThrow(() -> new IllegalArgumentException("Session not found: " + request.getSessionId()));
-
-        // Validate session status
-        if (session.getStatus() != ClassStatus.SCHEDULED) {
-            throw new IllegalArgumentException("Session is not available for booking");
-        }
-
-        // Check if session is in the future
-        if (session.getScheduledStartTime().isBefore(LocalDateTime.now())) {
-            throw new IllegalArgumentException("Cannot book past sessions");
-        }
-
-        // Check if already booked
-        if (bookingRepository.existsBySessionIdAndStudentId(request.getSessionId(), studentId)) {
-            throw new IllegalArgumentException("Student has already booked this session");
-        }
-
-        // Check capacity using lock
-        String lockKey = "session:" + request.getSessionId();
-        if (!lockService.acquireLock(lockKey, studentId)) {
-            throw new IllegalArgumentException("Session is currently being booked by another user");
-        }
+        // Reserve a seat (validates status, start time, capacity and duplicates atomically)
+        ClassSession session = seatReservationService.reserveSeat(request.getSessionId(), studentId)
+                .orElseThrow(() -> new IllegalArgumentException(
+                        explainReservationFailure(request.getSessionId(), studentId)));
 
         try {
-            Long confirmedBookings = bookingRepository.countBySessionIdAndStatus(
-                    request.getSessionId(), BookingStatus.CONFIRMED);
-
-            if (session.getMaxParticipants() != null && confirmedBookings >= session.getMaxParticipants()) {
-                throw new IllegalArgumentException("Session is full");
-            }
-
             // Create booking
             Booking booking = Booking.builder()
                     .sessionId(request.getSessionId())
@@ -125,7 +125,7 @@ public class BookingService {
                     .updatedAt(LocalDateTime.now())
                     .build();
 
-            Booking saved = bookingRepository.save(booking);
+            Booking saved = bookingRepository.insert(booking);
             log.info("✅ Booking created: ID={}, Student={}, Session={}",
                     saved.getId(), saved.getStudentName(), saved.getSessionId());
 
@@ -134,11 +134,34 @@ public class BookingService {
 
             return toDto(saved);
 
-        } finally {
-            lockService.releaseLock(lockKey, studentId);
+        } catch (RuntimeException e) {
+            // Give the seat back if the booking could not be written
+            seatReservationService.releaseSeat(request.getSessionId(), studentId);
+            throw e;
         }
     }
 
+    /**
+     * Work out why a seat reservation was refused. Only runs on the failure path.
+     */
+    private String explainReservationFailure(String sessionId, String studentId) {
+        ClassSession session = sessionRepository.findById(sessionId).orElse(null);
+
+        if (session == null) {
+            return "Session not found: " + sessionId;
+        }
+        if (session.getStatus() != ClassStatus.SCHEDULED) {
+            return "Session is not available for booking";
+        }
+        if (session.getScheduledStartTime().isBefore(LocalDateTime.now())) {
+            return "Cannot book past sessions";
+        }
+        if (session.getReservedStudentIds() != null && session.getReservedStudentIds().contains(studentId)) {
+            return "Student has already booked this session";
+        }
+        return "Session is full";
+    }
+
     /**
      * Create direct teacher booking request (creates session first)
      * Flow: Session → Booking → Event
@@ -172,15 +195,11 @@ public class BookingService {
 
         // ==================== CHECK FOR CONFLICTS ====================
 
-        List<ClassSession> overlapping = sessionRepository.findByTeacherIdAndScheduledStartTimeBetween(
-                request.getTeacherId(),
-                request.getSessionStartTime().minusMinutes(1),
-                request.getSessionEndTime().plusMinutes(1)
-        );
+        boolean overlapping = conflictService.hasConflict(request.getTeacherId(),
+                request.getSessionStartTime(), request.getSessionEndTime());
 
-        if (!overlapping.isEmpty()) {
-            log.warn("⚠️ Found {} overlapping booking(s), but creating as PENDING for teacher approval",
-                    overlapping.size());
+        if (overlapping) {
+            log.warn("⚠️ Found overlapping booking(s), but creating as PENDING for teacher approval");
         }
 
         // ==================== STEP 1: CREATE SESSION FIRST ====================
@@ -201,7 +220,8 @@ public class BookingService {
                 .scheduledEndTime(request.getSessionEndTime())
                 .durationMinutes(duration)
                 .maxParticipants(1) // One-on-one = single student
-                .participants(new java.util.ArrayList<>())
+                .reservedSeats(1)
+                .reservedStudentIds(new java.util.ArrayList<>(List.of(studentId)))
                 .attendedCount(0)
                 .materialUrls(new java.util.ArrayList<>())
                 .reminderSent(false)
@@ -209,6 +229,8 @@ public class BookingService {
                 .build();
 
         ClassSession savedSession = sessionRepository.save(session);
+        busyIndex.markBusy(savedSession);
+        timelineService.add(savedSession, studentId, StudentTimelineEntry.Source.ONE_ON_ONE);
         log.info("✅ ClassSession created: {} (Type: ONE_ON_ONE)", savedSession.getId());
 
         // ==================== STEP 2: CREATE BOOKING LINKED TO SESSION ====================
@@ -263,7 +285,7 @@ public class BookingService {
     // ==================== CREATE BATCH BOOKING (NEW) ====================
 
     /**
-     * Create ONE booking with multiple sessions
+     * Create ONE booking with multiple sessions, each backed by its own ClassSession
      */
     @Transactional
     public BookingDto createBatchBooking(String studentId, BatchBookingRequest request) {
@@ -284,8 +306,6 @@ public class BookingService {
             throw new IllegalArgumentException("At least one session is required");
         }
 
-        // ⭐ Convert session slots to SessionTime entities
-        List<Booking.SessionTime> sessionTimes = new ArrayList<>();
         for (BatchBookingRequest.SessionSlot slot : request.getSessions()) {
             if (slot.getSessionStartTime() == null || slot.getSessionEndTime() == null) {
                 throw new IllegalArgumentException("Session start and end times are required");
@@ -293,41 +313,16 @@ public class BookingService {
             if (slot.getSessionStartTime().isBefore(LocalDateTime.now())) {
                 throw new IllegalArgumentException("Cannot book sessions in the past");
             }
-            if (slot.getSessionEndTime().isBefore(slot.getSessionStartTime())) {
+            if (!slot.getSessionEndTime().isAfter(slot.getSessionStartTime())) {
                 throw new IllegalArgumentException("Session end time must be after start time");
             }
-
-            sessionTimes.add(Booking.SessionTime.builder()
-                    .startTime(slot.getSessionStartTime())
-                    .endTime(slot.getSessionEndTime())
-                    .amount(slot.getAmount())
-                    .build());
         }
 
-        // ⭐ Create ONE booking with multiple sessions
-        Booking booking = Booking.builder()
-                .studentId(studentId)
-                .studentName(request.getStudentName())
-                .studentEmail(request.getStudentEmail())
-                .teacherId(request.getTeacherId())
-                .courseId(request.getCourseId())
-                .sessions(sessionTimes) // ✅ All sessions in one booking
-                .amount(request.getTotalAmount()) // ✅ Total amount for all sessions
-                .currency(request.getCurrency())
-                .status(BookingStatus.PENDING)
-                .bookedAt(LocalDateTime.now())
-                .cancellationPolicy(getDefaultCancellationPolicy())
-                .reminderSent(false)
-                .notes(request.getNotes())
-                .createdAt(LocalDateTime.now())
-                .updatedAt(LocalDateTime.now())
-                .build();
-
-        // ⭐ Save ONE booking
-        Booking savedBooking = bookingRepository.save(booking);
+        // ⭐ Check the teacher's calendar and write all sessions + ONE booking (all or nothing)
+        Booking savedBooking = batchBookingService.createBatch(studentId, request, getDefaultCancellationPolicy());
         log.info("✅ Multi-session booking created: ID={}, Sessions={}, Total={}{}",
                 savedBooking.getId(),
-                sessionTimes.size(),
+                savedBooking.getSessions().size(),
                 request.getCurrency(),
                 request.getTotalAmount());
 
@@ -343,28 +338,32 @@ public class BookingService {
     public BookingDto confirmBooking(String bookingId, String paymentId, String transactionId) {
         log.info("💳 Confirming booking: {}", bookingId);
 
-        Booking booking = bookingRepository.findById(bookingId)
-                .orElseThrow(() -> new IllegalArgumentException("Booking not found: " + bookingId));
-
-        // ✅ ADD THIS LOG
-        log.info("📊 Booking durationMinutes BEFORE confirm: {}", booking.getDurationMinutes());
-        log.info("📅 Session times: {} to {}", booking.getSessionStartTime(), booking.getSessionEndTime());
-
-        if (booking.getStatus() != BookingStatus.PENDING &&
-                booking.getStatus() != BookingStatus.PENDING_PAYMENT) {
-            throw new IllegalArgumentException("Only pending bookings can be confirmed");
+        // One conditional write: a lapsed hold may already be someone else's slot, and
+        // the expiry sweep may be releasing it, so neither can be overwritten with CONFIRMED
+        LocalDateTime now = LocalDateTime.now();
+        Query confirmable = new Query(Criteria.where("_id").is(bookingId)
+                .and("status").in(BookingStatus.PENDING, BookingStatus.PENDING_PAYMENT)
+                .orOperator(Criteria.where("holdExpiresAt").is(null), Criteria.where("holdExpiresAt").gt(now)));
+        Update confirm = new Update()
+                .set("status", BookingStatus.CONFIRMED)
+                .unset("holdExpiresAt")
+                .set("paymentId", paymentId)
+                .set("transactionId", transactionId)
+                .set("confirmedAt", now)
+                .set("updatedAt", now);
+
+        Booking updated = mongoTemplate.findAndModify(confirmable, confirm,
+                FindAndModifyOptions.options().returnNew(true), Booking.class);
+        if (updated == null) {
+            Booking booking = bookingRepository.findById(bookingId)
+                    .orElseThrow(() -> new IllegalArgumentException("Booking not found: " + bookingId));
+            if (booking.getStatus() != BookingStatus.PENDING &&
+                    booking.getStatus() != BookingStatus.PENDING_PAYMENT) {
+                throw new IllegalArgumentException("Only pending bookings can be confirmed");
+            }
+            throw new IllegalArgumentException("Payment hold has expired for booking: " + bookingId);
         }
 
-        booking.setStatus(BookingStatus.CONFIRMED);
-        booking.setPaymentId(paymentId);
-        booking.setTransactionId(transactionId);
-        booking.setConfirmedAt(LocalDateTime.now());
-        booking.setUpdatedAt(LocalDateTime.now());
-
-        Booking updated = bookingRepository.save(booking);
-
-        // ✅ ADD THIS LOG
-        log.info("📊 Booking durationMinutes AFTER save: {}", updated.getDurationMinutes());
         log.info("✅ Booking confirmed: {}", bookingId);
 
         // Publish event
@@ -395,8 +394,9 @@ public class BookingService {
             throw new IllegalArgumentException("Only pending bookings can be approved");
         }
 
-        // Update booking status to PENDING_PAYMENT (student needs to pay)
+        // Update booking status to PENDING_PAYMENT (student needs to pay before the hold lapses)
         booking.setStatus(BookingStatus.PENDING_PAYMENT);
+        booking.setHoldExpiresAt(paymentHoldService.holdExpiry(booking));
 
         // Append teacher's message to notes
         if (teacherMessage != null && !teacherMessage.isEmpty()) {
@@ -441,6 +441,9 @@ public class BookingService {
         booking.setUpdatedAt(LocalDateTime.now());
 
         Booking updated = bookingRepository.save(booking);
+        seatReservationService.releaseSeat(updated.getSessionId(), updated.getStudentId());
+        batchBookingService.cancelSessions(updated, rejectionReason, teacherId);
+        releaseBusyTime(updated);
         log.info("✅ Booking rejected: {} - Reason: {}", bookingId, rejectionReason);
 
         // Publish event
@@ -515,6 +518,45 @@ public class BookingService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * One keyset page of a student's, teacher's, parent's or session's bookings,
+     * newest session first. The cursor comes from the previous page's nextCursor.
+     * Rows are read with a field projection and returned as summaries.
+     */
+    public BookingPage<BookingSummaryDto> getBookingsPage(BookingPageQuery.Owner owner, String ownerId,
+                                                          List<BookingStatus> statuses,
+                                                          LocalDateTime from, LocalDateTime to,
+                                                          String cursor, Integer size) {
+        if (from != null && to != null && !from.isBefore(to)) {
+            throw new IllegalArgumentException("'from' must be before 'to'");
+        }
+
+        int pageSize = size == null ? defaultPageSize : Math.max(1, Math.min(size, maxPageSize));
+        log.info("📋 Getting {} bookings page for {} (size={}, cursor={})", owner, ownerId, pageSize, cursor);
+
+        // Fetch one extra row to learn whether another page exists
+        List<Booking> rows = bookingRepository.findPage(BookingPageQuery.builder()
+                .owner(owner)
+                .ownerId(ownerId)
+                .statuses(statuses)
+                .from(from)
+                .to(to)
+                .after(cursor != null && !cursor.isBlank() ? BookingCursor.decode(cursor) : null)
+                .limit(pageSize + 1)
+                .summaryOnly(true)
+                .build());
+
+        boolean hasMore = rows.size() > pageSize;
+        List<Booking> page = hasMore ? rows.subList(0, pageSize) : rows;
+
+        return BookingPage.<BookingSummaryDto>builder()
+                .items(page.stream().map(this::toSummaryDto).collect(Collectors.toList()))
+                .nextCursor(hasMore ? BookingCursor.of(page.get(page.size() - 1)).encode() : null)
+                .hasMore(hasMore)
+                .size(page.size())
+                .build();
+    }
+
     public List<BookingDto> getTeacherPendingRequests(String teacherId) {
         log.info("📋 Getting pending requests for teacher: {}", teacherId);
 
@@ -591,6 +633,9 @@ public class BookingService {
         booking.setUpdatedAt(LocalDateTime.now());
 
         Booking updated = bookingRepository.save(booking);
+        seatReservationService.releaseSeat(updated.getSessionId(), updated.getStudentId());
+        batchBookingService.cancelSessions(updated, reason, userId);
+        releaseBusyTime(updated);
         log.info("✅ Booking cancelled: {}", bookingId);
 
         return toDto(updated);
@@ -598,6 +643,16 @@ public class BookingService {
 
     // ==================== HELPER METHODS ====================
 
+    /**
+     * Bookings without a session hold teacher time on their own (legacy batch bookings);
+     * session-backed bookings keep the session's time until the session itself goes.
+     */
+    private void releaseBusyTime(Booking booking) {
+        if (booking.getSessionId() == null) {
+            busyIndex.release(booking.getTeacherId(), TeacherBusyIndex.bookingKey(booking.getId()));
+        }
+    }
+
     private CancellationPolicy getDefaultCancellationPolicy() {
         return CancellationPolicy.builder()
                 .hoursBeforeSession(24)
@@ -606,12 +661,31 @@ public class BookingService {
                 .build();
     }
 
+    private BookingSummaryDto toSummaryDto(Booking booking) {
+        return BookingSummaryDto.builder()
+                .id(booking.getId())
+                .sessionId(booking.getSessionId())
+                .courseId(booking.getCourseId())
+                .studentId(booking.getStudentId())
+                .studentName(booking.getStudentName())
+                .teacherId(booking.getTeacherId())
+                .parentId(booking.getParentId())
+                .subject(booking.getSubject())
+                .status(booking.getStatus())
+                .sessionStartTime(booking.getSessionStartTime())
+                .sessionEndTime(booking.getSessionEndTime())
+                .amount(booking.getAmount())
+                .currency(booking.getCurrency())
+                .build();
+    }
+
     private BookingDto toDto(Booking booking) {
         // ✅ Convert sessions if present
         List<BookingDto.SessionTimeDto> sessionDtos = null;
         if (booking.getSessions() != null && !booking.getSessions().isEmpty()) {
             sessionDtos = booking.getSessions().stream()
                     .map(s -> BookingDto.SessionTimeDto.builder()
+                            .sessionId(s.getSessionId())
                             .startTime(s.getStartTime())
                             .endTime(s.getEndTime())
                             .amount(s.getAmount())
@@ -648,6 +722,7 @@ public class BookingService {
                 .refundAmount(booking.getRefundAmount())
                 .refundTransactionId(booking.getRefundTransactionId())
                 .refundedAt(booking.getRefundedAt())
+                .holdExpiresAt(booking.getHoldExpiresAt())
                 .reminderSent(booking.getReminderSent())
                 .notes(booking.getNotes())
                 .createdAt(booking.getCreatedAt())
@@ -1,11 +1,18 @@
 package com.tcon.learning_management_service.booking.service;
 
+import com.tcon.learning_management_service.availability.service.TeacherBusyIndex;
 import com.tcon.learning_management_service.booking.entity.Booking;
 import com.tcon.learning_management_service.booking.entity.BookingStatus;
 import com.tcon.learning_management_service.booking.repository.BookingRepository;
 import com.tcon.learning_management_service.event.BookingEventPublisher;
+import com.tcon.learning_management_service.session.service.SeatReservationService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -13,6 +20,9 @@ import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
 
 @Slf4j
 @Service
@@ -21,6 +31,13 @@ public class CancellationService {
 
     private final BookingRepository bookingRepository;
     private final BookingEventPublisher eventPublisher;
+    private final SeatReservationService seatReservationService;
+    private final TeacherBusyIndex busyIndex;
+    private final BatchBookingService batchBookingService;
+    private final MongoTemplate mongoTemplate;
+
+    private static final List<BookingStatus> CANCELLABLE =
+            List.of(BookingStatus.PENDING, BookingStatus.PENDING_PAYMENT, BookingStatus.CONFIRMED);
 
     @Transactional
     public BigDecimal cancelBooking(String bookingId, String userId, String reason) {
@@ -55,6 +72,11 @@ public class CancellationService {
         booking.setRefundAmount(refundAmount);
 
         Booking updated = bookingRepository.save(booking);
+        seatReservationService.releaseSeat(updated.getSessionId(), updated.getStudentId());
+        batchBookingService.cancelSessions(updated, reason, userId);
+        if (updated.getSessionId() == null) {
+            busyIndex.release(updated.getTeacherId(), TeacherBusyIndex.bookingKey(updated.getId()));
+        }
         log.info("Booking cancelled. Refund amount: {}", refundAmount);
 
         // Publish event
@@ -63,6 +85,65 @@ public class CancellationService {
         return refundAmount;
     }
 
+    /**
+     * Cascade the cancellation of one or more sessions to their bookings: all live
+     * bookings are loaded in one query, refunds are priced with the usual policy tiers
+     * (only paid bookings get one), the updates go out as one unordered bulk write and
+     * a single BOOKINGS_CANCELLED event describes the whole batch. Updated rows are
+     * tagged with a batch id and the event is built from a re-read of that batch, so a
+     * booking a concurrent change kept from being cancelled is not announced.
+     *
+     * @return number of bookings cancelled
+     */
+    public int cancelBookingsForSessions(Collection<String> sessionIds, String reason, String cancelledBy) {
+        if (sessionIds.isEmpty()) {
+            return 0;
+        }
+
+        Query affected = new Query(Criteria.where("sessionId").in(sessionIds).and("status").in(CANCELLABLE));
+        affected.fields().include("sessionId", "studentId", "teacherId", "parentId", "status",
+                "sessionStartTime", "amount", "cancellationPolicy");
+        List<Booking> bookings = mongoTemplate.find(affected, Booking.class);
+        if (bookings.isEmpty()) {
+            return 0;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        String batchId = UUID.randomUUID().toString();
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Booking.class);
+        for (Booking booking : bookings) {
+            BigDecimal refund = booking.getStatus() == BookingStatus.CONFIRMED
+                    ? calculateRefundAmount(booking)
+                    : BigDecimal.ZERO;
+
+            // Guarded on the status we read, so a concurrent change wins over the cascade
+            bulk.updateOne(
+                    new Query(Criteria.where("_id").is(booking.getId()).and("status").is(booking.getStatus())),
+                    new Update()
+                            .set("status", BookingStatus.CANCELLED)
+                            .set("cancellationBatchId", batchId)
+                            .set("refundAmount", refund)
+                            .set("cancellationReason", reason)
+                            .set("cancelledAt", now)
+                            .set("cancelledBy", cancelledBy)
+                            .set("holdExpiresAt", null)
+                            .set("updatedAt", now));
+        }
+
+        if (bulk.execute().getModifiedCount() == 0) {
+            return 0;
+        }
+
+        Query batch = new Query(Criteria.where("cancellationBatchId").is(batchId));
+        batch.fields().include("sessionId", "studentId", "teacherId", "parentId", "refundAmount",
+                "cancellationReason");
+        List<Booking> cancelled = mongoTemplate.find(batch, Booking.class);
+        log.info("Cascaded cancellation of {} session(s) to {} booking(s)", sessionIds.size(), cancelled.size());
+
+        eventPublisher.publishBookingsCancelled(sessionIds, cancelled);
+        return cancelled.size();
+    }
+
     private BigDecimal calculateRefundAmount(Booking booking) {
         if (booking.getAmount() == null || booking.getCancellationPolicy() == null) {
             return BigDecimal.ZERO;
@@ -0,0 +1,170 @@
+package com.tcon.learning_management_service.booking.service;
+
+import com.tcon.learning_management_service.availability.service.TeacherBusyIndex;
+import com.tcon.learning_management_service.booking.entity.Booking;
+import com.tcon.learning_management_service.booking.entity.BookingStatus;
+import com.tcon.learning_management_service.event.BookingEventPublisher;
+import com.tcon.learning_management_service.session.entity.ClassSession;
+import com.tcon.learning_management_service.session.entity.ClassStatus;
+import com.tcon.learning_management_service.session.service.SeatReservationService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Payment holds on approved bookings. A PENDING_PAYMENT booking keeps the teacher's
+ * slot until holdExpiresAt; the sweep then expires every lapsed hold with one
+ * updateMany on the (status, holdExpiresAt) index, tags them with a batch id and
+ * releases their seats and sessions in bulk, so each run costs O(expired).
+ * Expired bookings stay flagged releasePending until their batch has been released
+ * and announced; a batch left flagged by a crashed sweep is finished by a later one.
+ */
+@Slf4j
+@Service
+public class PaymentHoldService {
+
+    static final String EXPIRY_REASON = "Payment not received before the hold expired";
+
+    private final MongoTemplate mongoTemplate;
+    private final SeatReservationService seatReservationService;
+    private final TeacherBusyIndex busyIndex;
+    private final BookingEventPublisher eventPublisher;
+    private final Duration holdDuration;
+    private final Duration resumeAfter;
+
+    public PaymentHoldService(MongoTemplate mongoTemplate,
+                              SeatReservationService seatReservationService,
+                              TeacherBusyIndex busyIndex,
+                              BookingEventPublisher eventPublisher,
+                              @Value("${booking.payment-hold.duration:PT24H}") Duration holdDuration,
+                              @Value("${booking.payment-hold.resume-after:PT5M}") Duration resumeAfter) {
+        this.mongoTemplate = mongoTemplate;
+        this.seatReservationService = seatReservationService;
+        this.busyIndex = busyIndex;
+        this.eventPublisher = eventPublisher;
+        this.holdDuration = holdDuration;
+        this.resumeAfter = resumeAfter;
+    }
+
+    /**
+     * When the hold on a booking approved now should lapse: after the hold duration,
+     * but never later than the session start.
+     */
+    public LocalDateTime holdExpiry(Booking booking) {
+        LocalDateTime expiry = LocalDateTime.now().plus(holdDuration);
+        LocalDateTime start = booking.getSessionStartTime();
+        return start != null && start.isBefore(expiry) ? start : expiry;
+    }
+
+    /**
+     * Expire every lapsed hold and give its slot back.
+     *
+     * @return number of bookings expired
+     */
+    public int expireLapsedHolds() {
+        LocalDateTime now = LocalDateTime.now();
+        resumeUnreleasedBatches(now);
+
+        String batchId = UUID.randomUUID().toString();
+
+        Query lapsed = new Query(Criteria.where("status").is(BookingStatus.PENDING_PAYMENT)
+                .and("holdExpiresAt").lte(now));
+        Update expire = new Update()
+                .set("status", BookingStatus.EXPIRED)
+                .set("expiryBatchId", batchId)
+                .set("releasePending", true)
+                .set("cancellationReason", EXPIRY_REASON)
+                .set("cancelledAt", now)
+                .set("cancelledBy", "system")
+                .set("updatedAt", now);
+
+        long expiredCount = mongoTemplate.updateMulti(lapsed, expire, Booking.class).getModifiedCount();
+        if (expiredCount == 0) {
+            return 0;
+        }
+
+        Query batch = new Query(Criteria.where("expiryBatchId").is(batchId));
+        batch.fields().include("sessionId", "studentId", "teacherId", "parentId");
+        List<Booking> expired = mongoTemplate.find(batch, Booking.class);
+
+        release(batchId, expired, now);
+
+        log.info("⏰ Expired {} unpaid booking(s) in batch {}", expired.size(), batchId);
+        return expired.size();
+    }
+
+    /**
+     * Finish batches whose bookings were expired but whose release never completed.
+     * Only batches older than resume-after are picked up, so a sweep still running on
+     * another instance is left alone. Releasing twice is harmless; the event may be
+     * sent again, with the same batch id.
+     */
+    private void resumeUnreleasedBatches(LocalDateTime now) {
+        Query unreleased = new Query(Criteria.where("releasePending").is(true)
+                .and("cancelledAt").lte(now.minus(resumeAfter)));
+        unreleased.fields().include("sessionId", "studentId", "teacherId", "parentId", "expiryBatchId");
+        List<Booking> pending = mongoTemplate.find(unreleased, Booking.class);
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        Map<String, List<Booking>> byBatch = new HashMap<>();
+        pending.forEach(booking -> byBatch.computeIfAbsent(booking.getExpiryBatchId(), id -> new ArrayList<>())
+                .add(booking));
+        byBatch.forEach((batchId, bookings) -> {
+            log.warn("⏰ Resuming release of expiry batch {} ({} booking(s))", batchId, bookings.size());
+            release(batchId, bookings, now);
+        });
+    }
+
+    private void release(String batchId, List<Booking> expired, LocalDateTime now) {
+        releaseSlots(expired, now);
+        eventPublisher.publishBookingsExpired(batchId, expired);
+
+        mongoTemplate.updateMulti(new Query(Criteria.where("expiryBatchId").is(batchId)),
+                new Update().unset("releasePending"), Booking.class);
+    }
+
+    private void releaseSlots(List<Booking> expired, LocalDateTime now) {
+        Map<String, List<String>> seats = new HashMap<>();
+        List<String> bookingIds = new ArrayList<>(expired.size());
+        Set<String> teacherIds = new HashSet<>();
+
+        for (Booking booking : expired) {
+            bookingIds.add(booking.getId());
+            teacherIds.add(booking.getTeacherId());
+            if (booking.getSessionId() != null) {
+                seats.computeIfAbsent(booking.getSessionId(), id -> new ArrayList<>()).add(booking.getStudentId());
+            }
+        }
+
+        seatReservationService.releaseSeats(seats);
+
+        // One-on-one sessions created for these bookings (direct and batch) go with them
+        Query ownSessions = new Query(Criteria.where("bookingId").in(bookingIds)
+                .and("status").is(ClassStatus.SCHEDULED));
+        Update cancel = new Update()
+                .set("status", ClassStatus.CANCELLED)
+                .set("cancellationReason", EXPIRY_REASON)
+                .set("cancelledAt", now)
+                .set("cancelledBy", "system")
+                .set("updatedAt", now);
+        mongoTemplate.updateMulti(ownSessions, cancel, ClassSession.class);
+
+        teacherIds.forEach(busyIndex::invalidate);
+    }
+}
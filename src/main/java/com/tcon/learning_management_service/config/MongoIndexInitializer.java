@@ -0,0 +1,75 @@
+package com.tcon.learning_management_service.config;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.type.filter.AnnotationTypeFilter;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.mapping.context.MappingContext;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Creates the indexes declared with @Indexed / @CompoundIndex on every @Document.
+ * DatabaseConfig builds its own MongoTemplate, so spring.data.mongodb.auto-index-creation
+ * is not applied by Spring Boot; this does it once the application is up, in the
+ * background, so a slow or unreachable cluster never blocks startup.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MongoIndexInitializer {
+
+    private static final String BASE_PACKAGE = "com.tcon.learning_management_service";
+
+    private final MongoTemplate mongoTemplate;
+
+    @Value("${spring.data.mongodb.auto-index-creation:false}")
+    private boolean autoIndexCreation;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void ensureIndexes() {
+        if (autoIndexCreation) {
+            // Daemon thread: an index build still waiting on the cluster must not hold up shutdown
+            Thread worker = new Thread(this::createIndexes, "mongo-index-init");
+            worker.setDaemon(true);
+            worker.start();
+        }
+    }
+
+    private void createIndexes() {
+        MappingContext<? extends MongoPersistentEntity<?>, MongoPersistentProperty> mappingContext =
+                mongoTemplate.getConverter().getMappingContext();
+        MongoPersistentEntityIndexResolver resolver = new MongoPersistentEntityIndexResolver(mappingContext);
+
+        ClassPathScanningCandidateComponentProvider scanner = new ClassPathScanningCandidateComponentProvider(false);
+        scanner.addIncludeFilter(new AnnotationTypeFilter(Document.class));
+
+        int created = 0;
+        for (BeanDefinition candidate : scanner.findCandidateComponents(BASE_PACKAGE)) {
+            Class<?> type = ClassUtils.resolveClassName(candidate.getBeanClassName(), getClass().getClassLoader());
+            try {
+                for (IndexDefinition index : resolver.resolveIndexFor(type)) {
+                    mongoTemplate.indexOps(type).createIndex(index);
+                    created++;
+                }
+            } catch (DataAccessResourceFailureException e) {
+                log.error("MongoDB unreachable, skipping index creation: {}", e.getMessage());
+                return;
+            } catch (RuntimeException e) {
+                log.error("Failed to create indexes for {}: {}", type.getSimpleName(), e.getMessage());
+            }
+        }
+        log.info("MongoDB indexes ensured: {}", created);
+    }
+}
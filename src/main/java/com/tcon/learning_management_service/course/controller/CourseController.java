@@ -2,12 +2,14 @@ package com.tcon.learning_management_service.course.controller;
 
 import com.tcon.learning_management_service.course.dto.CourseCreateRequest;
 import com.tcon.learning_management_service.course.dto.CourseDto;
+import com.tcon.learning_management_service.course.dto.CourseFacetedSearchDto;
 import com.tcon.learning_management_service.course.dto.CourseSearchDto;
 import com.tcon.learning_management_service.course.dto.CourseUpdateRequest;
 import com.tcon.learning_management_service.course.entity.CourseEnrollment;
 import com.tcon.learning_management_service.course.service.CourseEnrollmentService;
 import com.tcon.learning_management_service.course.service.CourseSearchService;
 import com.tcon.learning_management_service.course.service.CourseService;
+import com.tcon.learning_management_service.idempotency.service.IdempotencyService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -28,6 +30,7 @@ public class CourseController {
     private final CourseService courseService;
     private final CourseSearchService courseSearchService;
     private final CourseEnrollmentService enrollmentService;
+    private final IdempotencyService idempotencyService;
 
     // =========================
     //        ADMIN ONLY
@@ -131,27 +134,36 @@ public class CourseController {
         return ResponseEntity.ok(courses);
     }
 
+    @PostMapping("/search/facets")
+    public ResponseEntity<CourseFacetedSearchDto> searchCoursesWithFacets(@RequestBody CourseSearchDto searchDto) {
+        CourseFacetedSearchDto result = courseSearchService.searchWithFacets(searchDto);
+        return ResponseEntity.ok(result);
+    }
+
     // =========================
     //        ENROLLMENT
     // =========================
 
     @PostMapping("/{courseId}/enroll")
-    public ResponseEntity<CourseEnrollment> enrollStudent(
+    public ResponseEntity<?> enrollStudent(
             @PathVariable String courseId,
             @RequestHeader("X-User-Id") String studentId,
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey,
             @RequestBody Map<String, Object> enrollmentData) {
 
-        String studentName = (String) enrollmentData.get("studentName");
-        String studentEmail = (String) enrollmentData.get("studentEmail");
-        String paymentId = (String) enrollmentData.get("paymentId");
-        Double amountPaid = ((Number) enrollmentData.get("amountPaid")).doubleValue();
+        return idempotencyService.execute("course-enroll:" + courseId, studentId, idempotencyKey, enrollmentData, () -> {
+            String studentName = (String) enrollmentData.get("studentName");
+            String studentEmail = (String) enrollmentData.get("studentEmail");
+            String paymentId = (String) enrollmentData.get("paymentId");
+            Double amountPaid = ((Number) enrollmentData.get("amountPaid")).doubleValue();
 
-        CourseEnrollment enrollment = enrollmentService.enrollStudent(
-                courseId, studentId, studentName, studentEmail,
-                paymentId, java.math.BigDecimal.valueOf(amountPaid)
-        );
+            CourseEnrollment enrollment = enrollmentService.enrollStudent(
+                    courseId, studentId, studentName, studentEmail,
+                    paymentId, java.math.BigDecimal.valueOf(amountPaid)
+            );
 
-        return ResponseEntity.status(HttpStatus.CREATED).body(enrollment);
+            return ResponseEntity.status(HttpStatus.CREATED).body(enrollment);
+        });
     }
 
     @GetMapping("/{courseId}/enrollments")
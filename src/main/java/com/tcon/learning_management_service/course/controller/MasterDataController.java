@@ -4,11 +4,14 @@ import com.tcon.learning_management_service.course.dto.GradeDto;
 import com.tcon.learning_management_service.course.dto.SubjectDto;
 import com.tcon.learning_management_service.course.dto.TopicDto;
 import com.tcon.learning_management_service.course.service.GradeService;
+import com.tcon.learning_management_service.course.service.MasterDataCatalog;
+import com.tcon.learning_management_service.course.service.MasterDataSnapshot;
 import com.tcon.learning_management_service.course.service.SubjectService;
 import com.tcon.learning_management_service.course.service.TopicService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -25,6 +28,7 @@ public class MasterDataController {
     private final GradeService gradeService;
     private final SubjectService subjectService;
     private final TopicService topicService;
+    private final MasterDataCatalog masterData;
 
     // =========================
     //          GRADES
@@ -38,7 +42,8 @@ public class MasterDataController {
 
     @GetMapping("/api/grades")
     public ResponseEntity<List<GradeDto>> getAllGrades() {
-        return ResponseEntity.ok(gradeService.getAll());
+        MasterDataSnapshot snapshot = masterData.snapshot();
+        return withEtag(snapshot, snapshot.getActiveGrades());
     }
 
     @PreAuthorize("hasAuthority('ROLE_ADMIN')")
@@ -69,7 +74,8 @@ public class MasterDataController {
     // Frontend calls this when admin selects a grade to get its subjects
     @GetMapping("/api/grades/{gradeId}/subjects")
     public ResponseEntity<List<SubjectDto>> getSubjectsByGrade(@PathVariable String gradeId) {
-        return ResponseEntity.ok(subjectService.getByGrade(gradeId));
+        MasterDataSnapshot snapshot = masterData.snapshot();
+        return withEtag(snapshot, snapshot.activeSubjects(gradeId));
     }
 
     @PreAuthorize("hasAuthority('ROLE_ADMIN')")
@@ -100,7 +106,8 @@ public class MasterDataController {
     // Frontend calls this when admin selects a subject to get its topics
     @GetMapping("/api/subjects/{subjectId}/topics")
     public ResponseEntity<List<TopicDto>> getTopicsBySubject(@PathVariable String subjectId) {
-        return ResponseEntity.ok(topicService.getBySubject(subjectId));
+        MasterDataSnapshot snapshot = masterData.snapshot();
+        return withEtag(snapshot, snapshot.activeTopics(subjectId));
     }
 
     @PreAuthorize("hasAuthority('ROLE_ADMIN')")
@@ -117,4 +124,12 @@ public class MasterDataController {
         topicService.delete(id);
         return ResponseEntity.ok(Map.of("message", "Topic deleted successfully"));
     }
+
+    // Body and tag come from the same snapshot; a matching If-None-Match gets a 304
+    private <T> ResponseEntity<T> withEtag(MasterDataSnapshot snapshot, T body) {
+        return ResponseEntity.ok()
+                .eTag(snapshot.getEtag())
+                .cacheControl(CacheControl.noCache())
+                .body(body);
+    }
 }
@@ -62,6 +62,9 @@ public class CourseDto {
     private Double rating;
     private Integer totalReviews;
 
+    // Text search relevance, set only on keyword search results
+    private Float relevanceScore;
+
     @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
     private LocalDateTime createdAt;
 
@@ -0,0 +1,51 @@
+package com.tcon.learning_management_service.course.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * One page of search hits together with facet counts over every course matching
+ * the same filters.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CourseFacetedSearchDto {
+
+    private List<CourseDto> items;
+    private Long total;
+    private Integer page;
+    private Integer size;
+
+    private List<FacetCount> grades;
+    private List<FacetCount> subjects;
+    private List<FacetCount> difficulties;
+    private List<PriceBandCount> priceBands;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class FacetCount {
+        private String value;
+        private Long count;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class PriceBandCount {
+        // Inclusive lower bound; null for courses without a price
+        private BigDecimal min;
+        // Exclusive upper bound; null for the open-ended top band
+        private BigDecimal max;
+        private Long count;
+    }
+}
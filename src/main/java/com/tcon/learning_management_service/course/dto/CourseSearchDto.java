@@ -10,7 +10,7 @@ import java.math.BigDecimal;
 import java.util.List;
 
 @Data
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 public class CourseSearchDto {
@@ -36,8 +36,9 @@ public class CourseSearchDto {
     @Builder.Default
     private Integer size = 20;
 
-    @Builder.Default
-    private String sortBy = "createdAt";
+    // "relevance" ranks keyword matches by text score; defaults to relevance when a
+    // keyword is given and to createdAt otherwise
+    private String sortBy;
 
     @Builder.Default
     private String sortDirection = "DESC";
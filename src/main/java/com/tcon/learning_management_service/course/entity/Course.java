@@ -8,7 +8,9 @@ import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.index.TextIndexed;
 import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.TextScore;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -30,7 +32,11 @@ public class Course {
     @Indexed
     private String teacherId;
 
+    // Weighted text index: a title hit outranks an outcome hit, which outranks a description hit
+    @TextIndexed(weight = 10)
     private String title;
+
+    @TextIndexed(weight = 1)
     private String description;
 
     // NEW: master data mapping
@@ -70,6 +76,7 @@ public class Course {
     private List<String> prerequisites = new ArrayList<>();
 
     @Builder.Default
+    @TextIndexed(weight = 5)
     private List<String> learningOutcomes = new ArrayList<>();
 
     private List<CourseSession> sessions;
@@ -96,4 +103,8 @@ public class Course {
 
     private String createdBy;
     private String updatedBy;
+
+    // Relevance of a text search hit; only populated by text queries, never stored
+    @TextScore
+    private Float score;
 }
@@ -0,0 +1,187 @@
+package com.tcon.learning_management_service.course.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.tcon.learning_management_service.course.dto.CourseDto;
+import com.tcon.learning_management_service.course.dto.CourseSearchDto;
+import com.tcon.learning_management_service.course.entity.Course;
+import com.tcon.learning_management_service.course.entity.CourseStatus;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * In-process cache of course search result pages, keyed by the canonical form of the
+ * search request so equivalent requests (blank vs missing filters, reordered topic
+ * ids, 10 vs 10.00) share one entry. Entries are weighed by result count and expire
+ * after a short TTL.
+ * Course changes evict every cached page of any filter the course matches now or
+ * appeared in, so the next request re-reads it. Other instances see the change
+ * once their copy expires.
+ */
+@Slf4j
+@Component
+public class CourseSearchCache {
+
+    private static final String RELEVANCE = "relevance";
+
+    private final Cache<CourseSearchDto, CachedPage> pages;
+
+    public CourseSearchCache(MeterRegistry meterRegistry,
+                             @Value("${course.search.cache.max-weight:20000}") long maxWeight,
+                             @Value("${course.search.cache.ttl:PT30S}") Duration ttl) {
+        this.pages = Caffeine.newBuilder()
+                .maximumWeight(maxWeight)
+                .weigher((CourseSearchDto key, CachedPage page) -> page.getResults().size() + 1)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, pages, "course.search");
+    }
+
+    /**
+     * The cached page for an already canonical request, running search on a miss.
+     */
+    public List<CourseDto> get(CourseSearchDto canonical, Function<CourseSearchDto, List<CourseDto>> search) {
+        return pages.get(canonical, key -> {
+            List<CourseDto> results = List.copyOf(search.apply(key));
+            Set<String> courseIds = new HashSet<>();
+            results.forEach(dto -> courseIds.add(dto.getId()));
+            return new CachedPage(filterOf(key), results, courseIds);
+        }).getResults();
+    }
+
+    /**
+     * Evict every page of the filters the course matches now or was returned by.
+     */
+    public void evict(Course course) {
+        evictWhere(page -> page.getCourseIds().contains(course.getId()) || matches(page.getFilter(), course));
+    }
+
+    /**
+     * Evict every page of the filters that returned the course.
+     */
+    public void evict(String courseId) {
+        evictWhere(page -> page.getCourseIds().contains(courseId));
+    }
+
+    private void evictWhere(Predicate<CachedPage> stale) {
+        Set<CourseSearchDto> filters = new HashSet<>();
+        pages.asMap().values().forEach(page -> {
+            if (stale.test(page)) {
+                filters.add(page.getFilter());
+            }
+        });
+        if (filters.isEmpty()) {
+            return;
+        }
+        // Every page and order of a filter goes, since the course may shift them all
+        pages.asMap().values().removeIf(page -> filters.contains(page.getFilter()));
+        log.debug("Evicted course search pages for {} filter(s)", filters.size());
+    }
+
+    /**
+     * A copy of the request with every equivalent spelling of it mapped to the same
+     * value, defaults filled in and the effective sort resolved.
+     */
+    public static CourseSearchDto canonical(CourseSearchDto dto) {
+        String keyword = dto.getKeyword() == null ? null
+                : dto.getKeyword().trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+        keyword = blankToNull(keyword);
+
+        String sortBy = blankToNull(dto.getSortBy());
+        if (sortBy == null) {
+            sortBy = keyword != null ? RELEVANCE : "createdAt";
+        } else if (RELEVANCE.equalsIgnoreCase(sortBy)) {
+            sortBy = RELEVANCE;
+        }
+
+        return CourseSearchDto.builder()
+                .keyword(keyword)
+                .gradeId(blankToNull(dto.getGradeId()))
+                .subjectId(blankToNull(dto.getSubjectId()))
+                .topicIds(dto.getTopicIds() == null || dto.getTopicIds().isEmpty() ? null
+                        : dto.getTopicIds().stream().filter(Objects::nonNull).map(String::trim)
+                                .distinct().sorted().toList())
+                .teacherId(blankToNull(dto.getTeacherId()))
+                // No statuses means published only
+                .statuses(dto.getStatuses() == null || dto.getStatuses().isEmpty()
+                        ? List.of(CourseStatus.PUBLISHED)
+                        : dto.getStatuses().stream().distinct().sorted(Comparator.naturalOrder()).toList())
+                .gradeLevel(blankToNull(dto.getGradeLevel()))
+                .difficulty(blankToNull(dto.getDifficulty()))
+                .minPrice(normalise(dto.getMinPrice()))
+                .maxPrice(normalise(dto.getMaxPrice()))
+                .minRating(dto.getMinRating())
+                .isDemoAvailable(dto.getIsDemoAvailable())
+                .page(dto.getPage() != null ? dto.getPage() : 0)
+                .size(dto.getSize() != null ? dto.getSize() : 20)
+                .sortBy(sortBy)
+                .sortDirection(RELEVANCE.equals(sortBy) ? null
+                        : "ASC".equalsIgnoreCase(dto.getSortDirection()) ? "ASC" : "DESC")
+                .build();
+    }
+
+    // The filter part of a canonical request: all pages and orders of it share one
+    private static CourseSearchDto filterOf(CourseSearchDto canonical) {
+        CourseSearchDto filter = canonical.toBuilder().build();
+        filter.setPage(null);
+        filter.setSize(null);
+        filter.setSortBy(null);
+        filter.setSortDirection(null);
+        return filter;
+    }
+
+    // Whether the course satisfies a canonical filter; keyword filters are assumed to
+    // match, since text-index stemming is not reproduced here
+    private static boolean matches(CourseSearchDto filter, Course course) {
+        return (filter.getGradeId() == null || filter.getGradeId().equals(course.getGradeId()))
+                && (filter.getSubjectId() == null || filter.getSubjectId().equals(course.getSubjectId()))
+                && (filter.getTopicIds() == null || (course.getTopicIds() != null
+                        && course.getTopicIds().stream().anyMatch(filter.getTopicIds()::contains)))
+                && (filter.getTeacherId() == null || filter.getTeacherId().equals(course.getTeacherId()))
+                && filter.getStatuses().contains(course.getStatus())
+                && (filter.getGradeLevel() == null || filter.getGradeLevel().equals(course.getGradeLevel()))
+                && (filter.getDifficulty() == null || filter.getDifficulty().equals(course.getDifficulty()))
+                && (filter.getMinPrice() == null || (course.getPricePerSession() != null
+                        && course.getPricePerSession().compareTo(filter.getMinPrice()) >= 0))
+                && (filter.getMaxPrice() == null || (course.getPricePerSession() != null
+                        && course.getPricePerSession().compareTo(filter.getMaxPrice()) <= 0))
+                && (filter.getMinRating() == null || (course.getRating() != null
+                        && course.getRating() >= filter.getMinRating()))
+                && (filter.getIsDemoAvailable() == null
+                        || filter.getIsDemoAvailable().equals(course.getIsDemoAvailable()));
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+
+    // 10, 10.0 and 10.00 become 10; the plain form keeps the query value unchanged
+    private static BigDecimal normalise(BigDecimal value) {
+        return value == null ? null : new BigDecimal(value.stripTrailingZeros().toPlainString());
+    }
+
+    @Getter
+    @AllArgsConstructor
+    private static class CachedPage {
+        private final CourseSearchDto filter;
+        private final List<CourseDto> results;
+        private final Set<String> courseIds;
+    }
+}
@@ -1,44 +1,220 @@
 package com.tcon.learning_management_service.course.service;
 
 import com.tcon.learning_management_service.course.dto.CourseDto;
+import com.tcon.learning_management_service.course.dto.CourseFacetedSearchDto;
 import com.tcon.learning_management_service.course.dto.CourseSearchDto;
 import com.tcon.learning_management_service.course.entity.Course;
 import com.tcon.learning_management_service.course.entity.CourseStatus;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+import org.springframework.data.mongodb.core.aggregation.ConvertOperators;
 import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.TextCriteria;
+import org.springframework.data.mongodb.core.query.TextQuery;
 import org.springframework.stereotype.Service;
 
+import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
 
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class CourseSearchService {
 
+    private static final String RELEVANCE = "relevance";
+    private static final String NO_PRICE = "none";
+
     private final MongoTemplate mongoTemplate;
+    private final CourseSearchCache searchCache;
+    private final MasterDataCatalog masterData;
+    private final List<Double> priceBoundaries;
+
+    public CourseSearchService(MongoTemplate mongoTemplate,
+                               CourseSearchCache searchCache,
+                               MasterDataCatalog masterData,
+                               @Value("${course.search.facets.price-bands:0,500,1000,2000,5000}")
+                               List<Double> priceBands) {
+        this.mongoTemplate = mongoTemplate;
+        this.searchCache = searchCache;
+        this.masterData = masterData;
+        // The last band is open-ended; $bucket needs an upper boundary to close it
+        List<Double> boundaries = new ArrayList<>(priceBands.stream().sorted().distinct().toList());
+        boundaries.add(Double.MAX_VALUE);
+        this.priceBoundaries = List.copyOf(boundaries);
+    }
 
     public List<CourseDto> searchCourses(CourseSearchDto searchDto) {
+        // Equivalent requests share one cached page; Mongo is only read on a miss
+        return searchCache.get(CourseSearchCache.canonical(searchDto), this::runSearch);
+    }
+
+    private List<CourseDto> runSearch(CourseSearchDto searchDto) {
         log.info("Searching courses with criteria: {}", searchDto);
 
-        Query query = new Query();
-        List<Criteria> criteriaList = new ArrayList<>();
+        // Keyword search goes through the weighted text index on title, learning
+        // outcomes and description; the keyword is matched as words, never as a pattern
+        boolean keywordSearch = searchDto.getKeyword() != null && !searchDto.getKeyword().isBlank();
+        Query query = keywordSearch
+                ? TextQuery.queryText(TextCriteria.forDefaultLanguage().matching(searchDto.getKeyword()))
+                : new Query();
+        List<Criteria> criteriaList = filterCriteria(searchDto);
 
-        // Keyword search (title or description)
-        if (searchDto.getKeyword() != null && !searchDto.getKeyword().isEmpty()) {
-            Criteria keywordCriteria = new Criteria().orOperator(
-                    Criteria.where("title").regex(searchDto.getKeyword(), "i"),
-                    Criteria.where("description").regex(searchDto.getKeyword(), "i")
-            );
-            criteriaList.add(keywordCriteria);
+        // Combine all criteria
+        if (!criteriaList.isEmpty()) {
+            query.addCriteria(new Criteria().andOperator(criteriaList.toArray(new Criteria[0])));
+        }
+
+        // Sorting: relevance first for keyword searches unless another order is asked for
+        String sortBy = searchDto.getSortBy() != null && !searchDto.getSortBy().isBlank()
+                ? searchDto.getSortBy()
+                : (keywordSearch ? RELEVANCE : "createdAt");
+        if (RELEVANCE.equalsIgnoreCase(sortBy)) {
+            if (!keywordSearch) {
+                throw new IllegalArgumentException("Sorting by relevance requires a keyword");
+            }
+            ((TextQuery) query).sortByScore();
+        } else {
+            Sort.Direction direction = "ASC".equalsIgnoreCase(searchDto.getSortDirection())
+                    ? Sort.Direction.ASC
+                    : Sort.Direction.DESC;
+            query.with(Sort.by(direction, sortBy));
+        }
+
+        // Pagination
+        Pageable pageable = PageRequest.of(searchDto.getPage(), searchDto.getSize());
+        query.with(pageable);
+
+        List<Course> courses = mongoTemplate.find(query, Course.class);
+        MasterDataSnapshot snapshot = masterData.snapshot();
+        log.info("Found {} courses matching search criteria", courses.size());
+
+        return courses.stream()
+                .map(course -> toDto(course, snapshot))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * One page of hits plus grade, subject, difficulty and price-band counts for the
+     * whole filter, from a single $facet aggregation: the filter runs once and every
+     * facet is computed from the same matched documents.
+     */
+    public CourseFacetedSearchDto searchWithFacets(CourseSearchDto request) {
+        CourseSearchDto searchDto = CourseSearchCache.canonical(request);
+        log.info("Faceted course search with criteria: {}", searchDto);
+
+        boolean keywordSearch = searchDto.getKeyword() != null;
+        boolean byRelevance = RELEVANCE.equals(searchDto.getSortBy());
+        if (byRelevance && !keywordSearch) {
+            throw new IllegalArgumentException("Sorting by relevance requires a keyword");
+        }
+
+        List<AggregationOperation> pipeline = new ArrayList<>();
+        // $text has to be the first stage
+        if (keywordSearch) {
+            pipeline.add(Aggregation.match(TextCriteria.forDefaultLanguage().matching(searchDto.getKeyword())));
+        }
+        List<Criteria> criteriaList = filterCriteria(searchDto);
+        if (!criteriaList.isEmpty()) {
+            pipeline.add(Aggregation.match(new Criteria().andOperator(criteriaList.toArray(new Criteria[0]))));
+        }
+
+        List<AggregationOperation> hits = new ArrayList<>();
+        if (byRelevance) {
+            // Text score is attached before $facet so the hits branch can sort on it
+            pipeline.add(context -> new Document("$addFields",
+                    new Document("score", new Document("$meta", "textScore"))));
+            hits.add(Aggregation.sort(Sort.by(Sort.Direction.DESC, "score")));
+        } else {
+            hits.add(Aggregation.sort(Sort.by(
+                    "ASC".equals(searchDto.getSortDirection()) ? Sort.Direction.ASC : Sort.Direction.DESC,
+                    searchDto.getSortBy())));
         }
+        hits.add(Aggregation.skip((long) searchDto.getPage() * searchDto.getSize()));
+        hits.add(Aggregation.limit(searchDto.getSize()));
+
+        pipeline.add(Aggregation.facet(hits.toArray(new AggregationOperation[0])).as("hits")
+                .and(Aggregation.count().as("count")).as("total")
+                .and(Aggregation.sortByCount("gradeId")).as("grades")
+                .and(Aggregation.sortByCount("subjectId")).as("subjects")
+                .and(Aggregation.sortByCount("difficulty")).as("difficulties")
+                // Prices may be stored as strings; convert so they bucket numerically
+                .and(Aggregation.bucket(ConvertOperators.valueOf("pricePerSession").convertToDecimal())
+                        .withBoundaries(priceBoundaries.toArray())
+                        .withDefaultBucket(NO_PRICE)
+                        .andOutputCount().as("count")).as("priceBands"));
+
+        Document result = mongoTemplate.aggregate(Aggregation.newAggregation(Course.class, pipeline), Document.class)
+                .getUniqueMappedResult();
+        if (result == null) {
+            result = new Document();
+        }
+
+        MasterDataSnapshot snapshot = masterData.snapshot();
+        List<CourseDto> items = documents(result, "hits").stream()
+                .map(doc -> toDto(mongoTemplate.getConverter().read(Course.class, doc), snapshot))
+                .collect(Collectors.toList());
+        List<Document> total = documents(result, "total");
+
+        return CourseFacetedSearchDto.builder()
+                .items(items)
+                .total(total.isEmpty() ? 0L : ((Number) total.get(0).get("count")).longValue())
+                .page(searchDto.getPage())
+                .size(searchDto.getSize())
+                .grades(facetCounts(result, "grades"))
+                .subjects(facetCounts(result, "subjects"))
+                .difficulties(facetCounts(result, "difficulties"))
+                .priceBands(priceBandCounts(result))
+                .build();
+    }
+
+    private List<CourseFacetedSearchDto.FacetCount> facetCounts(Document result, String facet) {
+        return documents(result, facet).stream()
+                .filter(doc -> doc.get("_id") != null)
+                .map(doc -> CourseFacetedSearchDto.FacetCount.builder()
+                        .value(doc.get("_id").toString())
+                        .count(((Number) doc.get("count")).longValue())
+                        .build())
+                .toList();
+    }
+
+    private List<CourseFacetedSearchDto.PriceBandCount> priceBandCounts(Document result) {
+        List<CourseFacetedSearchDto.PriceBandCount> bands = new ArrayList<>();
+        for (Document doc : documents(result, "priceBands")) {
+            long count = ((Number) doc.get("count")).longValue();
+            if (NO_PRICE.equals(doc.get("_id"))) {
+                bands.add(CourseFacetedSearchDto.PriceBandCount.builder().count(count).build());
+                continue;
+            }
+            double min = ((Number) doc.get("_id")).doubleValue();
+            int next = priceBoundaries.indexOf(min) + 1;
+            double max = priceBoundaries.get(next);
+            bands.add(CourseFacetedSearchDto.PriceBandCount.builder()
+                    .min(BigDecimal.valueOf(min))
+                    .max(max == Double.MAX_VALUE ? null : BigDecimal.valueOf(max))
+                    .count(count)
+                    .build());
+        }
+        return bands;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Document> documents(Document result, String facet) {
+        Object value = result.get(facet);
+        return value instanceof List ? (List<Document>) value : List.of();
+    }
+
+    // Every non-keyword filter of a search request
+    private List<Criteria> filterCriteria(CourseSearchDto searchDto) {
+        List<Criteria> criteriaList = new ArrayList<>();
 
         // Grade filter (replaces old category)
         if (searchDto.getGradeId() != null && !searchDto.getGradeId().isEmpty()) {
@@ -96,30 +272,10 @@ public class CourseSearchService {
             criteriaList.add(Criteria.where("isDemoAvailable").is(searchDto.getIsDemoAvailable()));
         }
 
-        // Combine all criteria
-        if (!criteriaList.isEmpty()) {
-            query.addCriteria(new Criteria().andOperator(criteriaList.toArray(new Criteria[0])));
-        }
-
-        // Sorting
-        Sort.Direction direction = "ASC".equalsIgnoreCase(searchDto.getSortDirection())
-                ? Sort.Direction.ASC
-                : Sort.Direction.DESC;
-        query.with(Sort.by(direction, searchDto.getSortBy()));
-
-        // Pagination
-        Pageable pageable = PageRequest.of(searchDto.getPage(), searchDto.getSize());
-        query.with(pageable);
-
-        List<Course> courses = mongoTemplate.find(query, Course.class);
-        log.info("Found {} courses matching search criteria", courses.size());
-
-        return courses.stream()
-                .map(this::toDto)
-                .collect(Collectors.toList());
+        return criteriaList;
     }
 
-    private CourseDto toDto(Course course) {
+    private CourseDto toDto(Course course, MasterDataSnapshot snapshot) {
         return CourseDto.builder()
                 .id(course.getId())
                 .teacherId(course.getTeacherId())
@@ -128,6 +284,9 @@ public class CourseSearchService {
                 .gradeId(course.getGradeId())
                 .subjectId(course.getSubjectId())
                 .topicIds(course.getTopicIds())
+                .gradeName(snapshot.gradeName(course.getGradeId()))
+                .subjectName(snapshot.subjectName(course.getSubjectId()))
+                .topicNames(snapshot.topicNames(course.getTopicIds()))
                 .status(course.getStatus())
                 .pricePerSession(course.getPricePerSession())
                 .currency(course.getCurrency())
@@ -149,6 +308,7 @@ public class CourseSearchService {
                 .demoSessionDuration(course.getDemoSessionDuration())
                 .rating(course.getRating())
                 .totalReviews(course.getTotalReviews())
+                .relevanceScore(course.getScore())
                 .createdAt(course.getCreatedAt())
                 .updatedAt(course.getUpdatedAt())
                 .build();
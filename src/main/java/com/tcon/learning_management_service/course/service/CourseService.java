@@ -1,22 +1,29 @@
 package com.tcon.learning_management_service.course.service;
 
-import com.tcon.learning_management_service.course.client.UserServiceClient;
 import com.tcon.learning_management_service.course.dto.*;
 import com.tcon.learning_management_service.course.entity.*;
 import com.tcon.learning_management_service.course.repository.*;
 import com.tcon.learning_management_service.event.CourseEventPublisher;
 import com.tcon.learning_management_service.session.dto.SessionScheduleRequest;
 import com.tcon.learning_management_service.session.service.ClassSessionService;
-import feign.FeignException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.CollectionUtils;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -27,12 +34,14 @@ public class CourseService {
     private final CourseRepository courseRepository;
     private final CourseEnrollmentRepository enrollmentRepository;
     private final CourseEventPublisher eventPublisher;
-    private final UserServiceClient userServiceClient;
     private final ClassSessionService classSessionService;
 
     private final GradeRepository gradeRepository;
     private final SubjectRepository subjectRepository;
     private final TopicRepository topicRepository;
+    private final MasterDataCatalog masterData;
+    private final TeacherProfileLoader teacherProfileLoader;
+    private final MongoTemplate mongoTemplate;
 
     // =========================
     //        ADMIN ONLY
@@ -122,7 +131,7 @@ public class CourseService {
 
         eventPublisher.publishCourseCreated(saved);
 
-        return toDtoWithMasterData(saved, grade, subject, topics);
+        return withTeacherInfo(toDtoWithMasterData(saved, grade, subject, topics));
     }
 
     @Transactional
@@ -193,7 +202,7 @@ public class CourseService {
 
         eventPublisher.publishCourseUpdated(updated);
 
-        return toDtoWithMasterData(updated, grade, subject, topics);
+        return withTeacherInfo(toDtoWithMasterData(updated, grade, subject, topics));
     }
 
     @Transactional
@@ -240,6 +249,7 @@ public class CourseService {
         courseRepository.save(course);
 
         log.info("Course unpublished successfully: {}", courseId);
+        eventPublisher.publishCourseUnpublished(course);
     }
 
     @Transactional
@@ -273,33 +283,22 @@ public class CourseService {
         Course course = courseRepository.findById(courseId)
                 .orElseThrow(() -> new IllegalArgumentException("Course not found: " + courseId));
 
-        Grade grade = course.getGradeId() != null ? gradeRepository.findById(course.getGradeId()).orElse(null) : null;
-        Subject subject = course.getSubjectId() != null ? subjectRepository.findById(course.getSubjectId()).orElse(null) : null;
-        List<Topic> topics = course.getTopicIds() != null ? topicRepository.findAllById(course.getTopicIds()) : List.of();
-
-        return toDtoWithMasterData(course, grade, subject, topics);
+        return withTeacherInfo(toDtoWithMasterData(course, masterData.snapshot()));
     }
 
     public List<CourseDto> getTeacherCourses(String teacherId) {
-        return courseRepository.findByTeacherId(teacherId).stream()
-                .map(c -> {
-                    Grade grade = c.getGradeId() != null ? gradeRepository.findById(c.getGradeId()).orElse(null) : null;
-                    Subject subject = c.getSubjectId() != null ? subjectRepository.findById(c.getSubjectId()).orElse(null) : null;
-                    List<Topic> topics = c.getTopicIds() != null ? topicRepository.findAllById(c.getTopicIds()) : List.of();
-                    return toDtoWithMasterData(c, grade, subject, topics);
-                })
-                .collect(Collectors.toList());
+        // Names come from one master-data snapshot, not per-course lookups
+        MasterDataSnapshot snapshot = masterData.snapshot();
+        return withTeacherInfo(courseRepository.findByTeacherId(teacherId).stream()
+                .map(c -> toDtoWithMasterData(c, snapshot))
+                .collect(Collectors.toList()));
     }
 
     public List<CourseDto> getPublishedCourses() {
-        return courseRepository.findByStatus(CourseStatus.PUBLISHED, null).stream()
-                .map(c -> {
-                    Grade grade = c.getGradeId() != null ? gradeRepository.findById(c.getGradeId()).orElse(null) : null;
-                    Subject subject = c.getSubjectId() != null ? subjectRepository.findById(c.getSubjectId()).orElse(null) : null;
-                    List<Topic> topics = c.getTopicIds() != null ? topicRepository.findAllById(c.getTopicIds()) : List.of();
-                    return toDtoWithMasterData(c, grade, subject, topics);
-                })
-                .collect(Collectors.toList());
+        MasterDataSnapshot snapshot = masterData.snapshot();
+        return withTeacherInfo(courseRepository.findByStatus(CourseStatus.PUBLISHED, null).stream()
+                .map(c -> toDtoWithMasterData(c, snapshot))
+                .collect(Collectors.toList()));
     }
 
     // =========================
@@ -365,13 +364,27 @@ public class CourseService {
     //       DTO HELPERS
     // =========================
 
+    private CourseDto toDtoWithMasterData(Course course, MasterDataSnapshot snapshot) {
+        return toDtoWithMasterData(course,
+                snapshot.gradeName(course.getGradeId()),
+                snapshot.subjectName(course.getSubjectId()),
+                snapshot.topicNames(course.getTopicIds()));
+    }
+
     private CourseDto toDtoWithMasterData(Course course,
                                           Grade grade,
                                           Subject subject,
                                           List<Topic> topics) {
+        return toDtoWithMasterData(course,
+                grade != null ? grade.getName() : null,
+                subject != null ? subject.getName() : null,
+                topics == null ? List.of() : topics.stream().map(Topic::getName).toList());
+    }
 
-        List<String> topicNames = topics == null ? List.of() :
-                topics.stream().map(Topic::getName).toList();
+    private CourseDto toDtoWithMasterData(Course course,
+                                          String gradeName,
+                                          String subjectName,
+                                          List<String> topicNames) {
 
         List<CourseSessionDto> sessionDtos = null;
         if (course.getSessions() != null) {
@@ -388,8 +401,8 @@ public class CourseService {
                 .gradeId(course.getGradeId())
                 .subjectId(course.getSubjectId())
                 .topicIds(course.getTopicIds())
-                .gradeName(grade != null ? grade.getName() : null)
-                .subjectName(subject != null ? subject.getName() : null)
+                .gradeName(gradeName)
+                .subjectName(subjectName)
                 .topicNames(topicNames)
                 .status(course.getStatus())
                 .pricePerSession(course.getPricePerSession())
@@ -417,69 +430,91 @@ public class CourseService {
                 .updatedAt(course.getUpdatedAt())
                 .build();
 
-        enrichWithTeacherInfo(dto, course.getTeacherId());
         return dto;
     }
 
-    private void enrichWithTeacherInfo(CourseDto courseDto, String teacherUserId) {
-        if (teacherUserId == null) return;
+    private CourseDto withTeacherInfo(CourseDto courseDto) {
+        withTeacherInfo(List.of(courseDto));
+        return courseDto;
+    }
 
-        try {
-            log.debug("Fetching teacher profile for userId: {}", teacherUserId);
-            TeacherResponseDto teacher = userServiceClient.getTeacherByUserId(teacherUserId);
-
-            if (teacher != null) {
-                courseDto.setTeacherBio(teacher.getBio());
-                courseDto.setTeacherSubjects(teacher.getSubjects());
-                courseDto.setTeacherLanguages(teacher.getLanguages());
-                courseDto.setTeacherYearsOfExperience(teacher.getYearsOfExperience());
-                courseDto.setTeacherQualifications(teacher.getQualifications());
-                courseDto.setTeacherHourlyRate(teacher.getHourlyRate());
-                courseDto.setTeacherRating(teacher.getAverageRating());
-                courseDto.setTeacherTotalReviews(teacher.getTotalReviews());
-                courseDto.setTeacherExpertise(teacher.getSubjects());
-                courseDto.setTeacherTimezone(teacher.getTimezone());
-                courseDto.setTeacherIsAvailable(teacher.getIsAvailable());
-                courseDto.setTeacherVerificationStatus(teacher.getVerificationStatus());
-
-                if (teacher.getUserId() != null) {
-                    UserResponseDto user = userServiceClient.getUserById(teacher.getUserId());
-                    if (user != null) {
-                        courseDto.setTeacherName(user.getName());
-                        courseDto.setTeacherEmail(user.getEmail());
-                        courseDto.setTeacherProfilePicture(user.getProfilePicture());
-                    }
-                }
+    /**
+     * Fill in teacher details for a whole list of courses. Each distinct teacher is
+     * resolved once, all of them concurrently through the shared profile cache, and
+     * their student totals come from a single aggregation.
+     */
+    private List<CourseDto> withTeacherInfo(List<CourseDto> courseDtos) {
+        Set<String> teacherUserIds = courseDtos.stream()
+                .map(CourseDto::getTeacherId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        if (teacherUserIds.isEmpty()) {
+            return courseDtos;
+        }
 
-                Integer totalStudents = calculateTeacherTotalStudents(teacherUserId);
-                courseDto.setTeacherTotalStudents(totalStudents);
+        Map<String, TeacherProfileLoader.TeacherProfile> profiles = teacherProfileLoader.loadAll(teacherUserIds);
+        Set<String> found = profiles.entrySet().stream()
+                .filter(entry -> entry.getValue().isFound())
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toSet());
+        Map<String, Integer> totalStudents = calculateTeacherTotalStudents(found);
+
+        for (CourseDto courseDto : courseDtos) {
+            if (courseDto.getTeacherId() == null) {
+                continue;
             }
-        } catch (FeignException.BadRequest e) {
-            // 400 from auth-user-service: no teacher profile -> treat as generic instructor
-            log.warn("Teacher profile not found for userId {}: {}", teacherUserId, e.getMessage());
-            courseDto.setTeacherName("Expert Instructor");
-        } catch (FeignException.NotFound e) {
-            log.warn("Teacher profile not found (404) for userId {}: {}", teacherUserId, e.getMessage());
-            courseDto.setTeacherName("Expert Instructor");
-        } catch (Exception e) {
-            log.error("Error fetching teacher information for userId: {}", teacherUserId, e);
-            courseDto.setTeacherName("Expert Instructor");
+            TeacherProfileLoader.TeacherProfile profile = profiles.get(courseDto.getTeacherId());
+            if (profile == null || !profile.isFound()) {
+                // No profile, or user-service failed: show a generic instructor
+                courseDto.setTeacherName("Expert Instructor");
+                continue;
+            }
+
+            TeacherResponseDto teacher = profile.getTeacher();
+            courseDto.setTeacherBio(teacher.getBio());
+            courseDto.setTeacherSubjects(teacher.getSubjects());
+            courseDto.setTeacherLanguages(teacher.getLanguages());
+            courseDto.setTeacherYearsOfExperience(teacher.getYearsOfExperience());
+            courseDto.setTeacherQualifications(teacher.getQualifications());
+            courseDto.setTeacherHourlyRate(teacher.getHourlyRate());
+            courseDto.setTeacherRating(teacher.getAverageRating());
+            courseDto.setTeacherTotalReviews(teacher.getTotalReviews());
+            courseDto.setTeacherExpertise(teacher.getSubjects());
+            courseDto.setTeacherTimezone(teacher.getTimezone());
+            courseDto.setTeacherIsAvailable(teacher.getIsAvailable());
+            courseDto.setTeacherVerificationStatus(teacher.getVerificationStatus());
+
+            UserResponseDto user = profile.getUser();
+            if (user != null) {
+                courseDto.setTeacherName(user.getName());
+                courseDto.setTeacherEmail(user.getEmail());
+                courseDto.setTeacherProfilePicture(user.getProfilePicture());
+            }
+
+            courseDto.setTeacherTotalStudents(totalStudents.getOrDefault(courseDto.getTeacherId(), 0));
         }
+        return courseDtos;
     }
 
-
-    private Integer calculateTeacherTotalStudents(String teacherUserId) {
+    // Enrolments across each teacher's courses, for all teachers in one aggregation
+    private Map<String, Integer> calculateTeacherTotalStudents(Collection<String> teacherUserIds) {
+        if (teacherUserIds.isEmpty()) {
+            return Map.of();
+        }
         try {
-            List<Course> teacherCourses = courseRepository.findByTeacherId(teacherUserId);
-            return teacherCourses.stream()
-                    .filter(c -> c.getCurrentEnrollments() != null)
-                    .mapToInt(Course::getCurrentEnrollments)
-                    .sum();
+            Aggregation aggregation = Aggregation.newAggregation(
+                    Aggregation.match(Criteria.where("teacherId").in(teacherUserIds)),
+                    Aggregation.group("teacherId").sum("currentEnrollments").as("totalStudents"));
+            Map<String, Integer> totals = new HashMap<>();
+            mongoTemplate.aggregate(aggregation, Course.class, Document.class).forEach(doc ->
+                    totals.put(doc.getString("_id"), ((Number) doc.get("totalStudents")).intValue()));
+            return totals;
         } catch (Exception e) {
-            log.error("Error calculating total students for teacher userId: {}", teacherUserId, e);
-            return 0;
+            log.error("Error calculating total students for teachers: {}", teacherUserIds, e);
+            return Map.of();
         }
     }
+
     public List<AvailableTeacherDto> getAvailableTeachersForCourse(String courseId) {
         Course course = courseRepository.findById(courseId)
                 .orElseThrow(() -> new IllegalArgumentException("Course not found: " + courseId));
@@ -489,48 +524,9 @@ public class CourseService {
             return List.of();
         }
 
-        try {
-            TeacherResponseDto teacher = userServiceClient.getTeacherByUserId(teacherUserId);
-
-            Double hourlyRate = teacher != null && teacher.getHourlyRate() != null
-                    ? teacher.getHourlyRate()
-                    : (course.getPricePerSession() != null ? course.getPricePerSession().doubleValue() : null);
-
-            Double rating = teacher != null ? teacher.getAverageRating() : null;
-
-            UserResponseDto user = null;
-            if (teacher != null && teacher.getUserId() != null) {
-                user = userServiceClient.getUserById(teacher.getUserId());
-            }
-
-            String displayName = user != null && user.getName() != null ? user.getName() : "Expert Instructor";
-            String avatar = user != null ? user.getProfilePicture() : null;
-
-            return List.of(
-                    AvailableTeacherDto.builder()
-                            .id(teacherUserId)
-                            .name(displayName)
-                            .avatar(avatar)
-                            .hourlyRate(hourlyRate)
-                            .currency(course.getCurrency())
-                            .rating(rating)
-                            .subjects(teacher != null ? teacher.getSubjects() : null)
-                            .build()
-            );
-        } catch (FeignException.BadRequest | FeignException.NotFound e) {
-            log.warn("Teacher profile missing for userId {}, falling back: {}", teacherUserId, e.getMessage());
-            return List.of(
-                    AvailableTeacherDto.builder()
-                            .id(teacherUserId)
-                            .name("Expert Instructor")
-                            .hourlyRate(course.getPricePerSession() != null
-                                    ? course.getPricePerSession().doubleValue()
-                                    : null)
-                            .currency(course.getCurrency())
-                            .build()
-            );
-        } catch (Exception e) {
-            log.error("Error calling user-service for teacher {}", teacherUserId, e);
+        TeacherProfileLoader.TeacherProfile profile = teacherProfileLoader.load(teacherUserId);
+        if (profile == null || !profile.isFound()) {
+            // No profile, or user-service failed: fall back to the course's own price
             return List.of(
                     AvailableTeacherDto.builder()
                             .id(teacherUserId)
@@ -542,6 +538,30 @@ public class CourseService {
                             .build()
             );
         }
+
+        TeacherResponseDto teacher = profile.getTeacher();
+        UserResponseDto user = profile.getUser();
+
+        Double hourlyRate = teacher != null && teacher.getHourlyRate() != null
+                ? teacher.getHourlyRate()
+                : (course.getPricePerSession() != null ? course.getPricePerSession().doubleValue() : null);
+
+        Double rating = teacher != null ? teacher.getAverageRating() : null;
+
+        String displayName = user != null && user.getName() != null ? user.getName() : "Expert Instructor";
+        String avatar = user != null ? user.getProfilePicture() : null;
+
+        return List.of(
+                AvailableTeacherDto.builder()
+                        .id(teacherUserId)
+                        .name(displayName)
+                        .avatar(avatar)
+                        .hourlyRate(hourlyRate)
+                        .currency(course.getCurrency())
+                        .rating(rating)
+                        .subjects(teacher != null ? teacher.getSubjects() : null)
+                        .build()
+        );
     }
 
 
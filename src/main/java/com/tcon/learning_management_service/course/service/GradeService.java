@@ -6,13 +6,13 @@ import com.tcon.learning_management_service.course.repository.GradeRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class GradeService {
 
     private final GradeRepository gradeRepository;
+    private final MasterDataCatalog masterData;
 
     public GradeDto create(GradeDto dto) {
         Grade grade = Grade.builder()
@@ -20,12 +20,13 @@ public class GradeService {
                 .order(dto.getOrder() != null ? dto.getOrder() : 0)
                 .isActive(true)
                 .build();
-        return toDto(gradeRepository.save(grade));
+        GradeDto saved = toDto(gradeRepository.save(grade));
+        masterData.refresh();
+        return saved;
     }
 
     public List<GradeDto> getAll() {
-        return gradeRepository.findByIsActiveTrueOrderByOrderAsc()
-                .stream().map(this::toDto).collect(Collectors.toList());
+        return masterData.snapshot().getActiveGrades();
     }
 
     public GradeDto update(String id, GradeDto dto) {
@@ -34,7 +35,9 @@ public class GradeService {
         if (dto.getName() != null) grade.setName(dto.getName());
         if (dto.getOrder() != null) grade.setOrder(dto.getOrder());
         if (dto.getIsActive() != null) grade.setIsActive(dto.getIsActive());
-        return toDto(gradeRepository.save(grade));
+        GradeDto saved = toDto(gradeRepository.save(grade));
+        masterData.refresh();
+        return saved;
     }
 
     public void delete(String id) {
@@ -42,6 +45,7 @@ public class GradeService {
                 .orElseThrow(() -> new IllegalArgumentException("Grade not found: " + id));
         grade.setIsActive(false);
         gradeRepository.save(grade);
+        masterData.refresh();
     }
 
     private GradeDto toDto(Grade g) {
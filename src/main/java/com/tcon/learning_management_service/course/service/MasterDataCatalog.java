@@ -0,0 +1,102 @@
+package com.tcon.learning_management_service.course.service;
+
+import com.tcon.learning_management_service.course.dto.GradeDto;
+import com.tcon.learning_management_service.course.dto.SubjectDto;
+import com.tcon.learning_management_service.course.dto.TopicDto;
+import com.tcon.learning_management_service.course.repository.GradeRepository;
+import com.tcon.learning_management_service.course.repository.SubjectRepository;
+import com.tcon.learning_management_service.course.repository.TopicRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Holds the current MasterDataSnapshot. Readers take the reference once and work
+ * on that copy, so they never see a half-applied change; writers replace it with a
+ * freshly loaded snapshot. The snapshot is loaded on first use and reloaded once it
+ * is older than max-age, which is how other instances pick up changes made here.
+ */
+@Slf4j
+@Component
+public class MasterDataCatalog {
+
+    private final GradeRepository gradeRepository;
+    private final SubjectRepository subjectRepository;
+    private final TopicRepository topicRepository;
+    private final long maxAgeNanos;
+
+    private volatile MasterDataSnapshot current;
+    private volatile long loadedAt;
+
+    public MasterDataCatalog(GradeRepository gradeRepository,
+                             SubjectRepository subjectRepository,
+                             TopicRepository topicRepository,
+                             @Value("${course.master-data.max-age:PT1M}") Duration maxAge) {
+        this.gradeRepository = gradeRepository;
+        this.subjectRepository = subjectRepository;
+        this.topicRepository = topicRepository;
+        this.maxAgeNanos = maxAge.toNanos();
+    }
+
+    public MasterDataSnapshot snapshot() {
+        MasterDataSnapshot snapshot = current;
+        if (snapshot != null && !isStale()) {
+            return snapshot;
+        }
+        synchronized (this) {
+            // Another caller may have reloaded while this one waited
+            return current != null && !isStale() ? current : refresh();
+        }
+    }
+
+    private boolean isStale() {
+        return System.nanoTime() - loadedAt > maxAgeNanos;
+    }
+
+    /**
+     * Reload the hierarchy and swap it in. Called after every master-data write.
+     */
+    public synchronized MasterDataSnapshot refresh() {
+        List<GradeDto> grades = gradeRepository.findAll().stream()
+                .map(g -> GradeDto.builder()
+                        .id(g.getId())
+                        .name(g.getName())
+                        .order(g.getOrder())
+                        .isActive(g.getIsActive())
+                        .build())
+                .toList();
+        List<SubjectDto> subjects = subjectRepository.findAll().stream()
+                .map(s -> SubjectDto.builder()
+                        .id(s.getId())
+                        .gradeId(s.getGradeId())
+                        .name(s.getName())
+                        .description(s.getDescription())
+                        .isActive(s.getIsActive())
+                        .build())
+                .toList();
+        List<TopicDto> topics = topicRepository.findAll().stream()
+                .map(t -> TopicDto.builder()
+                        .id(t.getId())
+                        .subjectId(t.getSubjectId())
+                        .name(t.getName())
+                        .description(t.getDescription())
+                        .isActive(t.getIsActive())
+                        .build())
+                .toList();
+
+        MasterDataSnapshot previous = current;
+        MasterDataSnapshot loaded = new MasterDataSnapshot(previous == null ? 1 : previous.getVersion() + 1,
+                grades, subjects, topics);
+        // Unchanged content keeps the old snapshot, and with it the version
+        if (previous == null || !previous.getEtag().equals(loaded.getEtag())) {
+            current = loaded;
+            log.info("Master data snapshot v{} loaded: {} grade(s), {} subject(s), {} topic(s)",
+                    loaded.getVersion(), grades.size(), subjects.size(), topics.size());
+        }
+        loadedAt = System.nanoTime();
+        return current;
+    }
+}
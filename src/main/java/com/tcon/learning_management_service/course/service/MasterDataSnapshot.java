@@ -0,0 +1,97 @@
+package com.tcon.learning_management_service.course.service;
+
+import com.tcon.learning_management_service.course.dto.GradeDto;
+import com.tcon.learning_management_service.course.dto.SubjectDto;
+import com.tcon.learning_management_service.course.dto.TopicDto;
+import lombok.Getter;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * One immutable copy of the Grade → Subject → Topic hierarchy. Inactive entries are
+ * kept for name lookups but left out of the dropdown lists. The ETag is derived from
+ * the content, so every instance holding the same data serves the same tag.
+ */
+@Getter
+public final class MasterDataSnapshot {
+
+    private final long version;
+    private final String etag;
+
+    private final List<GradeDto> activeGrades;
+    private final Map<String, List<SubjectDto>> activeSubjectsByGrade;
+    private final Map<String, List<TopicDto>> activeTopicsBySubject;
+
+    private final Map<String, GradeDto> grades;
+    private final Map<String, SubjectDto> subjects;
+    private final Map<String, TopicDto> topics;
+
+    MasterDataSnapshot(long version, List<GradeDto> grades, List<SubjectDto> subjects, List<TopicDto> topics) {
+        this.version = version;
+        this.grades = byId(grades, GradeDto::getId);
+        this.subjects = byId(subjects, SubjectDto::getId);
+        this.topics = byId(topics, TopicDto::getId);
+
+        this.activeGrades = grades.stream()
+                .filter(g -> Boolean.TRUE.equals(g.getIsActive()))
+                .sorted(Comparator.comparing(GradeDto::getOrder, Comparator.nullsLast(Comparator.naturalOrder())))
+                .toList();
+        this.activeSubjectsByGrade = subjects.stream()
+                .filter(s -> Boolean.TRUE.equals(s.getIsActive()) && s.getGradeId() != null)
+                .collect(Collectors.collectingAndThen(
+                        Collectors.groupingBy(SubjectDto::getGradeId, LinkedHashMap::new, Collectors.toUnmodifiableList()),
+                        Map::copyOf));
+        this.activeTopicsBySubject = topics.stream()
+                .filter(t -> Boolean.TRUE.equals(t.getIsActive()) && t.getSubjectId() != null)
+                .collect(Collectors.collectingAndThen(
+                        Collectors.groupingBy(TopicDto::getSubjectId, LinkedHashMap::new, Collectors.toUnmodifiableList()),
+                        Map::copyOf));
+
+        String content = grades + "|" + subjects + "|" + topics;
+        this.etag = "\"" + DigestUtils.md5DigestAsHex(content.getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+
+    public List<SubjectDto> activeSubjects(String gradeId) {
+        return activeSubjectsByGrade.getOrDefault(gradeId, List.of());
+    }
+
+    public List<TopicDto> activeTopics(String subjectId) {
+        return activeTopicsBySubject.getOrDefault(subjectId, List.of());
+    }
+
+    public String gradeName(String gradeId) {
+        GradeDto grade = gradeId != null ? grades.get(gradeId) : null;
+        return grade != null ? grade.getName() : null;
+    }
+
+    public String subjectName(String subjectId) {
+        SubjectDto subject = subjectId != null ? subjects.get(subjectId) : null;
+        return subject != null ? subject.getName() : null;
+    }
+
+    /**
+     * Names of the topics that exist, in the order given.
+     */
+    public List<String> topicNames(List<String> topicIds) {
+        if (topicIds == null) {
+            return List.of();
+        }
+        return topicIds.stream()
+                .map(topics::get)
+                .filter(Objects::nonNull)
+                .map(TopicDto::getName)
+                .toList();
+    }
+
+    private static <T> Map<String, T> byId(List<T> items, Function<T, String> id) {
+        return items.stream().collect(Collectors.toUnmodifiableMap(id, Function.identity(), (a, b) -> a));
+    }
+}
@@ -7,7 +7,6 @@ import com.tcon.learning_management_service.course.repository.SubjectRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -15,6 +14,7 @@ public class SubjectService {
 
     private final SubjectRepository subjectRepository;
     private final GradeRepository gradeRepository;
+    private final MasterDataCatalog masterData;
 
     public SubjectDto create(SubjectDto dto) {
         gradeRepository.findById(dto.getGradeId())
@@ -26,12 +26,13 @@ public class SubjectService {
                 .description(dto.getDescription())
                 .isActive(true)
                 .build();
-        return toDto(subjectRepository.save(subject));
+        SubjectDto saved = toDto(subjectRepository.save(subject));
+        masterData.refresh();
+        return saved;
     }
 
     public List<SubjectDto> getByGrade(String gradeId) {
-        return subjectRepository.findByGradeIdAndIsActiveTrue(gradeId)
-                .stream().map(this::toDto).collect(Collectors.toList());
+        return masterData.snapshot().activeSubjects(gradeId);
     }
 
     public SubjectDto update(String id, SubjectDto dto) {
@@ -40,7 +41,9 @@ public class SubjectService {
         if (dto.getName() != null) subject.setName(dto.getName());
         if (dto.getDescription() != null) subject.setDescription(dto.getDescription());
         if (dto.getIsActive() != null) subject.setIsActive(dto.getIsActive());
-        return toDto(subjectRepository.save(subject));
+        SubjectDto saved = toDto(subjectRepository.save(subject));
+        masterData.refresh();
+        return saved;
     }
 
     public void delete(String id) {
@@ -48,6 +51,7 @@ public class SubjectService {
                 .orElseThrow(() -> new IllegalArgumentException("Subject not found: " + id));
         subject.setIsActive(false);
         subjectRepository.save(subject);
+        masterData.refresh();
     }
 
     private SubjectDto toDto(Subject s) {
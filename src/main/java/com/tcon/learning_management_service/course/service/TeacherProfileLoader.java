@@ -0,0 +1,203 @@
+package com.tcon.learning_management_service.course.service;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.tcon.learning_management_service.course.client.UserServiceClient;
+import com.tcon.learning_management_service.course.dto.TeacherResponseDto;
+import com.tcon.learning_management_service.course.dto.UserResponseDto;
+import feign.FeignException;
+import jakarta.annotation.PreDestroy;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Resolves teacher profiles (teacher record plus user record) from user-service
+ * through one shared async cache. A page of courses asks for all of its distinct
+ * teachers at once; misses load in parallel on a bounded pool and concurrent
+ * requests for the same teacher share a single load, so a page waits about as long
+ * as its slowest lookup.
+ * <p>
+ * Lookups run with the caller's forwarded Authorization / X-User-Id, and user-service
+ * may answer differently per caller, so entries are keyed by a digest of those headers
+ * as well as the teacher: one caller's result is never served to another, while
+ * anonymous traffic still shares one set of entries. A 404 is cached as missing;
+ * 400/401/403 say more about the caller than the teacher, so they fall back to a
+ * missing profile for this request only. Other failures are not cached either.
+ */
+@Slf4j
+@Component
+public class TeacherProfileLoader {
+
+    private final UserServiceClient userServiceClient;
+    private final ExecutorService executor;
+    private final AsyncCache<ProfileKey, TeacherProfile> profiles;
+
+    public TeacherProfileLoader(UserServiceClient userServiceClient,
+                                @Value("${course.teacher-profiles.threads:8}") int threads,
+                                @Value("${course.teacher-profiles.max-size:5000}") long maxSize,
+                                @Value("${course.teacher-profiles.ttl:PT5M}") Duration ttl) {
+        this.userServiceClient = userServiceClient;
+        this.executor = Executors.newFixedThreadPool(threads, daemon("teacher-profile-loader"));
+        this.profiles = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .executor(executor)
+                .buildAsync();
+    }
+
+    @PreDestroy
+    public void stop() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Profiles for the given teacher user ids, loading every miss concurrently.
+     * Teachers whose lookup failed are left out of the result.
+     */
+    public Map<String, TeacherProfile> loadAll(Collection<String> teacherUserIds) {
+        // Loads run on the pool; carry the caller's request so Feign forwards its headers
+        RequestAttributes caller = RequestContextHolder.getRequestAttributes();
+        String callerDigest = callerDigest(caller);
+
+        Map<String, CompletableFuture<TeacherProfile>> pending = new LinkedHashMap<>();
+        for (String teacherUserId : new LinkedHashSet<>(teacherUserIds)) {
+            if (teacherUserId != null) {
+                pending.put(teacherUserId, profiles.get(new ProfileKey(callerDigest, teacherUserId), (key, pool) ->
+                        CompletableFuture.supplyAsync(() -> loadAs(caller, key.teacherUserId()), pool)));
+            }
+        }
+
+        Map<String, TeacherProfile> loaded = new HashMap<>();
+        pending.forEach((teacherUserId, future) -> {
+            try {
+                loaded.put(teacherUserId, future.join());
+            } catch (Exception e) {
+                if (e.getCause() instanceof CallerRejectedException) {
+                    // Failed future, so the cache drops it; this request still gets a generic instructor
+                    log.warn("Teacher profile for userId {} not available to this caller: {}",
+                            teacherUserId, e.getCause().getMessage());
+                    loaded.put(teacherUserId, TeacherProfile.missing());
+                } else {
+                    log.error("Error fetching teacher information for userId: {}", teacherUserId, e.getCause());
+                }
+            }
+        });
+        return loaded;
+    }
+
+    /**
+     * One teacher's profile, or null when the lookup failed.
+     */
+    public TeacherProfile load(String teacherUserId) {
+        return loadAll(List.of(teacherUserId)).get(teacherUserId);
+    }
+
+    private TeacherProfile loadAs(RequestAttributes caller, String teacherUserId) {
+        RequestAttributes previous = RequestContextHolder.getRequestAttributes();
+        RequestContextHolder.setRequestAttributes(caller);
+        try {
+            return fetch(teacherUserId);
+        } finally {
+            RequestContextHolder.setRequestAttributes(previous);
+        }
+    }
+
+    private TeacherProfile fetch(String teacherUserId) {
+        try {
+            log.debug("Fetching teacher profile for userId: {}", teacherUserId);
+            TeacherResponseDto teacher = userServiceClient.getTeacherByUserId(teacherUserId);
+            if (teacher == null) {
+                return TeacherProfile.missing();
+            }
+            UserResponseDto user = teacher.getUserId() != null
+                    ? userServiceClient.getUserById(teacher.getUserId())
+                    : null;
+            return new TeacherProfile(teacher, user);
+        } catch (FeignException.NotFound e) {
+            // 404 from user-service: no teacher profile -> treat as generic instructor
+            log.warn("Teacher profile not found for userId {}: {}", teacherUserId, e.getMessage());
+            return TeacherProfile.missing();
+        } catch (FeignException.BadRequest | FeignException.Unauthorized | FeignException.Forbidden e) {
+            throw new CallerRejectedException(e.status() + " from user-service");
+        }
+    }
+
+    // Digest of the headers Feign forwards; null for anonymous callers
+    private static String callerDigest(RequestAttributes caller) {
+        if (!(caller instanceof ServletRequestAttributes attributes)) {
+            return null;
+        }
+        HttpServletRequest request = attributes.getRequest();
+        String authorization = request.getHeader("Authorization");
+        String userId = request.getHeader("X-User-Id");
+        if ((authorization == null || authorization.isEmpty()) && (userId == null || userId.isEmpty())) {
+            return null;
+        }
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            byte[] digest = sha256.digest((authorization + "\n" + userId).getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static ThreadFactory daemon(String name) {
+        AtomicInteger count = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, name + "-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private record ProfileKey(String callerDigest, String teacherUserId) {
+    }
+
+    // user-service refused the lookup for this caller; says nothing about the teacher
+    private static class CallerRejectedException extends RuntimeException {
+        CallerRejectedException(String message) {
+            super(message);
+        }
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class TeacherProfile {
+        // Null when user-service has no profile for the teacher
+        private final TeacherResponseDto teacher;
+        private final UserResponseDto user;
+
+        static TeacherProfile missing() {
+            return new TeacherProfile(null, null);
+        }
+
+        public boolean isFound() {
+            return teacher != null;
+        }
+    }
+}
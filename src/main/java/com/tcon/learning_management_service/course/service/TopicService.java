@@ -7,7 +7,6 @@ import com.tcon.learning_management_service.course.repository.TopicRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -15,6 +14,7 @@ public class TopicService {
 
     private final TopicRepository topicRepository;
     private final SubjectRepository subjectRepository;
+    private final MasterDataCatalog masterData;
 
     public TopicDto create(TopicDto dto) {
         subjectRepository.findById(dto.getSubjectId())
@@ -26,12 +26,13 @@ public class TopicService {
                 .description(dto.getDescription())
                 .isActive(true)
                 .build();
-        return toDto(topicRepository.save(topic));
+        TopicDto saved = toDto(topicRepository.save(topic));
+        masterData.refresh();
+        return saved;
     }
 
     public List<TopicDto> getBySubject(String subjectId) {
-        return topicRepository.findBySubjectIdAndIsActiveTrue(subjectId)
-                .stream().map(this::toDto).collect(Collectors.toList());
+        return masterData.snapshot().activeTopics(subjectId);
     }
 
     public TopicDto update(String id, TopicDto dto) {
@@ -40,7 +41,9 @@ public class TopicService {
         if (dto.getName() != null) topic.setName(dto.getName());
         if (dto.getDescription() != null) topic.setDescription(dto.getDescription());
         if (dto.getIsActive() != null) topic.setIsActive(dto.getIsActive());
-        return toDto(topicRepository.save(topic));
+        TopicDto saved = toDto(topicRepository.save(topic));
+        masterData.refresh();
+        return saved;
     }
 
     public void delete(String id) {
@@ -48,6 +51,7 @@ public class TopicService {
                 .orElseThrow(() -> new IllegalArgumentException("Topic not found: " + id));
         topic.setIsActive(false);
         topicRepository.save(topic);
+        masterData.refresh();
     }
 
     private TopicDto toDto(Topic t) {
@@ -7,7 +7,10 @@ import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Component;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 @Slf4j
@@ -131,6 +134,68 @@ public class BookingEventPublisher {
         }
     }
 
+    /**
+     * One event for every booking cancelled because its session was cancelled.
+     */
+    public void publishBookingsCancelled(Collection<String> sessionIds, List<Booking> bookings) {
+        try {
+            List<Map<String, Object>> items = new ArrayList<>(bookings.size());
+            for (Booking booking : bookings) {
+                Map<String, Object> item = new HashMap<>();
+                item.put("bookingId", booking.getId());
+                item.put("sessionId", booking.getSessionId());
+                item.put("studentId", booking.getStudentId());
+                item.put("teacherId", booking.getTeacherId());
+                item.put("parentId", booking.getParentId());
+                item.put("refundAmount", booking.getRefundAmount());
+                items.add(item);
+            }
+
+            Map<String, Object> event = new HashMap<>();
+            event.put("eventType", "BOOKINGS_CANCELLED");
+            event.put("sessionIds", new ArrayList<>(sessionIds));
+            event.put("cancellationReason", bookings.get(0).getCancellationReason());
+            event.put("count", bookings.size());
+            event.put("bookings", items);
+            event.put("timestamp", java.time.Instant.now().toString());
+
+            kafkaTemplate.send(TOPIC, sessionIds.iterator().next(), event);
+            log.info("Published BOOKINGS_CANCELLED event for {} booking(s)", bookings.size());
+        } catch (Exception e) {
+            log.error("Failed to publish bookings cancelled event", e);
+        }
+    }
+
+    /**
+     * One event for every booking expired by a hold sweep, instead of one per booking.
+     */
+    public void publishBookingsExpired(String batchId, List<Booking> bookings) {
+        try {
+            List<Map<String, Object>> items = new ArrayList<>(bookings.size());
+            for (Booking booking : bookings) {
+                Map<String, Object> item = new HashMap<>();
+                item.put("bookingId", booking.getId());
+                item.put("sessionId", booking.getSessionId());
+                item.put("studentId", booking.getStudentId());
+                item.put("teacherId", booking.getTeacherId());
+                item.put("parentId", booking.getParentId());
+                items.add(item);
+            }
+
+            Map<String, Object> event = new HashMap<>();
+            event.put("eventType", "BOOKINGS_EXPIRED");
+            event.put("batchId", batchId);
+            event.put("count", bookings.size());
+            event.put("bookings", items);
+            event.put("timestamp", java.time.Instant.now().toString());
+
+            kafkaTemplate.send(TOPIC, batchId, event);
+            log.info("Published BOOKINGS_EXPIRED event for {} booking(s), batch {}", bookings.size(), batchId);
+        } catch (Exception e) {
+            log.error("Failed to publish bookings expired event", e);
+        }
+    }
+
     @lombok.Data
     @lombok.Builder
     @lombok.NoArgsConstructor
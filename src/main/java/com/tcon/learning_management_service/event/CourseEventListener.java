@@ -1,21 +1,20 @@
 package com.tcon.learning_management_service.event;
 
+import com.tcon.learning_management_service.availability.service.TeacherBusyIndex;
+import com.tcon.learning_management_service.booking.service.CancellationService;
 import com.tcon.learning_management_service.course.entity.Course;
-import com.tcon.learning_management_service.course.entity.CourseSchedule;
 import com.tcon.learning_management_service.course.repository.CourseRepository;
 import com.tcon.learning_management_service.session.entity.ClassSession;
 import com.tcon.learning_management_service.session.entity.ClassStatus;
-import com.tcon.learning_management_service.session.entity.SessionType;
 import com.tcon.learning_management_service.session.repository.ClassSessionRepository;
+import com.tcon.learning_management_service.session.service.SessionRecurrenceExpander;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.time.DayOfWeek;
 import java.time.LocalDateTime;
-import java.time.LocalTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
@@ -28,6 +27,9 @@ public class CourseEventListener {
     private final CourseRepository courseRepository;
     private final ClassSessionRepository sessionRepository;
     private final SessionEventPublisher sessionEventPublisher;
+    private final TeacherBusyIndex busyIndex;
+    private final CancellationService cancellationService;
+    private final SessionRecurrenceExpander recurrenceExpander;
 
     @KafkaListener(topics = "course-events", groupId = "learning-management-service")
     @Transactional
@@ -55,16 +57,11 @@ public class CourseEventListener {
             Course course = courseRepository.findById(courseId)
                     .orElseThrow(() -> new IllegalArgumentException("Course not found: " + courseId));
 
-            // Auto-generate sessions based on course schedule
-            List<ClassSession> sessions = generateSessionsForCourse(course);
+            // Auto-generate sessions based on course schedule; safe to redeliver
+            List<ClassSession> sessions = recurrenceExpander.generate(course);
 
             log.info("✅ Generated {} sessions for course: {}", sessions.size(), courseId);
 
-            // Publish SESSION_CREATED event for each session
-            for (ClassSession session : sessions) {
-                sessionEventPublisher.publishSessionCreated(session);
-            }
-
         } catch (Exception e) {
             log.error("❌ Failed to generate sessions for course: {}", courseId, e);
         }
@@ -76,6 +73,7 @@ public class CourseEventListener {
 
         try {
             List<ClassSession> sessions = sessionRepository.findByCourseId(courseId);
+            List<String> cancelledIds = new ArrayList<>();
 
             LocalDateTime now = LocalDateTime.now();
             for (ClassSession session : sessions) {
@@ -85,84 +83,20 @@ public class CourseEventListener {
                     session.setStatus(ClassStatus.CANCELLED);
                     session.setCancellationReason("Course deleted by teacher");
                     sessionRepository.save(session);
+                    busyIndex.release(session.getTeacherId(), TeacherBusyIndex.sessionKey(session.getId()));
+                    cancelledIds.add(session.getId());
 
                     sessionEventPublisher.publishSessionCancelled(session);
                 }
             }
 
-            log.info("✅ Cancelled {} future sessions for deleted course", sessions.size());
+            // Cancel and refund the bookings of every cancelled session in one pass
+            cancellationService.cancelBookingsForSessions(cancelledIds, "Course deleted by teacher", "system");
+
+            log.info("✅ Cancelled {} future sessions for deleted course", cancelledIds.size());
 
         } catch (Exception e) {
             log.error("❌ Failed to cancel sessions for deleted course: {}", courseId, e);
         }
     }
-
-    private List<ClassSession> generateSessionsForCourse(Course course) {
-        log.info("🔨 Generating sessions for course: {}", course.getTitle());
-        log.info("📅 Schedule: {}", course.getSchedule());
-        log.info("📊 Total sessions: {}", course.getTotalSessions());
-
-        List<ClassSession> sessions = new ArrayList<>();
-
-        // ✅ FIXED: Get CourseSchedule object directly
-        CourseSchedule schedule = course.getSchedule();
-
-        if (schedule == null || schedule.getDaysOfWeek() == null || schedule.getDaysOfWeek().isEmpty()) {
-            log.warn("⚠️ No schedule found for course: {}", course.getId());
-            return sessions;
-        }
-
-        List<DayOfWeek> daysOfWeek = schedule.getDaysOfWeek();
-        LocalTime startTime = schedule.getStartTime() != null ? schedule.getStartTime() : LocalTime.of(10, 0);
-        LocalTime endTime = schedule.getEndTime() != null ? schedule.getEndTime() : LocalTime.of(11, 0);
-
-        LocalDateTime currentDate = course.getStartDate().atTime(startTime);
-        LocalDateTime endDate = course.getEndDate().atTime(23, 59);
-
-        int sessionCount = 0;
-        int maxSessions = course.getTotalSessions();
-
-        while (sessionCount < maxSessions && currentDate.isBefore(endDate)) {
-
-            if (daysOfWeek.contains(currentDate.getDayOfWeek())) {
-
-                LocalDateTime sessionStart = currentDate;
-                LocalDateTime sessionEnd = currentDate.withHour(endTime.getHour())
-                        .withMinute(endTime.getMinute());
-
-                int durationMinutes = (int) java.time.Duration.between(sessionStart, sessionEnd).toMinutes();
-
-                ClassSession session = ClassSession.builder()
-                        .sessionType(SessionType.REGULAR)  // ✅ FIXED: Use REGULAR instead of GROUP
-                        .courseId(course.getId())
-                        .teacherId(course.getTeacherId())
-                        .teacherName("")
-                        .title(course.getTitle() + " - Session " + (sessionCount + 1))
-                        .description("Group session for " + course.getTitle())
-                        .status(ClassStatus.SCHEDULED)
-                        .scheduledStartTime(sessionStart)
-                        .scheduledEndTime(sessionEnd)
-                        .durationMinutes(durationMinutes)
-                        .maxParticipants(course.getMaxStudents())
-                        .participants(new ArrayList<>())
-                        .attendedCount(0)
-                        .materialUrls(new ArrayList<>())
-                        .reminderSent(false)
-                        .createdBy(course.getTeacherId())
-                        .build();
-
-                ClassSession saved = sessionRepository.save(session);
-                sessions.add(saved);
-
-                sessionCount++;
-
-                log.info("✅ Created session {}/{}: {} at {}",
-                        sessionCount, maxSessions, saved.getId(), sessionStart);
-            }
-
-            currentDate = currentDate.plusDays(1);
-        }
-
-        return sessions;
-    }
-}
\ No newline at end of file
+}
@@ -2,6 +2,7 @@ package com.tcon.learning_management_service.event;
 
 
 import com.tcon.learning_management_service.course.entity.Course;
+import com.tcon.learning_management_service.course.service.CourseSearchCache;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.kafka.core.KafkaTemplate;
@@ -13,9 +14,11 @@ import org.springframework.stereotype.Component;
 public class CourseEventPublisher {
 
     private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final CourseSearchCache searchCache;
     private static final String TOPIC = "course-events";
 
     public void publishCourseCreated(Course course) {
+        searchCache.evict(course);
         try {
             CourseEvent event = CourseEvent.builder()
                     .eventType("COURSE_CREATED")
@@ -33,6 +36,7 @@ public class CourseEventPublisher {
     }
 
     public void publishCourseUpdated(Course course) {
+        searchCache.evict(course);
         try {
             CourseEvent event = CourseEvent.builder()
                     .eventType("COURSE_UPDATED")
@@ -50,6 +54,7 @@ public class CourseEventPublisher {
     }
 
     public void publishCoursePublished(Course course) {
+        searchCache.evict(course);
         try {
             CourseEvent event = CourseEvent.builder()
                     .eventType("COURSE_PUBLISHED")
@@ -66,7 +71,26 @@ public class CourseEventPublisher {
         }
     }
 
+    public void publishCourseUnpublished(Course course) {
+        searchCache.evict(course);
+        try {
+            CourseEvent event = CourseEvent.builder()
+                    .eventType("COURSE_UNPUBLISHED")
+                    .courseId(course.getId())
+                    .teacherId(course.getTeacherId())
+                    .title(course.getTitle())
+                    .timestamp(java.time.LocalDateTime.now())
+                    .build();
+
+            kafkaTemplate.send(TOPIC, course.getId(), event);
+            log.info("Published course unpublished event: {}", course.getId());
+        } catch (Exception e) {
+            log.error("Failed to publish course unpublished event", e);
+        }
+    }
+
     public void publishCourseDeleted(String courseId) {
+        searchCache.evict(courseId);
         try {
             CourseEvent event = CourseEvent.builder()
                     .eventType("COURSE_DELETED")
@@ -82,6 +106,8 @@ public class CourseEventPublisher {
     }
 
     public void publishStudentEnrolled(String courseId, String studentId, String studentName) {
+        // Cached pages carry the enrolment count
+        searchCache.evict(courseId);
         try {
             CourseEvent event = CourseEvent.builder()
                     .eventType("STUDENT_ENROLLED")
@@ -99,6 +125,7 @@ public class CourseEventPublisher {
     }
 
     public void publishStudentUnenrolled(String courseId, String studentId) {
+        searchCache.evict(courseId);
         try {
             CourseEvent event = CourseEvent.builder()
                     .eventType("STUDENT_UNENROLLED")
@@ -1,14 +1,19 @@
 package com.tcon.learning_management_service.event;
+import com.tcon.learning_management_service.booking.entity.Booking;
 import com.tcon.learning_management_service.demo.entity.DemoClass;
 import com.tcon.learning_management_service.session.entity.ClassSession;
+import com.tcon.learning_management_service.session.entity.SessionSeries;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Component;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 @Slf4j
 @Component
@@ -60,6 +65,39 @@ public class SessionEventPublisher {
     }
 
 
+    /**
+     * One event for a batch of sessions generated together, e.g. from a course schedule.
+     */
+    public void publishSessionsCreated(String courseId, String teacherId, List<ClassSession> sessions) {
+        try {
+            List<Map<String, Object>> items = new ArrayList<>(sessions.size());
+            for (ClassSession session : sessions) {
+                Map<String, Object> item = new HashMap<>();
+                item.put("sessionId", session.getId());
+                item.put("scheduledStartTime", session.getScheduledStartTime().toString());
+                item.put("scheduledEndTime", session.getScheduledEndTime().toString());
+                items.add(item);
+            }
+
+            ClassSession first = sessions.get(0);
+            Map<String, Object> event = new HashMap<>();
+            event.put("eventType", "SESSIONS_CREATED");
+            event.put("courseId", courseId);
+            event.put("teacherId", teacherId);
+            event.put("sessionType", first.getSessionType().toString());
+            event.put("durationMinutes", first.getDurationMinutes());
+            event.put("maxParticipants", first.getMaxParticipants());
+            event.put("count", sessions.size());
+            event.put("sessions", items);
+            event.put("timestamp", LocalDateTime.now().toString());
+
+            kafkaTemplate.send(TOPIC, courseId, event);
+            log.info("📤 Published SESSIONS_CREATED event for {} session(s) of course {}", sessions.size(), courseId);
+        } catch (Exception e) {
+            log.error("❌ Failed to publish sessions created event", e);
+        }
+    }
+
     public void publishSessionStarted(ClassSession session) {
         try {
             SessionEvent event = SessionEvent.builder()
@@ -149,6 +187,94 @@ public class SessionEventPublisher {
         }
     }
 
+    /**
+     * Send SESSION_REMINDER events for a batch of sessions and complete once Kafka has
+     * acknowledged all of them, so the caller only marks reminders sent on success.
+     */
+    public CompletableFuture<Void> publishSessionReminders(List<ClassSession> sessions) {
+        List<CompletableFuture<?>> sends = new ArrayList<>(sessions.size());
+        for (ClassSession session : sessions) {
+            SessionEvent event = SessionEvent.builder()
+                    .eventType("SESSION_REMINDER")
+                    .sessionId(session.getId())
+                    .courseId(session.getCourseId())
+                    .teacherId(session.getTeacherId())
+                    .scheduledStartTime(session.getScheduledStartTime())
+                    .timestamp(LocalDateTime.now())
+                    .build();
+            sends.add(kafkaTemplate.send(TOPIC, session.getId(), event));
+        }
+        log.info("Publishing {} session reminder events", sessions.size());
+        return CompletableFuture.allOf(sends.toArray(new CompletableFuture[0]));
+    }
+
+    /**
+     * One event for every session (and linked booking) a no-show sweep marked.
+     */
+    public void publishSessionsNoShow(String batchId, List<ClassSession> sessions, List<Booking> bookings) {
+        try {
+            List<Map<String, Object>> sessionItems = new ArrayList<>(sessions.size());
+            for (ClassSession session : sessions) {
+                Map<String, Object> item = new HashMap<>();
+                item.put("sessionId", session.getId());
+                item.put("courseId", session.getCourseId());
+                item.put("teacherId", session.getTeacherId());
+                item.put("studentId", session.getStudentId());
+                item.put("scheduledStartTime", session.getScheduledStartTime().toString());
+                sessionItems.add(item);
+            }
+
+            List<Map<String, Object>> bookingItems = new ArrayList<>(bookings.size());
+            for (Booking booking : bookings) {
+                Map<String, Object> item = new HashMap<>();
+                item.put("bookingId", booking.getId());
+                item.put("sessionId", booking.getSessionId());
+                item.put("studentId", booking.getStudentId());
+                item.put("parentId", booking.getParentId());
+                bookingItems.add(item);
+            }
+
+            Map<String, Object> event = new HashMap<>();
+            event.put("eventType", "SESSIONS_NO_SHOW");
+            event.put("batchId", batchId);
+            event.put("count", sessions.size());
+            event.put("sessions", sessionItems);
+            event.put("bookings", bookingItems);
+            event.put("timestamp", LocalDateTime.now().toString());
+
+            kafkaTemplate.send(TOPIC, batchId, event);
+            log.info("Published SESSIONS_NO_SHOW event for {} session(s), batch {}", sessions.size(), batchId);
+        } catch (Exception e) {
+            log.error("Failed to publish sessions no-show event", e);
+        }
+    }
+
+    /**
+     * One event for a series-wide change (SESSION_SERIES_CANCELLED or
+     * SESSION_SERIES_RESCHEDULED) covering every occurrence it touched.
+     */
+    public void publishSeriesChanged(String eventType, SessionSeries series, List<String> sessionIds,
+                                     String reason) {
+        try {
+            Map<String, Object> event = new HashMap<>();
+            event.put("eventType", eventType);
+            event.put("seriesId", series.getId());
+            event.put("courseId", series.getCourseId());
+            event.put("teacherId", series.getTeacherId());
+            event.put("startTime", series.getStartTime().toString());
+            event.put("durationMinutes", series.getDurationMinutes());
+            event.put("reason", reason);
+            event.put("count", sessionIds.size());
+            event.put("sessionIds", sessionIds);
+            event.put("timestamp", LocalDateTime.now().toString());
+
+            kafkaTemplate.send(TOPIC, series.getId(), event);
+            log.info("Published {} event for {} session(s) of series {}", eventType, sessionIds.size(), series.getId());
+        } catch (Exception e) {
+            log.error("Failed to publish series event {}", eventType, e);
+        }
+    }
+
     public void publishDemoClassScheduled(DemoClass demo) {
         try {
             SessionEvent event = SessionEvent.builder()
@@ -0,0 +1,49 @@
+package com.tcon.learning_management_service.idempotency.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+/**
+ * Outcome of a POST sent with an Idempotency-Key, keyed by scope, user and key.
+ * The record is inserted as IN_PROGRESS before the request runs, so concurrent
+ * retries collide on _id, and is removed by the TTL index once expiresAt passes.
+ * An IN_PROGRESS record only holds a short lease, so a crashed request frees its key.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "idempotency_records")
+public class IdempotencyRecord {
+
+    @Id
+    private String id;
+
+    // SHA-256 of the request body, to catch a key reused for a different request
+    private String requestHash;
+
+    private Status status;
+
+    // Identifies the request holding an IN_PROGRESS claim, so only it releases the key
+    private String claimId;
+
+    private Integer responseStatus;
+    private String responseBody;
+
+    private LocalDateTime createdAt;
+
+    @Indexed(name = "idempotency_ttl_idx", expireAfter = "0s")
+    private LocalDateTime expiresAt;
+
+    public enum Status {
+        IN_PROGRESS,
+        COMPLETED
+    }
+}
@@ -0,0 +1,9 @@
+package com.tcon.learning_management_service.idempotency.repository;
+
+import com.tcon.learning_management_service.idempotency.entity.IdempotencyRecord;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface IdempotencyRecordRepository extends MongoRepository<IdempotencyRecord, String> {
+}
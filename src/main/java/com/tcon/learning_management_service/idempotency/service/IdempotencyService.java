@@ -0,0 +1,213 @@
+package com.tcon.learning_management_service.idempotency.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.tcon.learning_management_service.idempotency.entity.IdempotencyRecord;
+import com.tcon.learning_management_service.idempotency.repository.IdempotencyRecordRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Runs a create request at most once per Idempotency-Key.
+ * The first request claims the key in Mongo and stores its successful response;
+ * retries get that response back without re-running the request. Completed
+ * records are also kept in a small in-process cache so hot retries skip Mongo.
+ * Failed requests release the key, so the client can retry them for real.
+ * The claim itself is a lease of {@code idempotency.in-progress-ttl}: if the process
+ * dies mid-request, a retry after the lease takes the key over instead of getting 409
+ * until the record expires. The lease should outlast the slowest request.
+ */
+@Slf4j
+@Service
+public class IdempotencyService {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private final IdempotencyRecordRepository recordRepository;
+    private final MongoTemplate mongoTemplate;
+    private final ObjectMapper objectMapper;
+    private final Cache<String, IdempotencyRecord> completed;
+    private final Duration ttl;
+    private final Duration inProgressTtl;
+
+    public IdempotencyService(IdempotencyRecordRepository recordRepository,
+                              MongoTemplate mongoTemplate,
+                              ObjectMapper objectMapper,
+                              @Value("${idempotency.ttl:PT24H}") Duration ttl,
+                              @Value("${idempotency.in-progress-ttl:PT1M}") Duration inProgressTtl,
+                              @Value("${idempotency.cache.max-size:10000}") long cacheMaxSize,
+                              @Value("${idempotency.cache.expire-after:PT10M}") Duration cacheExpireAfter) {
+        this.recordRepository = recordRepository;
+        this.mongoTemplate = mongoTemplate;
+        this.objectMapper = objectMapper;
+        this.ttl = ttl;
+        this.inProgressTtl = inProgressTtl;
+        this.completed = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfterWrite(cacheExpireAfter.compareTo(ttl) < 0 ? cacheExpireAfter : ttl)
+                .build();
+    }
+
+    /**
+     * Run action once for (scope, userId, idempotencyKey). Without a key the action
+     * simply runs, so clients that do not send the header behave as before.
+     *
+     * @param scope   endpoint the key belongs to, e.g. "booking" or "course-enroll:<courseId>"
+     * @param request request body, hashed to detect a key reused for a different request
+     */
+    public ResponseEntity<?> execute(String scope, String userId, String idempotencyKey,
+                                     Object request, Supplier<ResponseEntity<?>> action) {
+        if (idempotencyKey == null || idempotencyKey.isBlank()) {
+            return action.get();
+        }
+
+        String id = scope + ":" + userId + ":" + idempotencyKey;
+        String requestHash = hash(request);
+
+        IdempotencyRecord cached = completed.getIfPresent(id);
+        if (cached != null) {
+            return replay(cached, requestHash);
+        }
+
+        String claimId = UUID.randomUUID().toString();
+        if (!claim(id, requestHash, claimId) && !takeOverLapsedClaim(id, requestHash, claimId)) {
+            IdempotencyRecord existing = recordRepository.findById(id).orElse(null);
+            if (existing == null) {
+                // Expired between the insert and the read: treat as a fresh key
+                return execute(scope, userId, idempotencyKey, request, action);
+            }
+            if (existing.getStatus() == IdempotencyRecord.Status.COMPLETED) {
+                completed.put(id, existing);
+            }
+            return replay(existing, requestHash);
+        }
+
+        ResponseEntity<?> response;
+        try {
+            response = action.get();
+        } catch (RuntimeException e) {
+            release(id, claimId);
+            throw e;
+        }
+
+        if (!response.getStatusCode().is2xxSuccessful()) {
+            release(id, claimId);
+            return response;
+        }
+
+        try {
+            IdempotencyRecord record = IdempotencyRecord.builder()
+                    .id(id)
+                    .requestHash(requestHash)
+                    .status(IdempotencyRecord.Status.COMPLETED)
+                    .responseStatus(response.getStatusCode().value())
+                    .responseBody(objectMapper.writeValueAsString(response.getBody()))
+                    .createdAt(LocalDateTime.now())
+                    .expiresAt(LocalDateTime.now().plus(ttl))
+                    .build();
+            recordRepository.save(record);
+            completed.put(id, record);
+        } catch (JsonProcessingException | RuntimeException e) {
+            // The request itself succeeded; only replay is lost
+            log.error("Failed to store idempotent response for {}: {}", id, e.getMessage());
+            release(id, claimId);
+        }
+        return response;
+    }
+
+    private boolean claim(String id, String requestHash, String claimId) {
+        try {
+            recordRepository.insert(IdempotencyRecord.builder()
+                    .id(id)
+                    .requestHash(requestHash)
+                    .status(IdempotencyRecord.Status.IN_PROGRESS)
+                    .claimId(claimId)
+                    .createdAt(LocalDateTime.now())
+                    .expiresAt(LocalDateTime.now().plus(inProgressTtl))
+                    .build());
+            return true;
+        } catch (DuplicateKeyException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Take over an IN_PROGRESS claim whose lease has passed, e.g. because its request
+     * died with the process. Completed records are never taken over.
+     */
+    private boolean takeOverLapsedClaim(String id, String requestHash, String claimId) {
+        LocalDateTime now = LocalDateTime.now();
+        Query lapsed = new Query(Criteria.where("_id").is(id)
+                .and("status").is(IdempotencyRecord.Status.IN_PROGRESS)
+                .and("expiresAt").lte(now));
+        Update update = new Update()
+                .set("requestHash", requestHash)
+                .set("claimId", claimId)
+                .set("createdAt", now)
+                .set("expiresAt", now.plus(inProgressTtl));
+
+        IdempotencyRecord taken = mongoTemplate.findAndModify(lapsed, update,
+                FindAndModifyOptions.options().returnNew(true), IdempotencyRecord.class);
+        if (taken != null) {
+            log.warn("Took over lapsed idempotency claim {}", id);
+        }
+        return taken != null;
+    }
+
+    // Free the key, unless the claim has lapsed and another request now holds it
+    private void release(String id, String claimId) {
+        mongoTemplate.remove(new Query(Criteria.where("_id").is(id)
+                .and("status").is(IdempotencyRecord.Status.IN_PROGRESS)
+                .and("claimId").is(claimId)), IdempotencyRecord.class);
+    }
+
+    private ResponseEntity<?> replay(IdempotencyRecord record, String requestHash) {
+        if (!record.getRequestHash().equals(requestHash)) {
+            return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY).body(
+                    Map.of("error", HEADER + " was already used for a different request"));
+        }
+        if (record.getStatus() != IdempotencyRecord.Status.COMPLETED) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(
+                    Map.of("error", "A request with this " + HEADER + " is still being processed"));
+        }
+
+        log.info("Replaying stored response for {}", record.getId());
+        return ResponseEntity.status(record.getResponseStatus())
+                .header(REPLAYED_HEADER, "true")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(record.getResponseBody());
+    }
+
+    private String hash(Object request) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] body = objectMapper.writeValueAsString(request).getBytes(StandardCharsets.UTF_8);
+            return HexFormat.of().formatHex(digest.digest(body));
+        } catch (NoSuchAlgorithmException | JsonProcessingException e) {
+            throw new IllegalStateException("Cannot hash request", e);
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.tcon.learning_management_service.migration;
+
+/**
+ * A one-off change to existing data, applied once per database by
+ * {@link DataMigrationRunner} before the application starts serving.
+ * Migrations must be idempotent: a run that dies midway is finished by the next start.
+ */
+public interface DataMigration {
+
+    /**
+     * Stable id, recorded in data_migrations once the migration has completed.
+     */
+    String id();
+
+    /**
+     * Apply the migration.
+     *
+     * @param checkpoint to call between chunks of work; renews the migration's lease
+     *                   and throws if another instance has taken it over
+     */
+    void migrate(Runnable checkpoint);
+}
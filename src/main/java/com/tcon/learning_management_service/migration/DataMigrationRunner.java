@@ -0,0 +1,104 @@
+package com.tcon.learning_management_service.migration;
+
+import com.tcon.learning_management_service.booking.service.BookingLockService;
+import com.tcon.learning_management_service.migration.entity.AppliedMigration;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Applies pending {@link DataMigration}s, in @Order, while the application starts and
+ * before it reports itself ready, so new code never reads data in its old shape.
+ * One instance applies a migration at a time under a lease lock; the others wait for
+ * it and then find it recorded. A migration that fails stops startup, and the next
+ * start resumes it. An unreachable cluster skips the migrations, as index creation does.
+ */
+@Slf4j
+@Component
+public class DataMigrationRunner implements ApplicationRunner {
+
+    private final MongoTemplate mongoTemplate;
+    private final BookingLockService lockService;
+    private final List<DataMigration> migrations;
+    private final boolean enabled;
+    private final Duration lockWait;
+    private final String ownerId = UUID.randomUUID().toString();
+
+    public DataMigrationRunner(MongoTemplate mongoTemplate,
+                               BookingLockService lockService,
+                               List<DataMigration> migrations,
+                               @Value("${migrations.enabled:true}") boolean enabled,
+                               @Value("${migrations.lock-wait:PT10M}") Duration lockWait) {
+        this.mongoTemplate = mongoTemplate;
+        this.lockService = lockService;
+        this.migrations = migrations;
+        this.enabled = enabled;
+        this.lockWait = lockWait;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled) {
+            return;
+        }
+        try {
+            migrations.forEach(this::apply);
+        } catch (DataAccessResourceFailureException e) {
+            log.error("MongoDB unreachable, skipping data migrations: {}", e.getMessage());
+        }
+    }
+
+    private void apply(DataMigration migration) {
+        if (isApplied(migration.id())) {
+            return;
+        }
+
+        String lockKey = "migration:" + migration.id();
+        if (lockService.tryAcquire(lockKey, ownerId, lockWait).isEmpty()) {
+            throw new IllegalStateException("Data migration " + migration.id()
+                    + " is still running on another instance");
+        }
+
+        try {
+            // Another instance may have finished it while we waited for the lease
+            if (isApplied(migration.id())) {
+                return;
+            }
+
+            log.info("Applying data migration {}", migration.id());
+            long startNanos = System.nanoTime();
+            migration.migrate(() -> renew(lockKey, migration.id()));
+            long durationMillis = Duration.ofNanos(System.nanoTime() - startNanos).toMillis();
+
+            mongoTemplate.insert(AppliedMigration.builder()
+                    .id(migration.id())
+                    .appliedAt(LocalDateTime.now())
+                    .durationMillis(durationMillis)
+                    .build());
+            log.info("Data migration {} applied in {} ms", migration.id(), durationMillis);
+
+        } finally {
+            lockService.releaseLock(lockKey, ownerId);
+        }
+    }
+
+    private boolean isApplied(String id) {
+        return mongoTemplate.findById(id, AppliedMigration.class) != null;
+    }
+
+    // Re-acquiring a lease we hold extends it; failing means it expired and was taken
+    private void renew(String lockKey, String id) {
+        if (lockService.tryAcquire(lockKey, ownerId, Duration.ZERO).isEmpty()) {
+            throw new IllegalStateException("Lost the lease for data migration " + id);
+        }
+    }
+}
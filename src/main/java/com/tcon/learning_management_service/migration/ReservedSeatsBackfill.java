@@ -0,0 +1,102 @@
+package com.tcon.learning_management_service.migration;
+
+import com.tcon.learning_management_service.booking.entity.Booking;
+import com.tcon.learning_management_service.booking.entity.BookingStatus;
+import com.tcon.learning_management_service.session.entity.ClassSession;
+import com.tcon.learning_management_service.session.entity.ClassStatus;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Seeds reservedSeats / reservedStudentIds on scheduled sessions created before seat
+ * counting, from the bookings that hold a seat in them. Sessions that already carry
+ * the fields are left alone, so re-runs and live reservations are never overwritten.
+ */
+@Slf4j
+@Component
+@Order(1)
+public class ReservedSeatsBackfill implements DataMigration {
+
+    private static final List<BookingStatus> HOLDING_SEAT = List.of(
+            BookingStatus.PENDING, BookingStatus.PENDING_PAYMENT, BookingStatus.CONFIRMED);
+
+    private final MongoTemplate mongoTemplate;
+    private final int batchSize;
+
+    public ReservedSeatsBackfill(MongoTemplate mongoTemplate,
+                                 @Value("${migrations.batch-size:500}") int batchSize) {
+        this.mongoTemplate = mongoTemplate;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public String id() {
+        return "reserved-seats-backfill";
+    }
+
+    @Override
+    public void migrate(Runnable checkpoint) {
+        int seeded = 0;
+        String lastId = null;
+        while (true) {
+            Criteria criteria = Criteria.where("status").is(ClassStatus.SCHEDULED)
+                    .and("reservedStudentIds").exists(false);
+            if (lastId != null) {
+                criteria = criteria.and("_id").gt(lastId);
+            }
+            Query query = new Query(criteria).with(Sort.by(Sort.Direction.ASC, "_id")).limit(batchSize);
+            query.fields().include("_id");
+
+            List<String> sessionIds = mongoTemplate.find(query, ClassSession.class).stream()
+                    .map(ClassSession::getId)
+                    .toList();
+            if (sessionIds.isEmpty()) {
+                break;
+            }
+
+            Map<String, Set<String>> holders = seatHolders(sessionIds);
+            BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, ClassSession.class);
+            for (String sessionId : sessionIds) {
+                List<String> studentIds = new ArrayList<>(holders.getOrDefault(sessionId, Set.of()));
+                bulk.updateOne(
+                        new Query(Criteria.where("_id").is(sessionId).and("reservedStudentIds").exists(false)),
+                        new Update().set("reservedStudentIds", studentIds).set("reservedSeats", studentIds.size()));
+            }
+            seeded += bulk.execute().getModifiedCount();
+
+            lastId = sessionIds.get(sessionIds.size() - 1);
+            checkpoint.run();
+        }
+        log.info("Seeded seat counters on {} session(s)", seeded);
+    }
+
+    // Students holding a seat in each session, from one read of their bookings
+    private Map<String, Set<String>> seatHolders(List<String> sessionIds) {
+        Query query = new Query(Criteria.where("sessionId").in(sessionIds).and("status").in(HOLDING_SEAT));
+        query.fields().include("sessionId", "studentId");
+
+        Map<String, Set<String>> holders = new HashMap<>();
+        for (Booking booking : mongoTemplate.find(query, Booking.class)) {
+            if (booking.getStudentId() != null) {
+                holders.computeIfAbsent(booking.getSessionId(), id -> new LinkedHashSet<>())
+                        .add(booking.getStudentId());
+            }
+        }
+        return holders;
+    }
+}
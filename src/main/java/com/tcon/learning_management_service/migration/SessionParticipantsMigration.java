@@ -0,0 +1,153 @@
+package com.tcon.learning_management_service.migration;
+
+import com.tcon.learning_management_service.session.entity.ClassSession;
+import com.tcon.learning_management_service.session.entity.SessionParticipant;
+import com.tcon.learning_management_service.session.repository.ClassSessionRepositoryCustom;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.ConditionalOperators;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Moves the roster embedded in session documents (the legacy {@code participants}
+ * array) into session_participants and seeds participantCount / attendedCount from it.
+ * Rows are upserted with setOnInsert, so attendance recorded since the split is never
+ * overwritten; the embedded array is only dropped once its rows exist. Covers both the
+ * live and the archive collection.
+ */
+@Slf4j
+@Component
+@Order(2)
+public class SessionParticipantsMigration implements DataMigration {
+
+    private static final String LEGACY_FIELD = "participants";
+    private static final List<String> LEGACY_PARTICIPANT_FIELDS = List.of(
+            "studentName", "studentEmail", "attended", "joinedAt", "leftAt",
+            "durationMinutes", "feedback", "rating");
+
+    private final MongoTemplate mongoTemplate;
+    private final int batchSize;
+
+    public SessionParticipantsMigration(MongoTemplate mongoTemplate,
+                                        @Value("${migrations.batch-size:500}") int batchSize) {
+        this.mongoTemplate = mongoTemplate;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public String id() {
+        return "session-participants-migration";
+    }
+
+    @Override
+    public void migrate(Runnable checkpoint) {
+        migrate(mongoTemplate.getCollectionName(ClassSession.class), checkpoint);
+        migrate(ClassSessionRepositoryCustom.ARCHIVE_COLLECTION, checkpoint);
+    }
+
+    private void migrate(String collection, Runnable checkpoint) {
+        int sessions = 0;
+        int participants = 0;
+        Object lastId = null;
+        while (true) {
+            Criteria criteria = new Criteria().orOperator(
+                    Criteria.where("participantCount").exists(false),
+                    Criteria.where(LEGACY_FIELD).exists(true));
+            if (lastId != null) {
+                criteria = new Criteria().andOperator(criteria, Criteria.where("_id").gt(lastId));
+            }
+            Query query = new Query(criteria).with(Sort.by(Sort.Direction.ASC, "_id")).limit(batchSize);
+            query.fields().include("_id", LEGACY_FIELD);
+
+            List<Document> chunk = mongoTemplate.find(query, Document.class, collection);
+            if (chunk.isEmpty()) {
+                break;
+            }
+
+            participants += copyParticipants(chunk);
+            Map<String, int[]> counts = rosterCounts(chunk.stream().map(this::sessionId).toList());
+
+            BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, collection);
+            for (Document session : chunk) {
+                int[] count = counts.getOrDefault(sessionId(session), new int[2]);
+                bulk.updateOne(
+                        new Query(Criteria.where("_id").is(session.get("_id"))),
+                        new Update().set("participantCount", count[0])
+                                .set("attendedCount", count[1])
+                                .unset(LEGACY_FIELD));
+            }
+            sessions += bulk.execute().getModifiedCount();
+
+            lastId = chunk.get(chunk.size() - 1).get("_id");
+            checkpoint.run();
+        }
+        log.info("Migrated {} participant(s) on {} session(s) in {}", participants, sessions, collection);
+    }
+
+    // Upserts every embedded participant; existing rows keep their fields
+    private int copyParticipants(List<Document> chunk) {
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, SessionParticipant.class);
+        LocalDateTime now = LocalDateTime.now();
+        int queued = 0;
+        for (Document session : chunk) {
+            List<Document> legacy = session.getList(LEGACY_FIELD, Document.class, List.of());
+            for (Document participant : legacy) {
+                String studentId = participant.getString("studentId");
+                if (studentId == null) {
+                    continue;
+                }
+                Update update = new Update()
+                        .setOnInsert("createdAt", now)
+                        .setOnInsert("updatedAt", now);
+                for (String field : LEGACY_PARTICIPANT_FIELDS) {
+                    if (participant.get(field) != null) {
+                        update.setOnInsert(field, participant.get(field));
+                    }
+                }
+                bulk.upsert(
+                        new Query(Criteria.where("sessionId").is(sessionId(session)).and("studentId").is(studentId)),
+                        update);
+                queued++;
+            }
+        }
+        if (queued > 0) {
+            bulk.execute();
+        }
+        return queued;
+    }
+
+    // participantCount / attendedCount per session, from one aggregation over the roster
+    private Map<String, int[]> rosterCounts(List<String> sessionIds) {
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.match(Criteria.where("sessionId").in(sessionIds)),
+                Aggregation.group("sessionId")
+                        .count().as("participants")
+                        .sum(ConditionalOperators.when(Criteria.where("attended").is(true)).then(1).otherwise(0))
+                        .as("attended"));
+
+        Map<String, int[]> counts = new HashMap<>();
+        for (Document row : mongoTemplate.aggregate(aggregation, SessionParticipant.class, Document.class)) {
+            counts.put(row.getString("_id"),
+                    new int[]{row.getInteger("participants", 0), row.getInteger("attended", 0)});
+        }
+        return counts;
+    }
+
+    private String sessionId(Document session) {
+        return session.get("_id").toString();
+    }
+}
@@ -0,0 +1,164 @@
+package com.tcon.learning_management_service.migration;
+
+import com.tcon.learning_management_service.booking.entity.Booking;
+import com.tcon.learning_management_service.booking.entity.BookingStatus;
+import com.tcon.learning_management_service.session.entity.ClassSession;
+import com.tcon.learning_management_service.session.entity.SessionParticipant;
+import com.tcon.learning_management_service.session.entity.StudentTimelineEntry;
+import com.tcon.learning_management_service.session.repository.ClassSessionRepository;
+import com.tcon.learning_management_service.session.repository.ClassSessionRepositoryCustom;
+import com.tcon.learning_management_service.session.service.StudentTimelineService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Builds student_session_timeline for sessions created before the timeline existed:
+ * one-on-one sessions from class_sessions (live and archived), rosters from
+ * session_participants and seat bookings from bookings. Writes go through
+ * {@link StudentTimelineService}, whose upserts are keyed on (studentId, sessionId),
+ * so re-runs and entries written since the deploy are left as they are.
+ * Runs after {@link SessionParticipantsMigration} so migrated rosters are included.
+ */
+@Slf4j
+@Component
+@Order(3)
+public class StudentTimelineBackfill implements DataMigration {
+
+    // Bookings whose student still has the session: seat held, or the class took place
+    private static final List<BookingStatus> ON_TIMELINE = List.of(
+            BookingStatus.PENDING, BookingStatus.PENDING_PAYMENT, BookingStatus.CONFIRMED,
+            BookingStatus.COMPLETED, BookingStatus.NO_SHOW);
+
+    private final MongoTemplate mongoTemplate;
+    private final ClassSessionRepository sessionRepository;
+    private final StudentTimelineService timelineService;
+    private final int batchSize;
+
+    public StudentTimelineBackfill(MongoTemplate mongoTemplate,
+                                   ClassSessionRepository sessionRepository,
+                                   StudentTimelineService timelineService,
+                                   @Value("${migrations.batch-size:500}") int batchSize) {
+        this.mongoTemplate = mongoTemplate;
+        this.sessionRepository = sessionRepository;
+        this.timelineService = timelineService;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public String id() {
+        return "student-timeline-backfill";
+    }
+
+    @Override
+    public void migrate(Runnable checkpoint) {
+        int oneOnOne = backfillOneOnOne(mongoTemplate.getCollectionName(ClassSession.class), checkpoint)
+                + backfillOneOnOne(ClassSessionRepositoryCustom.ARCHIVE_COLLECTION, checkpoint);
+        int rosters = backfillRosters(checkpoint);
+        int seats = backfillSeats(checkpoint);
+        log.info("Backfilled student timelines: {} one-on-one session(s), {} roster row(s), {} seat booking(s)",
+                oneOnOne, rosters, seats);
+    }
+
+    private int backfillOneOnOne(String collection, Runnable checkpoint) {
+        int added = 0;
+        String lastId = null;
+        while (true) {
+            Query query = pageQuery(Criteria.where("studentId").ne(null), lastId);
+            query.fields().include("_id", "studentId", "scheduledStartTime", "scheduledEndTime");
+            List<ClassSession> sessions = mongoTemplate.find(query, ClassSession.class, collection);
+            if (sessions.isEmpty()) {
+                return added;
+            }
+
+            timelineService.addAll(sessions, StudentTimelineEntry.Source.ONE_ON_ONE);
+            added += sessions.size();
+
+            lastId = sessions.get(sessions.size() - 1).getId();
+            checkpoint.run();
+        }
+    }
+
+    private int backfillRosters(Runnable checkpoint) {
+        int added = 0;
+        String lastId = null;
+        while (true) {
+            Query query = pageQuery(null, lastId);
+            query.fields().include("_id", "sessionId", "studentId");
+            List<SessionParticipant> participants = mongoTemplate.find(query, SessionParticipant.class);
+            if (participants.isEmpty()) {
+                return added;
+            }
+
+            Map<String, Set<String>> studentIdsBySession =
+                    groupBySession(participants, SessionParticipant::getSessionId, SessionParticipant::getStudentId);
+            for (ClassSession session : sessions(studentIdsBySession.keySet())) {
+                timelineService.recordAttendance(session, studentIdsBySession.get(session.getId()));
+            }
+            added += participants.size();
+
+            lastId = participants.get(participants.size() - 1).getId();
+            checkpoint.run();
+        }
+    }
+
+    private int backfillSeats(Runnable checkpoint) {
+        int added = 0;
+        String lastId = null;
+        while (true) {
+            Query query = pageQuery(Criteria.where("sessionId").ne(null).and("status").in(ON_TIMELINE), lastId);
+            query.fields().include("_id", "sessionId", "studentId");
+            List<Booking> bookings = mongoTemplate.find(query, Booking.class);
+            if (bookings.isEmpty()) {
+                return added;
+            }
+
+            Map<String, Set<String>> studentIdsBySession =
+                    groupBySession(bookings, Booking::getSessionId, Booking::getStudentId);
+            for (ClassSession session : sessions(studentIdsBySession.keySet())) {
+                for (String studentId : studentIdsBySession.get(session.getId())) {
+                    timelineService.add(session, studentId, StudentTimelineEntry.Source.BOOKING);
+                    added++;
+                }
+            }
+
+            lastId = bookings.get(bookings.size() - 1).getId();
+            checkpoint.run();
+        }
+    }
+
+    private Query pageQuery(Criteria criteria, String lastId) {
+        if (lastId != null) {
+            criteria = criteria == null ? Criteria.where("_id").gt(lastId) : criteria.and("_id").gt(lastId);
+        }
+        Query query = criteria == null ? new Query() : new Query(criteria);
+        return query.with(Sort.by(Sort.Direction.ASC, "_id")).limit(batchSize);
+    }
+
+    private List<ClassSession> sessions(Set<String> sessionIds) {
+        return sessionRepository.findAllByIdIncludingArchive(sessionIds);
+    }
+
+    private <T> Map<String, Set<String>> groupBySession(List<T> rows, Function<T, String> sessionId,
+                                                        Function<T, String> studentId) {
+        Map<String, Set<String>> grouped = new LinkedHashMap<>();
+        for (T row : rows) {
+            if (sessionId.apply(row) != null && studentId.apply(row) != null) {
+                grouped.computeIfAbsent(sessionId.apply(row), id -> new LinkedHashSet<>()).add(studentId.apply(row));
+            }
+        }
+        return grouped;
+    }
+}
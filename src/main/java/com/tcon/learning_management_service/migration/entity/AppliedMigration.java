@@ -0,0 +1,28 @@
+package com.tcon.learning_management_service.migration.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+/**
+ * Marker for a data migration that has run to completion on this database.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "data_migrations")
+public class AppliedMigration {
+
+    @Id
+    private String id;
+
+    private LocalDateTime appliedAt;
+
+    private Long durationMillis;
+}
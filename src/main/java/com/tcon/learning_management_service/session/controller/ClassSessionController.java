@@ -1,10 +1,14 @@
 package com.tcon.learning_management_service.session.controller;
 
+import com.tcon.learning_management_service.session.dto.BulkAttendanceRequest;
+import com.tcon.learning_management_service.session.dto.ParticipantPage;
 import com.tcon.learning_management_service.session.dto.SessionDto;
 import com.tcon.learning_management_service.session.dto.SessionRescheduleRequest;
 import com.tcon.learning_management_service.session.dto.SessionScheduleRequest;
+import com.tcon.learning_management_service.session.dto.SessionTimelinePage;
 import com.tcon.learning_management_service.session.service.ClassSessionService;
 import com.tcon.learning_management_service.session.service.NoShowHandlingService;
+import com.tcon.learning_management_service.session.service.SessionParticipantService;
 import com.tcon.learning_management_service.session.service.SessionRescheduleService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -27,6 +31,7 @@ public class ClassSessionController {
     private final ClassSessionService sessionService;
     private final SessionRescheduleService rescheduleService;
     private final NoShowHandlingService noShowService;
+    private final SessionParticipantService participantService;
 
     @PostMapping
     public ResponseEntity<SessionDto> scheduleSession(
@@ -61,6 +66,17 @@ public class ClassSessionController {
         return ResponseEntity.ok(sessions);
     }
 
+    @GetMapping("/student/{studentId}/page")
+    public ResponseEntity<SessionTimelinePage<SessionDto>> getStudentSessionsPage(
+            @PathVariable String studentId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        SessionTimelinePage<SessionDto> sessions = sessionService.getStudentSessionsPage(studentId, from, to, cursor, limit);
+        return ResponseEntity.ok(sessions);
+    }
+
     @GetMapping("/teacher/{teacherId}/range")
     public ResponseEntity<List<SessionDto>> getTeacherSessionsInRange(
             @PathVariable String teacherId,
@@ -121,6 +137,23 @@ public class ClassSessionController {
         return ResponseEntity.ok(session);
     }
 
+    @PostMapping("/{sessionId}/attendance/bulk")
+    public ResponseEntity<SessionDto> markBulkAttendance(
+            @PathVariable String sessionId,
+            @Valid @RequestBody BulkAttendanceRequest request) {
+        SessionDto session = sessionService.markRosterAttendance(sessionId, request.getAttendance());
+        return ResponseEntity.ok(session);
+    }
+
+    @GetMapping("/{sessionId}/participants")
+    public ResponseEntity<ParticipantPage> getParticipants(
+            @PathVariable String sessionId,
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) Integer limit) {
+        ParticipantPage page = participantService.getParticipants(sessionId, after, limit);
+        return ResponseEntity.ok(page);
+    }
+
     @PostMapping("/{sessionId}/recording")
     public ResponseEntity<SessionDto> addRecording(
             @PathVariable String sessionId,
@@ -0,0 +1,57 @@
+package com.tcon.learning_management_service.session.controller;
+
+import com.tcon.learning_management_service.session.dto.SeriesRescheduleRequest;
+import com.tcon.learning_management_service.session.dto.SessionSeriesDto;
+import com.tcon.learning_management_service.session.dto.SessionSeriesRequest;
+import com.tcon.learning_management_service.session.service.SessionSeriesService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/sessions/series")
+@RequiredArgsConstructor
+public class SessionSeriesController {
+
+    private final SessionSeriesService seriesService;
+
+    @PostMapping
+    public ResponseEntity<SessionSeriesDto> createSeries(
+            @RequestHeader("X-User-Id") String teacherId,
+            @Valid @RequestBody SessionSeriesRequest request) {
+        log.info("Scheduling session series for teacher: {}", teacherId);
+        SessionSeriesDto series = seriesService.createSeries(teacherId, request);
+        return ResponseEntity.status(HttpStatus.CREATED).body(series);
+    }
+
+    @GetMapping("/{seriesId}")
+    public ResponseEntity<SessionSeriesDto> getSeries(@PathVariable String seriesId) {
+        SessionSeriesDto series = seriesService.getSeries(seriesId);
+        return ResponseEntity.ok(series);
+    }
+
+    @PostMapping("/{seriesId}/cancel")
+    public ResponseEntity<SessionSeriesDto> cancelSeries(
+            @PathVariable String seriesId,
+            @RequestHeader("X-User-Id") String teacherId,
+            @RequestBody Map<String, String> requestBody) {
+        String reason = requestBody.get("reason");
+        SessionSeriesDto series = seriesService.cancelSeries(seriesId, teacherId, reason);
+        return ResponseEntity.ok(series);
+    }
+
+    @PostMapping("/{seriesId}/reschedule")
+    public ResponseEntity<SessionSeriesDto> rescheduleSeries(
+            @PathVariable String seriesId,
+            @RequestHeader("X-User-Id") String teacherId,
+            @Valid @RequestBody SeriesRescheduleRequest request) {
+        SessionSeriesDto series = seriesService.rescheduleSeries(seriesId, teacherId, request);
+        return ResponseEntity.ok(series);
+    }
+}
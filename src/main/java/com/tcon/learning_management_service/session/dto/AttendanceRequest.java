@@ -0,0 +1,24 @@
+package com.tcon.learning_management_service.session.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AttendanceRequest {
+
+    @NotBlank(message = "Student ID is required")
+    private String studentId;
+
+    private String studentName;
+    private String studentEmail;
+
+    @NotNull(message = "Attended flag is required")
+    private Boolean attended;
+}
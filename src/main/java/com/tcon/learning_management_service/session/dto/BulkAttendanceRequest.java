@@ -0,0 +1,20 @@
+package com.tcon.learning_management_service.session.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkAttendanceRequest {
+
+    @NotEmpty(message = "At least one attendance entry is required")
+    private List<@Valid AttendanceRequest> attendance;
+}
@@ -0,0 +1,25 @@
+package com.tcon.learning_management_service.session.dto;
+
+import com.tcon.learning_management_service.session.entity.SessionParticipant;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One page of a session's roster, ordered by student id. Pass nextCursor back as
+ * "after" to fetch the following page; it is null on the last page.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ParticipantPage {
+
+    private List<SessionParticipant> items;
+    private String nextCursor;
+    private boolean hasMore;
+    private int size;
+}
@@ -0,0 +1,28 @@
+package com.tcon.learning_management_service.session.dto;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SeriesRescheduleRequest {
+
+    @NotNull(message = "New start time is required")
+    private LocalTime newStartTime;
+
+    // Keeps the series' current duration when omitted
+    @Min(value = 15, message = "Duration must be at least 15 minutes")
+    private Integer durationMinutes;
+
+    @NotBlank(message = "Reschedule reason is required")
+    private String reason;
+}
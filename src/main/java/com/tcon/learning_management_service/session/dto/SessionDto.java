@@ -2,7 +2,6 @@ package com.tcon.learning_management_service.session.dto;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
 import com.tcon.learning_management_service.session.entity.ClassStatus;
-import com.tcon.learning_management_service.session.entity.SessionParticipant;
 import com.tcon.learning_management_service.session.entity.SessionType;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -42,7 +41,7 @@ public class SessionDto {
     private String meetingUrl;
     private String meetingId;
     private String meetingPassword;
-    private List<SessionParticipant> participants;
+    private Integer participantCount;
     private Integer maxParticipants;
     private Integer attendedCount;
     private String recordingUrl;
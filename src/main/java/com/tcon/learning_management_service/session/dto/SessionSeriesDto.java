@@ -0,0 +1,41 @@
+package com.tcon.learning_management_service.session.dto;
+
+import com.tcon.learning_management_service.session.entity.SessionSeries;
+import com.tcon.learning_management_service.session.entity.SessionType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SessionSeriesDto {
+    private String id;
+    private String teacherId;
+    private String courseId;
+    private String title;
+    private String description;
+    private SessionType sessionType;
+    private List<DayOfWeek> daysOfWeek;
+    private LocalTime startTime;
+    private Integer durationMinutes;
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private Integer maxParticipants;
+    private SessionSeries.Status status;
+    private Integer sessionCount;
+    private String cancellationReason;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+
+    // Ids of the occurrences touched by the request, in start-time order
+    private List<String> sessionIds;
+}
@@ -0,0 +1,62 @@
+package com.tcon.learning_management_service.session.dto;
+
+import com.tcon.learning_management_service.session.entity.SessionType;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SessionSeriesRequest {
+
+    @NotBlank(message = "Course ID is required")
+    private String courseId;
+
+    @NotBlank(message = "Title is required")
+    private String title;
+
+    private String description;
+
+    @Builder.Default
+    private SessionType sessionType = SessionType.REGULAR;
+
+    @NotEmpty(message = "At least one day of the week is required")
+    private List<DayOfWeek> daysOfWeek;
+
+    @NotNull(message = "Start time is required")
+    private LocalTime startTime;
+
+    @NotNull(message = "Duration is required")
+    @Min(value = 15, message = "Duration must be at least 15 minutes")
+    private Integer durationMinutes;
+
+    @NotNull(message = "Start date is required")
+    private LocalDate startDate;
+
+    @NotNull(message = "End date is required")
+    private LocalDate endDate;
+
+    // Stop after this many occurrences even if the end date is later
+    @Min(value = 1, message = "Occurrences must be at least 1")
+    @Max(value = 500, message = "Occurrences must be at most 500")
+    private Integer occurrences;
+
+    private String meetingUrl;
+    private String meetingId;
+    private String meetingPassword;
+
+    private Integer maxParticipants;
+}
@@ -7,6 +7,8 @@ import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
@@ -19,6 +21,13 @@ import java.util.List;
 @NoArgsConstructor
 @AllArgsConstructor
 @Document(collection = "class_sessions")
+@CompoundIndexes({
+        // Time-bounded status sweeps (no-show detection)
+        @CompoundIndex(name = "status_start_idx", def = "{'status': 1, 'scheduledStartTime': 1}"),
+        // Covered teacher conflict checks (see ClassSessionRepositoryImpl)
+        @CompoundIndex(name = "teacher_status_time_idx",
+                def = "{'teacherId': 1, 'status': 1, 'scheduledStartTime': 1, 'scheduledEndTime': 1, '_id': 1}")
+})
 public class ClassSession {
 
     @Id
@@ -60,10 +69,18 @@ public class ClassSession {
     private String meetingId;
     private String meetingPassword;
 
+    private Integer maxParticipants;
+
+    // Roster size; the roster itself lives in session_participants
     @Builder.Default
-    private List<SessionParticipant> participants = new ArrayList<>();
+    private Integer participantCount = 0;
 
-    private Integer maxParticipants;
+    // Seats held by active bookings; only changed through conditional $inc updates
+    @Builder.Default
+    private Integer reservedSeats = 0;
+
+    @Builder.Default
+    private List<String> reservedStudentIds = new ArrayList<>();
 
     @Builder.Default
     private Integer attendedCount = 0;
@@ -75,6 +92,14 @@ public class ClassSession {
 
     private String notes;
 
+    // Set on sessions created as part of a SessionSeries
+    @Indexed(sparse = true)
+    private String seriesId;
+
+    // Set on sessions generated from a course schedule: courseId#occurrence
+    @Indexed(unique = true, sparse = true)
+    private String recurrenceKey;
+
     // Rescheduling
     private String rescheduledFromId;
     private String rescheduledToId;
@@ -90,6 +115,15 @@ public class ClassSession {
     private Boolean reminderSent;
     private LocalDateTime reminderSentAt;
 
+    // Reminder sweep claim: the node holding this token owns the reminder
+    @Indexed(sparse = true)
+    private String reminderClaimToken;
+    private LocalDateTime reminderClaimedAt;
+
+    // Set by the no-show sweep that marked this session, to read back just that batch
+    @Indexed(sparse = true)
+    private String noShowBatchId;
+
     @CreatedDate
     private LocalDateTime createdAt;
 
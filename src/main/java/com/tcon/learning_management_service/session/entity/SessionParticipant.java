@@ -1,20 +1,39 @@
 package com.tcon.learning_management_service.session.entity;
 
-
-
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.LocalDateTime;
 
+/**
+ * One student on a session's roster. Kept out of the session document so large
+ * group classes do not grow every session read; the session only carries counts.
+ */
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
+@Document(collection = "session_participants")
+@CompoundIndexes({
+        @CompoundIndex(name = "session_student_idx", def = "{'sessionId': 1, 'studentId': 1}", unique = true)
+})
 public class SessionParticipant {
+
+    @Id
+    private String id;
+
+    private String sessionId;
+
+    @Indexed
     private String studentId;
+
     private String studentName;
     private String studentEmail;
     private Boolean attended;
@@ -23,4 +42,7 @@ public class SessionParticipant {
     private Integer durationMinutes;
     private String feedback;
     private Integer rating;
+
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
 }
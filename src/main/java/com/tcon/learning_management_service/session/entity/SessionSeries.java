@@ -0,0 +1,67 @@
+package com.tcon.learning_management_service.session.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+
+/**
+ * A weekly recurrence rule that a teacher scheduled in one request. Its occurrences
+ * are ordinary class_sessions documents carrying the series id, so series-wide
+ * changes are a single update on (seriesId, status, scheduledStartTime).
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "session_series")
+public class SessionSeries {
+
+    @Id
+    private String id;
+
+    @Indexed
+    private String teacherId;
+
+    @Indexed
+    private String courseId;
+
+    private String title;
+    private String description;
+    private SessionType sessionType;
+
+    private List<DayOfWeek> daysOfWeek;
+    private LocalTime startTime;
+    private Integer durationMinutes;
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private Integer maxOccurrences;
+
+    private Integer maxParticipants;
+    private String meetingUrl;
+    private String meetingId;
+    private String meetingPassword;
+
+    private Status status;
+    private Integer sessionCount;
+
+    private String cancellationReason;
+    private LocalDateTime cancelledAt;
+
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+
+    public enum Status {
+        ACTIVE,
+        CANCELLED
+    }
+}
@@ -0,0 +1,52 @@
+package com.tcon.learning_management_service.session.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+/**
+ * One session on a student's timeline. Written whenever a student gets onto a
+ * session (one-on-one booking, seat on a group session, attendance) so a student's
+ * sessions are an index range scan on (studentId, scheduledStartTime). Session
+ * details and status are read from class_sessions, so they never go stale here.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "student_session_timeline")
+@CompoundIndexes({
+        @CompoundIndex(name = "student_session_idx", def = "{'studentId': 1, 'sessionId': 1}", unique = true),
+        @CompoundIndex(name = "student_start_idx", def = "{'studentId': 1, 'scheduledStartTime': 1, 'sessionId': 1}")
+})
+public class StudentTimelineEntry {
+
+    @Id
+    private String id;
+
+    private String studentId;
+
+    @Indexed
+    private String sessionId;
+
+    private LocalDateTime scheduledStartTime;
+    private LocalDateTime scheduledEndTime;
+
+    private Source source;
+
+    private LocalDateTime createdAt;
+
+    public enum Source {
+        ONE_ON_ONE,   // Session created for the student's own booking
+        BOOKING,      // Seat booked on a group session
+        ATTENDANCE    // Put on the roster when attendance was taken
+    }
+}
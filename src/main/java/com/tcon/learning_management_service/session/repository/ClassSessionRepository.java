@@ -12,7 +12,7 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
-public interface ClassSessionRepository extends MongoRepository<ClassSession, String> {
+public interface ClassSessionRepository extends MongoRepository<ClassSession, String>, ClassSessionRepositoryCustom {
 
     List<ClassSession> findByCourseId(String courseId);
 
@@ -25,16 +25,14 @@ public interface ClassSessionRepository extends MongoRepository<ClassSession, St
     List<ClassSession> findByTeacherIdAndScheduledStartTimeBetween(
             String teacherId, LocalDateTime start, LocalDateTime end);
 
-    @Query("{ 'participants.studentId': ?0 }")
-    List<ClassSession> findByStudentId(String studentId);
-
-    @Query("{ 'participants.studentId': ?0, 'status': ?1 }")
-    List<ClassSession> findByStudentIdAndStatus(String studentId, ClassStatus status);
+    // Live sessions overlapping [start, end): start < end && end > start
+    @Query(value = "{ 'teacherId': ?0, 'status': { $in: ['SCHEDULED', 'IN_PROGRESS'] }, " +
+            "'scheduledStartTime': { $lt: ?2 }, 'scheduledEndTime': { $gt: ?1 } }",
+            fields = "{ 'scheduledStartTime': 1, 'scheduledEndTime': 1, 'bookingId': 1 }")
+    List<ClassSession> findActiveByTeacherIdOverlapping(String teacherId, LocalDateTime start, LocalDateTime end);
 
     List<ClassSession> findByScheduledStartTimeBetween(LocalDateTime start, LocalDateTime end);
 
-    List<ClassSession> findByStatusAndScheduledStartTimeBefore(ClassStatus status, LocalDateTime dateTime);
-
     List<ClassSession> findBySessionType(SessionType sessionType);
 
     @Query("{ 'status': 'SCHEDULED', 'reminderSent': false, 'scheduledStartTime': { $gte: ?0, $lte: ?1 } }")
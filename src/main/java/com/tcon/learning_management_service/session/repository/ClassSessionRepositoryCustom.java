@@ -0,0 +1,43 @@
+package com.tcon.learning_management_service.session.repository;
+
+import com.tcon.learning_management_service.session.entity.ClassSession;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface ClassSessionRepositoryCustom {
+
+    // Finished sessions moved out of class_sessions by SessionArchiveService
+    String ARCHIVE_COLLECTION = "class_sessions_archive";
+
+    /**
+     * Whether any live session of the teacher overlaps [start - buffer, end + buffer),
+     * ignoring excludeSessionId (may be null).
+     */
+    boolean existsConflict(String teacherId, LocalDateTime start, LocalDateTime end,
+                           int bufferMinutes, String excludeSessionId);
+
+    /**
+     * Look a session up in class_sessions, then in the archive.
+     */
+    Optional<ClassSession> findByIdIncludingArchive(String id);
+
+    /**
+     * Sessions by id from class_sessions, with any not found there read from the archive.
+     * Order follows the hot results, then the archived ones.
+     */
+    List<ClassSession> findAllByIdIncludingArchive(Collection<String> ids);
+
+    List<ClassSession> findByCourseIdIncludingArchive(String courseId);
+
+    List<ClassSession> findByTeacherIdIncludingArchive(String teacherId);
+
+    /**
+     * Teacher's sessions starting in [start, end]. The archive is only read when the
+     * range reaches back past the archive age.
+     */
+    List<ClassSession> findByTeacherIdAndStartBetweenIncludingArchive(String teacherId, LocalDateTime start,
+                                                                      LocalDateTime end);
+}
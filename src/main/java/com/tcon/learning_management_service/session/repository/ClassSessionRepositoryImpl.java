@@ -0,0 +1,107 @@
+package com.tcon.learning_management_service.session.repository;
+
+import com.tcon.learning_management_service.session.entity.ClassSession;
+import com.tcon.learning_management_service.session.entity.ClassStatus;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Conflict lookups on the teacher_status_time_idx index, and history reads that fall
+ * through to class_sessions_archive. Live-session queries never touch the archive.
+ */
+public class ClassSessionRepositoryImpl implements ClassSessionRepositoryCustom {
+
+    private static final List<ClassStatus> LIVE = List.of(ClassStatus.SCHEDULED, ClassStatus.IN_PROGRESS);
+
+    private final MongoTemplate mongoTemplate;
+    private final Duration archiveAge;
+
+    public ClassSessionRepositoryImpl(MongoTemplate mongoTemplate,
+                                      @Value("${session.archive.age:P90D}") Duration archiveAge) {
+        this.mongoTemplate = mongoTemplate;
+        this.archiveAge = archiveAge;
+    }
+
+    @Override
+    public boolean existsConflict(String teacherId, LocalDateTime start, LocalDateTime end,
+                                  int bufferMinutes, String excludeSessionId) {
+        // Overlap: existing.start < end && existing.end > start, widened by the buffer.
+        // Every filtered and returned field is in the index: one index entry, no documents.
+        Criteria criteria = Criteria.where("teacherId").is(teacherId)
+                .and("status").in(LIVE)
+                .and("scheduledStartTime").lt(end.plusMinutes(bufferMinutes))
+                .and("scheduledEndTime").gt(start.minusMinutes(bufferMinutes));
+        if (excludeSessionId != null) {
+            criteria = criteria.and("_id").ne(excludeSessionId);
+        }
+
+        Query query = new Query(criteria).limit(1);
+        query.fields().include("_id");
+        return !mongoTemplate.find(query, ClassSession.class).isEmpty();
+    }
+
+    @Override
+    public Optional<ClassSession> findByIdIncludingArchive(String id) {
+        ClassSession session = mongoTemplate.findById(id, ClassSession.class);
+        if (session == null) {
+            session = mongoTemplate.findById(id, ClassSession.class, ARCHIVE_COLLECTION);
+        }
+        return Optional.ofNullable(session);
+    }
+
+    @Override
+    public List<ClassSession> findAllByIdIncludingArchive(Collection<String> ids) {
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+        List<ClassSession> sessions = mongoTemplate.find(
+                new Query(Criteria.where("_id").in(ids)), ClassSession.class);
+        if (sessions.size() == ids.size()) {
+            return sessions;
+        }
+
+        Set<String> missing = new HashSet<>(ids);
+        sessions.forEach(session -> missing.remove(session.getId()));
+        sessions.addAll(mongoTemplate.find(
+                new Query(Criteria.where("_id").in(missing)), ClassSession.class, ARCHIVE_COLLECTION));
+        return sessions;
+    }
+
+    @Override
+    public List<ClassSession> findByCourseIdIncludingArchive(String courseId) {
+        return findBoth(new Query(Criteria.where("courseId").is(courseId)));
+    }
+
+    @Override
+    public List<ClassSession> findByTeacherIdIncludingArchive(String teacherId) {
+        return findBoth(new Query(Criteria.where("teacherId").is(teacherId)));
+    }
+
+    @Override
+    public List<ClassSession> findByTeacherIdAndStartBetweenIncludingArchive(String teacherId, LocalDateTime start,
+                                                                             LocalDateTime end) {
+        Query query = new Query(Criteria.where("teacherId").is(teacherId)
+                .and("scheduledStartTime").gte(start).lte(end));
+        if (!start.isBefore(LocalDateTime.now().minus(archiveAge))) {
+            return mongoTemplate.find(query, ClassSession.class);
+        }
+        return findBoth(query);
+    }
+
+    private List<ClassSession> findBoth(Query query) {
+        List<ClassSession> sessions = mongoTemplate.find(query, ClassSession.class);
+        sessions.addAll(mongoTemplate.find(query, ClassSession.class, ARCHIVE_COLLECTION));
+        return sessions;
+    }
+}
@@ -0,0 +1,13 @@
+package com.tcon.learning_management_service.session.repository;
+
+import com.tcon.learning_management_service.session.entity.SessionParticipant;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface SessionParticipantRepository extends MongoRepository<SessionParticipant, String> {
+
+    long countBySessionId(String sessionId);
+
+    long countBySessionIdAndAttendedTrue(String sessionId);
+}
@@ -0,0 +1,9 @@
+package com.tcon.learning_management_service.session.repository;
+
+import com.tcon.learning_management_service.session.entity.SessionSeries;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface SessionSeriesRepository extends MongoRepository<SessionSeries, String> {
+}
@@ -0,0 +1,47 @@
+package com.tcon.learning_management_service.session.repository;
+
+import com.tcon.learning_management_service.session.entity.StudentTimelineEntry;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position in a student's timeline ordered by (scheduledStartTime, sessionId)
+ * ascending, encoded as an opaque URL-safe token.
+ */
+@Getter
+@AllArgsConstructor
+public class TimelineCursor {
+
+    private static final String SEPARATOR = "|";
+
+    private final LocalDateTime scheduledStartTime;
+    private final String sessionId;
+
+    public static TimelineCursor of(StudentTimelineEntry entry) {
+        return new TimelineCursor(entry.getScheduledStartTime(), entry.getSessionId());
+    }
+
+    public String encode() {
+        String raw = scheduledStartTime + SEPARATOR + sessionId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static TimelineCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            String sessionId = raw.substring(separator + 1);
+            if (sessionId.isEmpty()) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return new TimelineCursor(LocalDateTime.parse(raw.substring(0, separator)), sessionId);
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+}
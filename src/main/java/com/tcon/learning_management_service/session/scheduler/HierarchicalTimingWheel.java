@@ -0,0 +1,163 @@
+package com.tcon.learning_management_service.session.scheduler;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Hierarchical timing wheel keyed by string ids.
+ * The lowest wheel has one bucket per tick; each overflow wheel's tick is the full span
+ * of the wheel below it, so a deadline days away costs the same as one seconds away.
+ * Deadlines cascade down a level when their coarse bucket comes round, and fire from the
+ * lowest wheel at the first tick at or after their due time, never early.
+ * <p>
+ * Not thread-safe on its own; the owner serialises access.
+ */
+class HierarchicalTimingWheel<T> {
+
+    private final Level root;
+    private final Map<String, Entry<T>> entries = new HashMap<>();
+
+    HierarchicalTimingWheel(long tickMillis, int wheelSize, long startMillis) {
+        this.root = new Level(tickMillis, wheelSize, startMillis);
+    }
+
+    /**
+     * Add or replace the deadline stored under key.
+     *
+     * @return false if the deadline is already due; it is then not stored
+     */
+    boolean schedule(String key, long deadlineMillis, T payload) {
+        cancel(key);
+        Entry<T> entry = new Entry<>(key, deadlineMillis, payload);
+        if (!root.add(entry)) {
+            return false;
+        }
+        entries.put(key, entry);
+        return true;
+    }
+
+    void cancel(String key) {
+        Entry<T> entry = entries.remove(key);
+        if (entry != null && entry.bucket != null) {
+            entry.bucket.remove(entry);
+            entry.bucket = null;
+        }
+    }
+
+    boolean contains(String key) {
+        return entries.containsKey(key);
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    /**
+     * Move the clock forward to nowMillis, one tick at a time.
+     *
+     * @return payloads whose deadline has been reached, in firing order
+     */
+    List<T> advanceTo(long nowMillis) {
+        List<T> due = new ArrayList<>();
+        for (long tick = root.currentTime + root.tickMillis; tick <= nowMillis; tick += root.tickMillis) {
+            advance(tick, due);
+        }
+        return due;
+    }
+
+    private void advance(long time, List<T> due) {
+        // Move every level's clock first, then flush top-down so cascaded entries land in fresh buckets
+        List<Level> levels = new ArrayList<>();
+        for (Level level = root; level != null; level = level.overflow) {
+            if (time % level.tickMillis == 0) {
+                level.currentTime = time;
+                levels.add(0, level);
+            }
+        }
+
+        for (Level level : levels) {
+            Set<Entry<T>> bucket = level.buckets.get(level.index(time));
+            if (bucket.isEmpty()) {
+                continue;
+            }
+            List<Entry<T>> flushed = new ArrayList<>(bucket);
+            bucket.clear();
+            for (Entry<T> entry : flushed) {
+                entry.bucket = null;
+                if (!root.add(entry)) {
+                    entries.remove(entry.key);
+                    due.add(entry.payload);
+                }
+            }
+        }
+    }
+
+    private class Level {
+
+        private final long tickMillis;
+        private final int wheelSize;
+        private final long intervalMillis;
+        private final List<Set<Entry<T>>> buckets;
+        private long currentTime;
+        private Level overflow;
+
+        Level(long tickMillis, int wheelSize, long startMillis) {
+            this.tickMillis = tickMillis;
+            this.wheelSize = wheelSize;
+            this.intervalMillis = tickMillis * wheelSize;
+            this.currentTime = startMillis - (startMillis % tickMillis);
+            this.buckets = new ArrayList<>(wheelSize);
+            for (int i = 0; i < wheelSize; i++) {
+                buckets.add(new LinkedHashSet<>());
+            }
+        }
+
+        boolean add(Entry<T> entry) {
+            long slot;
+            if (this == root) {
+                // Round up on the lowest wheel so nothing fires before its deadline
+                slot = Math.floorDiv(entry.deadlineMillis + tickMillis - 1, tickMillis) * tickMillis;
+                if (slot <= currentTime) {
+                    return false;
+                }
+            } else {
+                // Round down on coarser wheels so entries cascade before they fall due
+                slot = Math.floorDiv(entry.deadlineMillis, tickMillis) * tickMillis;
+            }
+
+            // A slot one full turn ahead shares the bucket just flushed, which comes round exactly then
+            if (slot <= currentTime + intervalMillis) {
+                Set<Entry<T>> bucket = buckets.get(index(slot));
+                bucket.add(entry);
+                entry.bucket = bucket;
+                return true;
+            }
+
+            if (overflow == null) {
+                overflow = new Level(intervalMillis, wheelSize, currentTime);
+            }
+            return overflow.add(entry);
+        }
+
+        int index(long time) {
+            return (int) Math.floorMod(time / tickMillis, (long) wheelSize);
+        }
+    }
+
+    private static final class Entry<T> {
+        private final String key;
+        private final long deadlineMillis;
+        private final T payload;
+        private Set<Entry<T>> bucket;
+
+        Entry(String key, long deadlineMillis, T payload) {
+            this.key = key;
+            this.deadlineMillis = deadlineMillis;
+            this.payload = payload;
+        }
+    }
+}
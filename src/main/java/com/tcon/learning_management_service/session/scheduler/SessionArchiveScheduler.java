@@ -0,0 +1,28 @@
+package com.tcon.learning_management_service.session.scheduler;
+
+import com.tcon.learning_management_service.session.service.SessionArchiveService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SessionArchiveScheduler {
+
+    private final SessionArchiveService archiveService;
+
+    /**
+     * Moves old completed, cancelled, rescheduled and no-show sessions to the archive
+     */
+    @Scheduled(fixedDelayString = "${session.archive.interval:PT1H}",
+            initialDelayString = "${session.archive.interval:PT1H}")
+    public void archiveFinishedSessions() {
+        try {
+            archiveService.archiveFinishedSessions();
+        } catch (Exception e) {
+            log.error("Session archive run failed", e);
+        }
+    }
+}
@@ -0,0 +1,218 @@
+package com.tcon.learning_management_service.session.scheduler;
+
+import com.tcon.learning_management_service.session.entity.ClassSession;
+import com.tcon.learning_management_service.session.entity.ClassStatus;
+import com.tcon.learning_management_service.session.service.NoShowHandlingService;
+import com.tcon.learning_management_service.session.service.SessionReminderService;
+import jakarta.annotation.PreDestroy;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fires per-session reminder and no-show deadlines within a second of their due time.
+ * Deadlines for sessions starting inside a rolling window live in a hierarchical timing
+ * wheel ticking once a second; the schedule, reschedule and cancel paths keep it current
+ * and a cheap reconciliation poll reloads the window as the safety net. Firing only
+ * hands session ids to the reminder and no-show services, whose conditional updates
+ * keep each deadline single across instances. The cron sweeps remain as a backstop.
+ */
+@Slf4j
+@Component
+public class SessionDeadlineScheduler {
+
+    private static final long TICK_MILLIS = 1000;
+    private static final int WHEEL_SIZE = 60;
+
+    private final MongoTemplate mongoTemplate;
+    private final SessionReminderService reminderService;
+    private final NoShowHandlingService noShowService;
+    private final Duration reminderLead;
+    private final Duration noShowGrace;
+    private final Duration window;
+    private final HierarchicalTimingWheel<Deadline> wheel;
+
+    private ScheduledExecutorService ticker;
+    private ExecutorService dispatcher;
+
+    public SessionDeadlineScheduler(MongoTemplate mongoTemplate,
+                                    SessionReminderService reminderService,
+                                    NoShowHandlingService noShowService,
+                                    @Value("${session.reminders.lead-time:PT1H}") Duration reminderLead,
+                                    @Value("${session.no-show.grace-period:PT30M}") Duration noShowGrace,
+                                    @Value("${session.deadlines.window:PT6H}") Duration window) {
+        this.mongoTemplate = mongoTemplate;
+        this.reminderService = reminderService;
+        this.noShowService = noShowService;
+        this.reminderLead = reminderLead;
+        this.noShowGrace = noShowGrace;
+        this.window = window;
+        this.wheel = new HierarchicalTimingWheel<>(TICK_MILLIS, WHEEL_SIZE, System.currentTimeMillis());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        ticker = Executors.newSingleThreadScheduledExecutor(daemon("session-deadline-tick"));
+        dispatcher = Executors.newSingleThreadExecutor(daemon("session-deadline-fire"));
+
+        // Fill the wheel before the first tick rather than waiting for the first scheduled
+        // reconciliation; queued on the ticker so startup does not block on Mongo
+        ticker.execute(this::reconcile);
+
+        // Align ticks to whole seconds so a deadline fires in the tick it falls into
+        long initialDelay = TICK_MILLIS - System.currentTimeMillis() % TICK_MILLIS;
+        ticker.scheduleAtFixedRate(this::tick, initialDelay, TICK_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (ticker != null) {
+            ticker.shutdownNow();
+            dispatcher.shutdownNow();
+        }
+    }
+
+    /**
+     * Add, move or drop a session's deadlines to match its current state.
+     */
+    public void track(ClassSession session) {
+        if (session.getId() == null || session.getScheduledStartTime() == null) {
+            return;
+        }
+        if (session.getStatus() != ClassStatus.SCHEDULED) {
+            untrack(session.getId());
+            return;
+        }
+
+        LocalDateTime start = session.getScheduledStartTime();
+        if (start.isAfter(LocalDateTime.now().plus(window))) {
+            return; // picked up by a later reconciliation
+        }
+
+        long now = System.currentTimeMillis();
+        synchronized (wheel) {
+            if (!Boolean.TRUE.equals(session.getReminderSent()) && start.isAfter(LocalDateTime.now())) {
+                // A session booked inside the lead time is reminded on the next tick
+                long due = Math.max(toMillis(start.minus(reminderLead)), now + 1);
+                wheel.schedule(reminderKey(session.getId()), due, new Deadline(DeadlineType.REMINDER, session.getId()));
+            }
+            long noShowDue = Math.max(toMillis(start.plus(noShowGrace)), now + 1);
+            wheel.schedule(noShowKey(session.getId()), noShowDue, new Deadline(DeadlineType.NO_SHOW, session.getId()));
+        }
+    }
+
+    public void untrack(String sessionId) {
+        synchronized (wheel) {
+            wheel.cancel(reminderKey(sessionId));
+            wheel.cancel(noShowKey(sessionId));
+        }
+    }
+
+    /**
+     * Reload every scheduled session in the window, covering changes made by other
+     * instances or paths that do not call track().
+     */
+    @Scheduled(fixedDelayString = "${session.deadlines.reconcile-interval:PT5M}",
+            initialDelayString = "${session.deadlines.reconcile-interval:PT5M}")
+    public void reconcile() {
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            Query upcoming = new Query(Criteria.where("status").is(ClassStatus.SCHEDULED)
+                    .and("scheduledStartTime").gte(now.minus(noShowGrace)).lte(now.plus(window)));
+            upcoming.fields().include("status", "scheduledStartTime", "reminderSent");
+
+            List<ClassSession> sessions = mongoTemplate.find(upcoming, ClassSession.class);
+            sessions.forEach(this::track);
+
+            int tracked;
+            synchronized (wheel) {
+                tracked = wheel.size();
+            }
+            log.info("Session deadlines reconciled: {} sessions in window, {} deadlines pending",
+                    sessions.size(), tracked);
+        } catch (Exception e) {
+            log.error("Session deadline reconciliation failed", e);
+        }
+    }
+
+    private void tick() {
+        List<Deadline> due;
+        synchronized (wheel) {
+            due = wheel.advanceTo(System.currentTimeMillis());
+        }
+        if (due.isEmpty()) {
+            return;
+        }
+
+        // One claim per type for everything that fell due in this tick
+        List<String> reminders = new ArrayList<>();
+        List<String> noShows = new ArrayList<>();
+        for (Deadline deadline : due) {
+            (deadline.getType() == DeadlineType.REMINDER ? reminders : noShows).add(deadline.getSessionId());
+        }
+
+        dispatcher.execute(() -> {
+            try {
+                if (!reminders.isEmpty()) {
+                    reminderService.sendReminders(reminders);
+                }
+                if (!noShows.isEmpty()) {
+                    noShowService.markNoShows(noShows);
+                }
+            } catch (Exception e) {
+                log.error("Failed to process {} session deadline(s); the sweeps will retry", due.size(), e);
+            }
+        });
+    }
+
+    private static long toMillis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private static String reminderKey(String sessionId) {
+        return "reminder:" + sessionId;
+    }
+
+    private static String noShowKey(String sessionId) {
+        return "no-show:" + sessionId;
+    }
+
+    private static ThreadFactory daemon(String name) {
+        return runnable -> {
+            Thread thread = new Thread(runnable, name);
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    enum DeadlineType {
+        REMINDER,
+        NO_SHOW
+    }
+
+    @Getter
+    @AllArgsConstructor
+    static class Deadline {
+        private final DeadlineType type;
+        private final String sessionId;
+    }
+}
@@ -1,21 +1,29 @@
 package com.tcon.learning_management_service.session.service;
 
+import com.tcon.learning_management_service.availability.service.TeacherBusyIndex;
+import com.tcon.learning_management_service.booking.service.CancellationService;
 import com.tcon.learning_management_service.course.entity.Course;
 import com.tcon.learning_management_service.course.repository.CourseRepository;
 import com.tcon.learning_management_service.event.SessionEventPublisher;
+import com.tcon.learning_management_service.session.dto.AttendanceRequest;
 import com.tcon.learning_management_service.session.dto.SessionDto;
 import com.tcon.learning_management_service.session.dto.SessionScheduleRequest;
+import com.tcon.learning_management_service.session.dto.SessionTimelinePage;
 import com.tcon.learning_management_service.session.entity.ClassSession;
 import com.tcon.learning_management_service.session.entity.ClassStatus;
-import com.tcon.learning_management_service.session.entity.SessionParticipant;
+import com.tcon.learning_management_service.session.entity.StudentTimelineEntry;
 import com.tcon.learning_management_service.session.repository.ClassSessionRepository;
+import com.tcon.learning_management_service.session.scheduler.SessionDeadlineScheduler;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -26,6 +34,12 @@ public class ClassSessionService {
     private final ClassSessionRepository sessionRepository;
     private final CourseRepository courseRepository;
     private final SessionEventPublisher eventPublisher;
+    private final TeacherBusyIndex busyIndex;
+    private final CancellationService cancellationService;
+    private final SessionDeadlineScheduler deadlineScheduler;
+    private final SessionAttendanceService attendanceService;
+    private final StudentTimelineService timelineService;
+    private final SessionConflictService conflictService;
 
     @Transactional
     public SessionDto scheduleSession(String teacherId, SessionScheduleRequest request) {
@@ -44,13 +58,7 @@ public class ClassSessionService {
                 .plusMinutes(request.getDurationMinutes());
 
         // Check for conflicts
-        List<ClassSession> conflicts = sessionRepository.findByTeacherIdAndScheduledStartTimeBetween(
-                teacherId,
-                request.getScheduledStartTime().minusMinutes(request.getDurationMinutes()),
-                scheduledEndTime
-        );
-
-        if (!conflicts.isEmpty()) {
+        if (conflictService.hasConflict(teacherId, request.getScheduledStartTime(), scheduledEndTime)) {
             throw new IllegalArgumentException("Session conflicts with existing sessions");
         }
 
@@ -70,7 +78,6 @@ public class ClassSessionService {
                 .meetingPassword(request.getMeetingPassword())
                 .maxParticipants(request.getMaxParticipants() != null ?
                         request.getMaxParticipants() : course.getMaxStudents())
-                .participants(new ArrayList<>())
                 .attendedCount(0)
                 .materialUrls(request.getMaterialUrls() != null ?
                         request.getMaterialUrls() : new ArrayList<>())
@@ -80,6 +87,8 @@ public class ClassSessionService {
                 .build();
 
         ClassSession saved = sessionRepository.save(session);
+        busyIndex.markBusy(saved);
+        deadlineScheduler.track(saved);
         log.info("Session scheduled successfully: {}", saved.getId());
 
         // Publish event
@@ -89,32 +98,63 @@ public class ClassSessionService {
     }
 
     public SessionDto getSession(String sessionId) {
-        ClassSession session = sessionRepository.findById(sessionId)
+        ClassSession session = sessionRepository.findByIdIncludingArchive(sessionId)
                 .orElseThrow(() -> new IllegalArgumentException("Session not found: " + sessionId));
         return toDto(session);
     }
 
     public List<SessionDto> getCourseSessions(String courseId) {
-        return sessionRepository.findByCourseId(courseId).stream()
+        return sessionRepository.findByCourseIdIncludingArchive(courseId).stream()
                 .map(this::toDto)
                 .collect(Collectors.toList());
     }
 
     public List<SessionDto> getTeacherSessions(String teacherId) {
-        return sessionRepository.findByTeacherId(teacherId).stream()
+        return sessionRepository.findByTeacherIdIncludingArchive(teacherId).stream()
                 .map(this::toDto)
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Every session on a student's timeline, in start-time order.
+     */
     public List<SessionDto> getStudentSessions(String studentId) {
-        return sessionRepository.findByStudentId(studentId).stream()
+        return toDtos(timelineService.findAll(studentId));
+    }
+
+    /**
+     * A student's sessions in start-time order, read through the timeline index and
+     * joined to class_sessions one page at a time.
+     */
+    public SessionTimelinePage<SessionDto> getStudentSessionsPage(String studentId, LocalDateTime from,
+                                                                 LocalDateTime to, String cursor, Integer limit) {
+        SessionTimelinePage<StudentTimelineEntry> page = timelineService.findPage(studentId, from, to, cursor, limit);
+        List<SessionDto> items = toDtos(page.getItems());
+
+        return SessionTimelinePage.<SessionDto>builder()
+                .items(items)
+                .nextCursor(page.getNextCursor())
+                .hasMore(page.isHasMore())
+                .size(items.size())
+                .build();
+    }
+
+    // Sessions for timeline entries, kept in timeline order
+    private List<SessionDto> toDtos(List<StudentTimelineEntry> entries) {
+        List<String> sessionIds = entries.stream().map(StudentTimelineEntry::getSessionId).toList();
+        Map<String, ClassSession> sessions = new HashMap<>();
+        sessionRepository.findAllByIdIncludingArchive(sessionIds).forEach(session -> sessions.put(session.getId(), session));
+
+        return sessionIds.stream()
+                .map(sessions::get)
+                .filter(Objects::nonNull)
                 .map(this::toDto)
-                .collect(Collectors.toList());
+                .toList();
     }
 
     public List<SessionDto> getTeacherSessionsInDateRange(
             String teacherId, LocalDateTime start, LocalDateTime end) {
-        return sessionRepository.findByTeacherIdAndScheduledStartTimeBetween(teacherId, start, end)
+        return sessionRepository.findByTeacherIdAndStartBetweenIncludingArchive(teacherId, start, end)
                 .stream()
                 .map(this::toDto)
                 .collect(Collectors.toList());
@@ -198,53 +238,39 @@ public class ClassSessionService {
         session.setCancelledBy(teacherId);
 
         ClassSession updated = sessionRepository.save(session);
+        busyIndex.release(teacherId, TeacherBusyIndex.sessionKey(sessionId));
+        deadlineScheduler.untrack(sessionId);
         log.info("Session cancelled: {}", sessionId);
 
+        // Cancel and refund everyone booked on it
+        cancellationService.cancelBookingsForSessions(List.of(sessionId), reason, teacherId);
+
         // Publish event
         eventPublisher.publishSessionCancelled(updated);
 
         return toDto(updated);
     }
 
-    @Transactional
     public SessionDto markStudentAttendance(String sessionId, String studentId,
                                             String studentName, String studentEmail, boolean attended) {
         log.info("Marking attendance for student {} in session {}: {}", studentId, sessionId, attended);
 
-        ClassSession session = sessionRepository.findById(sessionId)
-                .orElseThrow(() -> new IllegalArgumentException("Session not found: " + sessionId));
-
-        // Find or create participant
-        SessionParticipant participant = session.getParticipants().stream()
-                .filter(p -> p.getStudentId().equals(studentId))
-                .findFirst()
-                .orElse(SessionParticipant.builder()
-                        .studentId(studentId)
-                        .studentName(studentName)
-                        .studentEmail(studentEmail)
-                        .build());
-
-        participant.setAttended(attended);
-        if (attended) {
-            participant.setJoinedAt(LocalDateTime.now());
-        }
-
-        // Update or add participant
-        session.getParticipants().removeIf(p -> p.getStudentId().equals(studentId));
-        session.getParticipants().add(participant);
-
-        // Update attended count
-        long attendedCount = session.getParticipants().stream()
-                .filter(p -> Boolean.TRUE.equals(p.getAttended()))
-                .count();
-        session.setAttendedCount((int) attendedCount);
-
-        ClassSession updated = sessionRepository.save(session);
+        ClassSession updated = attendanceService.markAttendance(sessionId, AttendanceRequest.builder()
+                .studentId(studentId)
+                .studentName(studentName)
+                .studentEmail(studentEmail)
+                .attended(attended)
+                .build());
         log.info("Attendance marked successfully");
 
         return toDto(updated);
     }
 
+    public SessionDto markRosterAttendance(String sessionId, List<AttendanceRequest> roster) {
+        log.info("Marking attendance for {} student(s) in session {}", roster.size(), sessionId);
+        return toDto(attendanceService.markAttendance(sessionId, roster));
+    }
+
     @Transactional
     public SessionDto addRecording(String sessionId, String teacherId, String recordingUrl) {
         ClassSession session = sessionRepository.findById(sessionId)
@@ -279,7 +305,7 @@ public class ClassSessionService {
                 .meetingUrl(session.getMeetingUrl())
                 .meetingId(session.getMeetingId())
                 .meetingPassword(session.getMeetingPassword())
-                .participants(session.getParticipants())
+                .participantCount(session.getParticipantCount())
                 .maxParticipants(session.getMaxParticipants())
                 .attendedCount(session.getAttendedCount())
                 .recordingUrl(session.getRecordingUrl())
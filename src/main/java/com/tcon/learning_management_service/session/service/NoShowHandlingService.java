@@ -1,16 +1,27 @@
 package com.tcon.learning_management_service.session.service;
 
+import com.tcon.learning_management_service.booking.entity.Booking;
+import com.tcon.learning_management_service.booking.entity.BookingStatus;
+import com.tcon.learning_management_service.event.SessionEventPublisher;
 import com.tcon.learning_management_service.session.entity.ClassSession;
 import com.tcon.learning_management_service.session.entity.ClassStatus;
 import com.tcon.learning_management_service.session.repository.ClassSessionRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.UUID;
 
 @Slf4j
 @Service
@@ -18,38 +29,102 @@ import java.util.List;
 public class NoShowHandlingService {
 
     private final ClassSessionRepository sessionRepository;
+    private final MongoTemplate mongoTemplate;
+
+    private final SessionEventPublisher eventPublisher;
+
+    @Value("${session.no-show.grace-period:PT30M}")
+    private Duration gracePeriod;
+
+    @Value("${session.no-show.lookback:P2D}")
+    private Duration lookback;
 
     /**
-     * Runs every 15 minutes to check for no-show sessions
+     * Runs every 15 minutes to check for no-show sessions.
+     * Only sessions that started within the lookback window are considered, so old
+     * SCHEDULED leftovers are not rescanned on every run.
      */
     @Scheduled(cron = "0 */15 * * * *")
-    @Transactional
     public void checkForNoShows() {
         log.info("Checking for no-show sessions");
 
-        LocalDateTime now = LocalDateTime.now();
-        LocalDateTime threshold = now.minusMinutes(30); // 30 minutes grace period
-
-        // Find scheduled sessions that should have started 30 minutes ago
-        List<ClassSession> potentialNoShows = sessionRepository
-                .findByStatusAndScheduledStartTimeBefore(ClassStatus.SCHEDULED, threshold);
-
-        int noShowCount = 0;
-        for (ClassSession session : potentialNoShows) {
-            if (session.getActualStartTime() == null) {
-                session.setStatus(ClassStatus.NO_SHOW);
-                sessionRepository.save(session);
-                noShowCount++;
-                log.warn("Session marked as no-show: {} - Scheduled at: {}",
-                        session.getId(), session.getScheduledStartTime());
-            }
-        }
+        LocalDateTime threshold = LocalDateTime.now().minus(gracePeriod);
+        int noShowCount = transition(Criteria.where("scheduledStartTime")
+                .gte(threshold.minus(lookback))
+                .lte(threshold));
 
         if (noShowCount > 0) {
             log.info("Marked {} sessions as no-show", noShowCount);
         }
     }
 
+    /**
+     * Mark the given sessions as no-show if they are still SCHEDULED, never started
+     * and past the grace period. Conditional, so repeated or concurrent calls are harmless.
+     */
+    public long markNoShows(Collection<String> sessionIds) {
+        long marked = transition(Criteria.where("_id").in(sessionIds)
+                .and("scheduledStartTime").lte(LocalDateTime.now().minus(gracePeriod)));
+        if (marked > 0) {
+            log.warn("Marked {} sessions as no-show", marked);
+        }
+        return marked;
+    }
+
+    /**
+     * Move every matching SCHEDULED, never-started session to NO_SHOW in one update,
+     * tagged with a batch id so exactly the sessions changed here are read back, then
+     * carry the status over to their confirmed bookings and publish one event.
+     */
+    private int transition(Criteria window) {
+        LocalDateTime now = LocalDateTime.now();
+        String batchId = UUID.randomUUID().toString();
+
+        Query stale = new Query(window
+                .and("status").is(ClassStatus.SCHEDULED)
+                .and("actualStartTime").is(null));
+        Update markNoShow = new Update()
+                .set("status", ClassStatus.NO_SHOW)
+                .set("noShowBatchId", batchId)
+                .set("updatedAt", now);
+
+        long modified = mongoTemplate.updateMulti(stale, markNoShow, ClassSession.class).getModifiedCount();
+        if (modified == 0) {
+            return 0;
+        }
+
+        Query batch = new Query(Criteria.where("noShowBatchId").is(batchId));
+        batch.fields().include("courseId", "teacherId", "studentId", "scheduledStartTime");
+        List<ClassSession> marked = mongoTemplate.find(batch, ClassSession.class);
+        List<String> sessionIds = marked.stream().map(ClassSession::getId).toList();
+
+        List<Booking> bookings = cascadeToBookings(sessionIds, batchId, now);
+        eventPublisher.publishSessionsNoShow(batchId, marked, bookings);
+
+        log.warn("Session(s) marked as no-show in batch {}: {}", batchId, sessionIds);
+        return marked.size();
+    }
+
+    // Tagged with the sweep's batch id, so the event names exactly the bookings moved here
+    private List<Booking> cascadeToBookings(List<String> sessionIds, String batchId, LocalDateTime now) {
+        Query confirmed = new Query(new Criteria().orOperator(
+                        Criteria.where("sessionId").in(sessionIds),
+                        Criteria.where("sessions.sessionId").in(sessionIds))
+                .and("status").is(BookingStatus.CONFIRMED));
+        Update markNoShow = new Update()
+                .set("status", BookingStatus.NO_SHOW)
+                .set("noShowBatchId", batchId)
+                .set("updatedAt", now);
+
+        if (mongoTemplate.updateMulti(confirmed, markNoShow, Booking.class).getModifiedCount() == 0) {
+            return List.of();
+        }
+
+        Query batch = new Query(Criteria.where("noShowBatchId").is(batchId));
+        batch.fields().include("sessionId", "studentId", "parentId");
+        return mongoTemplate.find(batch, Booking.class);
+    }
+
     @Transactional
     public void markAsNoShow(String sessionId, String teacherId) {
         log.info("Manually marking session as no-show: {}", sessionId);
@@ -0,0 +1,114 @@
+package com.tcon.learning_management_service.session.service;
+
+import com.tcon.learning_management_service.session.entity.ClassSession;
+import com.tcon.learning_management_service.session.entity.ClassStatus;
+import com.tcon.learning_management_service.session.entity.StudentTimelineEntry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.ComparisonOperators;
+import org.springframework.data.mongodb.core.aggregation.ConditionalOperators;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Seat accounting for group sessions. A seat is taken with one conditional
+ * findAndModify (reservedSeats < maxParticipants and the student not already
+ * holding a seat), so capacity holds across any number of instances without locks.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SeatReservationService {
+
+    private final MongoTemplate mongoTemplate;
+    private final StudentTimelineService timelineService;
+
+    /**
+     * Reserve a seat for the student.
+     *
+     * @return the session after the reservation, or empty if the session is missing,
+     * not bookable, full, or the student already holds a seat
+     */
+    public Optional<ClassSession> reserveSeat(String sessionId, String studentId) {
+        Criteria hasCapacity = new Criteria().orOperator(
+                Criteria.where("maxParticipants").is(null),
+                Criteria.expr(ComparisonOperators.Lt
+                        .valueOf(ConditionalOperators.ifNull("reservedSeats").then(0))
+                        .lessThan("maxParticipants"))
+        );
+
+        Query query = new Query(new Criteria().andOperator(
+                Criteria.where("_id").is(sessionId)
+                        .and("status").is(ClassStatus.SCHEDULED)
+                        .and("scheduledStartTime").gt(LocalDateTime.now())
+                        .and("reservedStudentIds").ne(studentId),
+                hasCapacity
+        ));
+
+        Update update = new Update()
+                .inc("reservedSeats", 1)
+                .addToSet("reservedStudentIds", studentId);
+
+        ClassSession session = mongoTemplate.findAndModify(query, update,
+                FindAndModifyOptions.options().returnNew(true), ClassSession.class);
+
+        if (session != null) {
+            timelineService.add(session, studentId, StudentTimelineEntry.Source.BOOKING);
+            log.info("Seat reserved in session {} for student {} ({}/{})", sessionId, studentId,
+                    session.getReservedSeats(), session.getMaxParticipants());
+        }
+        return Optional.ofNullable(session);
+    }
+
+    /**
+     * Give a student's seat back. Only decrements when the student actually holds
+     * a seat, so repeated releases are harmless.
+     */
+    public void releaseSeat(String sessionId, String studentId) {
+        if (sessionId == null || studentId == null) {
+            return;
+        }
+
+        Query query = new Query(Criteria.where("_id").is(sessionId).and("reservedStudentIds").is(studentId));
+        Update update = new Update()
+                .inc("reservedSeats", -1)
+                .pull("reservedStudentIds", studentId);
+
+        if (mongoTemplate.updateFirst(query, update, ClassSession.class).getModifiedCount() > 0) {
+            timelineService.removeBooked(Map.of(sessionId, List.of(studentId)));
+            log.info("Seat released in session {} for student {}", sessionId, studentId);
+        }
+    }
+
+    /**
+     * Release many seats in one unordered bulk write, e.g. after a sweep.
+     *
+     * @param studentIdsBySession student ids to release, grouped by session id
+     */
+    public void releaseSeats(Map<String, ? extends Collection<String>> studentIdsBySession) {
+        if (studentIdsBySession.isEmpty()) {
+            return;
+        }
+
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, ClassSession.class);
+        studentIdsBySession.forEach((sessionId, studentIds) -> studentIds.forEach(studentId ->
+                bulk.updateOne(
+                        new Query(Criteria.where("_id").is(sessionId).and("reservedStudentIds").is(studentId)),
+                        new Update().inc("reservedSeats", -1).pull("reservedStudentIds", studentId))));
+
+        int released = bulk.execute().getModifiedCount();
+        timelineService.removeBooked(studentIdsBySession);
+        log.info("Released {} seat(s) across {} session(s)", released, studentIdsBySession.size());
+    }
+}
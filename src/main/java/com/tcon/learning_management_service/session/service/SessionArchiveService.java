@@ -0,0 +1,142 @@
+package com.tcon.learning_management_service.session.service;
+
+import com.tcon.learning_management_service.booking.service.BookingLockService;
+import com.tcon.learning_management_service.session.entity.ClassSession;
+import com.tcon.learning_management_service.session.entity.ClassStatus;
+import com.tcon.learning_management_service.session.repository.ClassSessionRepositoryCustom;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndReplaceOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Moves finished sessions out of class_sessions into class_sessions_archive so the
+ * hot collection and its indexes only carry live and recent sessions.
+ * Each chunk is copied with idempotent upserts and only then removed from the hot
+ * collection, so a run that dies midway is simply finished by the next one. One
+ * instance archives at a time, under a lease lock whose fencing token is checked
+ * before every chunk.
+ */
+@Slf4j
+@Service
+public class SessionArchiveService {
+
+    private static final List<ClassStatus> TERMINAL = List.of(
+            ClassStatus.COMPLETED, ClassStatus.CANCELLED, ClassStatus.RESCHEDULED, ClassStatus.NO_SHOW);
+
+    private static final String LOCK_ID = "session-archive";
+
+    private final MongoTemplate mongoTemplate;
+    private final BookingLockService lockService;
+    private final Duration archiveAge;
+    private final int batchSize;
+    private final int maxBatches;
+    private final String ownerId = UUID.randomUUID().toString();
+    private volatile boolean archiveIndexed;
+
+    public SessionArchiveService(MongoTemplate mongoTemplate,
+                                 BookingLockService lockService,
+                                 @Value("${session.archive.age:P90D}") Duration archiveAge,
+                                 @Value("${session.archive.batch-size:500}") int batchSize,
+                                 @Value("${session.archive.max-batches:20}") int maxBatches) {
+        this.mongoTemplate = mongoTemplate;
+        this.lockService = lockService;
+        this.archiveAge = archiveAge;
+        this.batchSize = batchSize;
+        this.maxBatches = maxBatches;
+    }
+
+    /**
+     * Archive up to max-batches chunks of terminal sessions older than the archive age.
+     *
+     * @return number of sessions moved
+     */
+    public int archiveFinishedSessions() {
+        Optional<Long> token = lockService.tryAcquire(LOCK_ID, ownerId, Duration.ZERO);
+        if (token.isEmpty()) {
+            log.debug("Session archive already running on another instance");
+            return 0;
+        }
+
+        int moved = 0;
+        try {
+            ensureArchiveIndexes();
+            LocalDateTime cutoff = LocalDateTime.now().minus(archiveAge);
+
+            for (int batch = 0; batch < maxBatches; batch++) {
+                if (!lockService.isLeaseValid(LOCK_ID, token.get())) {
+                    log.warn("Session archive lease lost after {} session(s), stopping", moved);
+                    break;
+                }
+                int chunk = archiveChunk(cutoff);
+                moved += chunk;
+                if (chunk < batchSize) {
+                    break;
+                }
+            }
+        } finally {
+            lockService.releaseLock(LOCK_ID, ownerId);
+        }
+
+        if (moved > 0) {
+            log.info("Archived {} finished session(s)", moved);
+        }
+        return moved;
+    }
+
+    private int archiveChunk(LocalDateTime cutoff) {
+        // Served by status_start_idx, oldest first
+        Query query = new Query(Criteria.where("status").in(TERMINAL).and("scheduledStartTime").lt(cutoff))
+                .with(Sort.by(Sort.Direction.ASC, "scheduledStartTime"))
+                .limit(batchSize);
+        List<ClassSession> chunk = mongoTemplate.find(query, ClassSession.class);
+        if (chunk.isEmpty()) {
+            return 0;
+        }
+
+        BulkOperations copy = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED,
+                ClassSession.class, ClassSessionRepositoryCustom.ARCHIVE_COLLECTION);
+        chunk.forEach(session -> copy.replaceOne(
+                new Query(Criteria.where("_id").is(session.getId())), session,
+                FindAndReplaceOptions.options().upsert()));
+        copy.execute();
+
+        // Only rows unchanged since the copy are removed: anything updated in between
+        // (counters, status) stays hot and is archived fresh on a later run
+        BulkOperations remove = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, ClassSession.class);
+        chunk.forEach(session -> remove.remove(new Query(Criteria.where("_id").is(session.getId())
+                .and("status").is(session.getStatus())
+                .and("updatedAt").is(session.getUpdatedAt()))));
+        int removed = remove.execute().getDeletedCount();
+        if (removed < chunk.size()) {
+            log.info("{} session(s) changed while being archived, left in place", chunk.size() - removed);
+        }
+        return removed;
+    }
+
+    private void ensureArchiveIndexes() {
+        if (archiveIndexed) {
+            return;
+        }
+        IndexOperations indexes = mongoTemplate.indexOps(ClassSessionRepositoryCustom.ARCHIVE_COLLECTION);
+        indexes.createIndex(new Index().on("courseId", Sort.Direction.ASC).named("courseId"));
+        indexes.createIndex(new Index()
+                .on("teacherId", Sort.Direction.ASC)
+                .on("scheduledStartTime", Sort.Direction.ASC)
+                .named("teacher_start_idx"));
+        archiveIndexed = true;
+    }
+}
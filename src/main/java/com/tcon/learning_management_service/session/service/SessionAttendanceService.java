@@ -0,0 +1,241 @@
+package com.tcon.learning_management_service.session.service;
+
+import com.tcon.learning_management_service.session.dto.AttendanceRequest;
+import com.tcon.learning_management_service.session.entity.ClassSession;
+import com.tcon.learning_management_service.session.entity.SessionParticipant;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.util.Pair;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Attendance marking against the session_participants collection.
+ * A mark is one upsert of the student's participant document, which returns its
+ * previous state, followed by an $inc of the session's counters by exactly the
+ * difference it made. Concurrent marks never overwrite each other, a repeated mark
+ * leaves the counts alone, and the cost does not depend on the roster size.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SessionAttendanceService {
+
+    private final MongoTemplate mongoTemplate;
+    private final StudentTimelineService timelineService;
+
+    /**
+     * Mark one student's attendance.
+     *
+     * @return the session after the change
+     */
+    public ClassSession markAttendance(String sessionId, AttendanceRequest request) {
+        requireSession(sessionId);
+        boolean attended = Boolean.TRUE.equals(request.getAttended());
+
+        SessionParticipant before;
+        try {
+            before = upsertParticipant(sessionId, request, LocalDateTime.now());
+        } catch (DuplicateKeyException e) {
+            // Lost an insert race on (sessionId, studentId): the document exists now
+            before = upsertParticipant(sessionId, request, LocalDateTime.now());
+        }
+
+        int joined = before == null ? 1 : 0;
+        int attendedDelta = (attended ? 1 : 0) - (before != null && Boolean.TRUE.equals(before.getAttended()) ? 1 : 0);
+        if (joined == 0 && attendedDelta == 0) {
+            return mongoTemplate.findById(sessionId, ClassSession.class);
+        }
+
+        Update counts = new Update()
+                .inc("participantCount", joined)
+                .inc("attendedCount", attendedDelta)
+                .set("updatedAt", LocalDateTime.now());
+        ClassSession updated = mongoTemplate.findAndModify(new Query(Criteria.where("_id").is(sessionId)), counts,
+                FindAndModifyOptions.options().returnNew(true), ClassSession.class);
+        if (joined == 1) {
+            timelineService.recordAttendance(updated, List.of(request.getStudentId()));
+        }
+        return updated;
+    }
+
+    /**
+     * Mark a whole roster with a handful of bulk writes, then $inc the session's counts
+     * by the difference they made. Prior states come from one read; every write is
+     * conditional on the state it was computed from, so the deltas are exact. Students
+     * changed concurrently in between fall back to the single-student path.
+     *
+     * @return the session after the change
+     */
+    public ClassSession markAttendance(String sessionId, List<AttendanceRequest> roster) {
+        requireSession(sessionId);
+
+        // Last entry wins; duplicates would race each other on the unique index
+        Map<String, AttendanceRequest> byStudent = new LinkedHashMap<>();
+        roster.forEach(request -> byStudent.put(request.getStudentId(), request));
+        Map<String, Boolean> prior = attendedStates(sessionId, byStudent.keySet());
+
+        LocalDateTime now = LocalDateTime.now();
+        List<AttendanceRequest> joining = new ArrayList<>();
+        List<Pair<Query, Update>> nowAttended = new ArrayList<>();
+        List<Pair<Query, Update>> nowAbsent = new ArrayList<>();
+        List<Pair<Query, Update>> unchanged = new ArrayList<>();
+        for (AttendanceRequest request : byStudent.values()) {
+            Boolean was = prior.get(request.getStudentId());
+            boolean attended = Boolean.TRUE.equals(request.getAttended());
+            if (was == null) {
+                joining.add(request);
+                continue;
+            }
+            Pair<Query, Update> op = Pair.of(
+                    participantQuery(sessionId, request.getStudentId()).addCriteria(attendedIs(was)),
+                    participantUpdate(request, now));
+            (was == attended ? unchanged : attended ? nowAttended : nowAbsent).add(op);
+        }
+
+        // Insert-only upserts: the result says exactly which students were new
+        int joined = 0;
+        int attendedDelta = 0;
+        List<AttendanceRequest> retry = new ArrayList<>();
+        if (!joining.isEmpty()) {
+            List<Pair<Query, Update>> inserts = joining.stream()
+                    .map(request -> Pair.of(participantQuery(sessionId, request.getStudentId()),
+                            participantInsert(request, now)))
+                    .toList();
+            Set<Integer> inserted = new HashSet<>();
+            mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, SessionParticipant.class)
+                    .upsert(inserts)
+                    .execute()
+                    .getUpserts()
+                    .forEach(upsert -> inserted.add(upsert.getIndex()));
+            for (int i = 0; i < joining.size(); i++) {
+                if (inserted.contains(i)) {
+                    joined++;
+                    attendedDelta += Boolean.TRUE.equals(joining.get(i).getAttended()) ? 1 : 0;
+                } else {
+                    retry.add(joining.get(i));
+                }
+            }
+        }
+
+        int flippedIn = update(nowAttended);
+        int flippedOut = update(nowAbsent);
+        attendedDelta += flippedIn - flippedOut;
+        int touched = update(unchanged);
+
+        ClassSession updated;
+        if (joined == 0 && attendedDelta == 0) {
+            updated = mongoTemplate.findById(sessionId, ClassSession.class);
+        } else {
+            Update counts = new Update()
+                    .inc("participantCount", joined)
+                    .inc("attendedCount", attendedDelta)
+                    .set("updatedAt", now);
+            updated = mongoTemplate.findAndModify(new Query(Criteria.where("_id").is(sessionId)), counts,
+                    FindAndModifyOptions.options().returnNew(true), ClassSession.class);
+        }
+
+        // Flips that lost to a concurrent mark are redone one by one, with exact deltas
+        if (flippedIn < nowAttended.size() || flippedOut < nowAbsent.size() || touched < unchanged.size()) {
+            Map<String, Boolean> current = attendedStates(sessionId, byStudent.keySet());
+            byStudent.values().stream()
+                    .filter(request -> !retry.contains(request) && current.containsKey(request.getStudentId()))
+                    .filter(request -> current.get(request.getStudentId()) != Boolean.TRUE.equals(request.getAttended()))
+                    .forEach(retry::add);
+        }
+        for (AttendanceRequest request : retry) {
+            updated = markAttendance(sessionId, request);
+        }
+
+        timelineService.recordAttendance(updated, List.copyOf(byStudent.keySet()));
+
+        log.info("Attendance marked for {} student(s) in session {}: {} joined, attended {}{}",
+                byStudent.size(), sessionId, joined, attendedDelta >= 0 ? "+" : "", attendedDelta);
+        return updated;
+    }
+
+    // attended per student already on the roster; absent students are not in the map
+    private Map<String, Boolean> attendedStates(String sessionId, Collection<String> studentIds) {
+        Query query = new Query(Criteria.where("sessionId").is(sessionId).and("studentId").in(studentIds));
+        query.fields().include("studentId", "attended");
+        Map<String, Boolean> states = new HashMap<>();
+        mongoTemplate.find(query, SessionParticipant.class)
+                .forEach(p -> states.put(p.getStudentId(), Boolean.TRUE.equals(p.getAttended())));
+        return states;
+    }
+
+    private int update(List<Pair<Query, Update>> updates) {
+        if (updates.isEmpty()) {
+            return 0;
+        }
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, SessionParticipant.class);
+        updates.forEach(update -> bulk.updateOne(update.getFirst(), update.getSecond()));
+        return bulk.execute().getModifiedCount();
+    }
+
+    // attended is absent on rows that were never marked, which counts as false
+    private Criteria attendedIs(boolean attended) {
+        return attended ? Criteria.where("attended").is(true) : Criteria.where("attended").ne(true);
+    }
+
+    private SessionParticipant upsertParticipant(String sessionId, AttendanceRequest request, LocalDateTime now) {
+        return mongoTemplate.findAndModify(participantQuery(sessionId, request.getStudentId()),
+                participantUpdate(request, now),
+                FindAndModifyOptions.options().upsert(true).returnNew(false),
+                SessionParticipant.class);
+    }
+
+    private Update participantInsert(AttendanceRequest request, LocalDateTime now) {
+        boolean attended = Boolean.TRUE.equals(request.getAttended());
+        Update update = new Update()
+                .setOnInsert("attended", attended)
+                .setOnInsert("updatedAt", now)
+                .setOnInsert("studentName", request.getStudentName())
+                .setOnInsert("studentEmail", request.getStudentEmail())
+                .setOnInsert("createdAt", now);
+        if (attended) {
+            update.setOnInsert("joinedAt", now);
+        }
+        return update;
+    }
+
+    private Query participantQuery(String sessionId, String studentId) {
+        return new Query(Criteria.where("sessionId").is(sessionId).and("studentId").is(studentId));
+    }
+
+    private Update participantUpdate(AttendanceRequest request, LocalDateTime now) {
+        boolean attended = Boolean.TRUE.equals(request.getAttended());
+        Update update = new Update()
+                .set("attended", attended)
+                .set("updatedAt", now)
+                .setOnInsert("studentName", request.getStudentName())
+                .setOnInsert("studentEmail", request.getStudentEmail())
+                .setOnInsert("createdAt", now);
+        if (attended) {
+            update.set("joinedAt", now);
+        }
+        return update;
+    }
+
+    private void requireSession(String sessionId) {
+        if (!mongoTemplate.exists(new Query(Criteria.where("_id").is(sessionId)), ClassSession.class)) {
+            throw new IllegalArgumentException("Session not found: " + sessionId);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.tcon.learning_management_service.session.service;
+
+import com.tcon.learning_management_service.availability.entity.TeacherAvailability;
+import com.tcon.learning_management_service.availability.repository.TeacherAvailabilityRepository;
+import com.tcon.learning_management_service.availability.service.TeacherBusyIndex;
+import com.tcon.learning_management_service.booking.dto.AvailabilityDto;
+import com.tcon.learning_management_service.booking.repository.BookingRepository;
+import com.tcon.learning_management_service.booking.service.AvailabilityEngine;
+import com.tcon.learning_management_service.session.repository.ClassSessionRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Single place to ask whether a teacher is free for [start, end), honouring the
+ * teacher's buffer time. Live sessions and bookings holding the teacher's time both
+ * count, exactly as in the availability engine. Callers write on the strength of the
+ * answer, so it always comes from Mongo: the in-memory busy index is per instance and
+ * may lag writes made elsewhere, so it is at most a read-side pre-filter. Many slots at
+ * once are checked against a single range read.
+ */
+@Service
+@RequiredArgsConstructor
+public class SessionConflictService {
+
+    private final ClassSessionRepository sessionRepository;
+    private final TeacherAvailabilityRepository availabilityRepository;
+    private final BookingRepository bookingRepository;
+    private final AvailabilityEngine availabilityEngine;
+
+    public boolean hasConflict(String teacherId, LocalDateTime start, LocalDateTime end) {
+        return hasConflict(teacherId, start, end, null);
+    }
+
+    /**
+     * Same as {@link #hasConflict(String, LocalDateTime, LocalDateTime)} but ignoring
+     * one session, e.g. the one being rescheduled.
+     */
+    public boolean hasConflict(String teacherId, LocalDateTime start, LocalDateTime end, String excludeSessionId) {
+        int buffer = bufferMinutes(teacherId);
+        return sessionRepository.existsConflict(teacherId, start, end, buffer, excludeSessionId)
+                || bookingRepository.existsConflict(teacherId, start, end, buffer, excludeSessionId);
+    }
+
+    /**
+     * Start times of the slots that clash with the teacher's calendar, checked with one
+     * range read per collection however many slots there are.
+     *
+     * @param excludeSessionIds sessions to ignore, e.g. the ones being moved
+     */
+    public List<LocalDateTime> findConflicts(String teacherId, List<AvailabilityEngine.CandidateSlot> slots,
+                                             Collection<String> excludeSessionIds) {
+        if (slots.isEmpty()) {
+            return List.of();
+        }
+        int buffer = bufferMinutes(teacherId);
+        LocalDateTime rangeStart = slots.stream().map(AvailabilityEngine.CandidateSlot::getStart)
+                .min(Comparator.naturalOrder()).orElseThrow().minusMinutes(buffer);
+        LocalDateTime rangeEnd = slots.stream().map(AvailabilityEngine.CandidateSlot::getEnd)
+                .max(Comparator.naturalOrder()).orElseThrow().plusMinutes(buffer);
+
+        Set<String> excludedKeys = excludeSessionIds.stream()
+                .map(TeacherBusyIndex::sessionKey)
+                .collect(Collectors.toSet());
+        List<AvailabilityEngine.BusyInterval> busy = availabilityEngine.toBusyIntervals(
+                sessionRepository.findActiveByTeacherIdOverlapping(teacherId, rangeStart, rangeEnd),
+                bookingRepository.findActiveByTeacherIdOverlapping(teacherId, rangeStart, rangeEnd));
+        busy.removeIf(interval -> excludedKeys.contains(interval.getKey()));
+
+        return availabilityEngine.evaluate(slots, busy, buffer, null).stream()
+                .filter(result -> !Boolean.TRUE.equals(result.getIsAvailable()))
+                .map(AvailabilityDto::getStartTime)
+                .toList();
+    }
+
+    private int bufferMinutes(String teacherId) {
+        return availabilityRepository.findByTeacherId(teacherId)
+                .map(TeacherAvailability::getBufferTimeMinutes)
+                .orElse(0);
+    }
+}
@@ -0,0 +1,95 @@
+package com.tcon.learning_management_service.session.service;
+
+import com.tcon.learning_management_service.session.dto.ParticipantPage;
+import com.tcon.learning_management_service.session.entity.SessionParticipant;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Read and copy access to session rosters in session_participants.
+ * Pages walk the (sessionId, studentId) index by student id, so every page costs
+ * the same however deep into a large roster it is.
+ */
+@Slf4j
+@Service
+public class SessionParticipantService {
+
+    private final MongoTemplate mongoTemplate;
+    private final int defaultPageSize;
+    private final int maxPageSize;
+
+    public SessionParticipantService(MongoTemplate mongoTemplate,
+                                     @Value("${session.participants.default-size:50}") int defaultPageSize,
+                                     @Value("${session.participants.max-size:200}") int maxPageSize) {
+        this.mongoTemplate = mongoTemplate;
+        this.defaultPageSize = defaultPageSize;
+        this.maxPageSize = maxPageSize;
+    }
+
+    /**
+     * One page of a session's roster, after the given student id.
+     */
+    public ParticipantPage getParticipants(String sessionId, String after, Integer limit) {
+        int size = limit == null ? defaultPageSize : limit;
+        if (size < 1 || size > maxPageSize) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + maxPageSize);
+        }
+
+        Criteria criteria = Criteria.where("sessionId").is(sessionId);
+        if (after != null && !after.isBlank()) {
+            criteria = criteria.and("studentId").gt(after);
+        }
+        Query query = new Query(criteria)
+                .with(Sort.by(Sort.Direction.ASC, "studentId"))
+                .limit(size + 1);
+
+        List<SessionParticipant> found = mongoTemplate.find(query, SessionParticipant.class);
+        boolean hasMore = found.size() > size;
+        List<SessionParticipant> items = hasMore ? found.subList(0, size) : found;
+
+        return ParticipantPage.builder()
+                .items(items)
+                .nextCursor(hasMore ? items.get(items.size() - 1).getStudentId() : null)
+                .hasMore(hasMore)
+                .size(items.size())
+                .build();
+    }
+
+    /**
+     * Put everyone on one session's roster onto another's, with attendance cleared.
+     *
+     * @return number of participants copied
+     */
+    public int copyRoster(String fromSessionId, String toSessionId) {
+        Query roster = new Query(Criteria.where("sessionId").is(fromSessionId));
+        roster.fields().include("studentId", "studentName", "studentEmail");
+        List<SessionParticipant> participants = mongoTemplate.find(roster, SessionParticipant.class);
+        if (participants.isEmpty()) {
+            return 0;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<SessionParticipant> copies = participants.stream()
+                .map(p -> SessionParticipant.builder()
+                        .sessionId(toSessionId)
+                        .studentId(p.getStudentId())
+                        .studentName(p.getStudentName())
+                        .studentEmail(p.getStudentEmail())
+                        .createdAt(now)
+                        .updatedAt(now)
+                        .build())
+                .toList();
+        mongoTemplate.insert(copies, SessionParticipant.class);
+
+        log.info("Copied {} participant(s) from session {} to {}", copies.size(), fromSessionId, toSessionId);
+        return copies.size();
+    }
+}
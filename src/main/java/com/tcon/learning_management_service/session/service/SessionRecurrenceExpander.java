@@ -0,0 +1,184 @@
+package com.tcon.learning_management_service.session.service;
+
+import com.tcon.learning_management_service.availability.service.TeacherBusyIndex;
+import com.tcon.learning_management_service.course.entity.Course;
+import com.tcon.learning_management_service.course.entity.CourseSchedule;
+import com.tcon.learning_management_service.event.SessionEventPublisher;
+import com.tcon.learning_management_service.session.entity.ClassSession;
+import com.tcon.learning_management_service.session.entity.ClassStatus;
+import com.tcon.learning_management_service.session.entity.SessionType;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Turns a course's weekly schedule into its sessions.
+ * Occurrences are computed in memory by jumping from each weekday's first date a
+ * week at a time, written with a single insert and announced with one event.
+ * Every occurrence carries a recurrence key (course id + occurrence number) under a
+ * unique index, so a redelivered COURSE_PUBLISHED only fills in what is missing.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SessionRecurrenceExpander {
+
+    private static final LocalTime DEFAULT_START = LocalTime.of(10, 0);
+    private static final LocalTime DEFAULT_END = LocalTime.of(11, 0);
+
+    private final MongoTemplate mongoTemplate;
+    private final TeacherBusyIndex busyIndex;
+    private final SessionEventPublisher eventPublisher;
+
+    /**
+     * Create whichever of the course's sessions do not exist yet.
+     *
+     * @return the sessions created by this call
+     */
+    public List<ClassSession> generate(Course course) {
+        List<ClassSession> occurrences = expand(course);
+        if (occurrences.isEmpty()) {
+            return occurrences;
+        }
+
+        Query existing = new Query(Criteria.where("courseId").is(course.getId()).and("recurrenceKey").ne(null));
+        existing.fields().include("recurrenceKey");
+        Set<String> existingKeys = new HashSet<>();
+        mongoTemplate.find(existing, ClassSession.class).forEach(s -> existingKeys.add(s.getRecurrenceKey()));
+
+        List<ClassSession> missing = occurrences.stream()
+                .filter(s -> !existingKeys.contains(s.getRecurrenceKey()))
+                .toList();
+        if (missing.isEmpty()) {
+            log.info("Sessions for course {} already generated, nothing to do", course.getId());
+            return List.of();
+        }
+
+        // Ids are assigned up front so a partly applied insert can be read back
+        missing.forEach(s -> s.setId(new ObjectId().toHexString()));
+
+        List<ClassSession> created;
+        try {
+            created = new ArrayList<>(mongoTemplate.insert(missing, ClassSession.class));
+        } catch (DuplicateKeyException e) {
+            // A concurrent delivery got there first. The ordered insert stops at the first
+            // duplicate, so whatever this call wrote before it is still ours to announce.
+            created = insertedBefore(missing);
+            log.warn("Sessions for course {} were generated concurrently, {} written by this call: {}",
+                    course.getId(), created.size(), e.getMessage());
+            if (created.isEmpty()) {
+                return List.of();
+            }
+        }
+
+        created.forEach(busyIndex::markBusy);
+        eventPublisher.publishSessionsCreated(course.getId(), course.getTeacherId(), created);
+
+        log.info("Generated {} of {} session(s) for course {}", created.size(), occurrences.size(), course.getId());
+        return created;
+    }
+
+    // Sessions of an interrupted insert that made it to the database
+    private List<ClassSession> insertedBefore(List<ClassSession> attempted) {
+        List<String> ids = attempted.stream().map(ClassSession::getId).toList();
+        List<ClassSession> inserted = new ArrayList<>(
+                mongoTemplate.find(new Query(Criteria.where("_id").in(ids)), ClassSession.class));
+        inserted.sort(Comparator.comparing(ClassSession::getScheduledStartTime));
+        return inserted;
+    }
+
+    /**
+     * Every occurrence of the course's schedule between its start and end dates,
+     * capped at totalSessions, in chronological order. Nothing is written.
+     */
+    public List<ClassSession> expand(Course course) {
+        CourseSchedule schedule = course.getSchedule();
+        if (schedule == null || schedule.getDaysOfWeek() == null || schedule.getDaysOfWeek().isEmpty()
+                || course.getStartDate() == null || course.getEndDate() == null) {
+            log.warn("⚠️ No schedule found for course: {}", course.getId());
+            return List.of();
+        }
+
+        LocalTime startTime = schedule.getStartTime() != null ? schedule.getStartTime() : DEFAULT_START;
+        LocalTime endTime = schedule.getEndTime() != null ? schedule.getEndTime() : DEFAULT_END;
+        int durationMinutes = (int) Duration.between(startTime, endTime).toMinutes();
+        int maxSessions = course.getTotalSessions() != null ? course.getTotalSessions() : Integer.MAX_VALUE;
+
+        List<LocalDate> dates = weeklyDates(schedule.getDaysOfWeek(), course.getStartDate(), course.getEndDate(),
+                maxSessions);
+        List<ClassSession> sessions = new ArrayList<>(dates.size());
+        for (LocalDate date : dates) {
+            sessions.add(occurrence(course, date, startTime, endTime, durationMinutes, sessions.size() + 1));
+        }
+        return sessions;
+    }
+
+    /**
+     * Dates in [from, until] falling on any of the given weekdays, in order, at most max.
+     * Jumps from each weekday's first date a week at a time instead of walking every day.
+     */
+    public static List<LocalDate> weeklyDates(Collection<DayOfWeek> days, LocalDate from, LocalDate until, int max) {
+        // First date of each weekday on or after 'from'; each week repeats this order
+        List<LocalDate> firstDates = days.stream()
+                .distinct()
+                .map(day -> from.with(TemporalAdjusters.nextOrSame(day)))
+                .sorted(Comparator.naturalOrder())
+                .toList();
+
+        List<LocalDate> dates = new ArrayList<>();
+        for (int week = 0; dates.size() < max; week++) {
+            boolean any = false;
+            for (LocalDate first : firstDates) {
+                LocalDate date = first.plusWeeks(week);
+                if (date.isAfter(until) || dates.size() >= max) {
+                    break;
+                }
+                dates.add(date);
+                any = true;
+            }
+            if (!any) {
+                break;
+            }
+        }
+        return dates;
+    }
+
+    private ClassSession occurrence(Course course, LocalDate date, LocalTime startTime, LocalTime endTime,
+                                    int durationMinutes, int number) {
+        return ClassSession.builder()
+                .sessionType(SessionType.REGULAR)
+                .courseId(course.getId())
+                .teacherId(course.getTeacherId())
+                .teacherName("")
+                .title(course.getTitle() + " - Session " + number)
+                .description("Group session for " + course.getTitle())
+                .status(ClassStatus.SCHEDULED)
+                .scheduledStartTime(date.atTime(startTime))
+                .scheduledEndTime(date.atTime(endTime))
+                .durationMinutes(durationMinutes)
+                .maxParticipants(course.getMaxStudents())
+                .attendedCount(0)
+                .materialUrls(new ArrayList<>())
+                .reminderSent(false)
+                .recurrenceKey(course.getId() + "#" + number)
+                .createdBy(course.getTeacherId())
+                .build();
+    }
+}
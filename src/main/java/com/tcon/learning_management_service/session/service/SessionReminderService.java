@@ -0,0 +1,169 @@
+package com.tcon.learning_management_service.session.service;
+
+import com.tcon.learning_management_service.event.SessionEventPublisher;
+import com.tcon.learning_management_service.session.entity.ClassSession;
+import com.tcon.learning_management_service.session.entity.ClassStatus;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Session reminders, safe to run on every instance at once.
+ * A run first claims the due sessions with one updateMany that stamps its own token,
+ * so each session is owned by exactly one node; it then streams its claim, publishes
+ * the events in batches and marks each batch sent with one update. A claim left behind
+ * by a crashed node becomes claimable again after claim-timeout.
+ */
+@Slf4j
+@Service
+public class SessionReminderService {
+
+    private final MongoTemplate mongoTemplate;
+    private final SessionEventPublisher eventPublisher;
+    private final Duration leadTime;
+    private final Duration claimTimeout;
+    private final int batchSize;
+    private final Timer sweepTimer;
+    private final Timer lagTimer;
+    private final Counter sentCounter;
+
+    public SessionReminderService(MongoTemplate mongoTemplate,
+                                  SessionEventPublisher eventPublisher,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${session.reminders.lead-time:PT1H}") Duration leadTime,
+                                  @Value("${session.reminders.claim-timeout:PT5M}") Duration claimTimeout,
+                                  @Value("${session.reminders.batch-size:200}") int batchSize) {
+        this.mongoTemplate = mongoTemplate;
+        this.eventPublisher = eventPublisher;
+        this.leadTime = leadTime;
+        this.claimTimeout = claimTimeout;
+        this.batchSize = batchSize;
+        this.sweepTimer = Timer.builder("session.reminder.sweep")
+                .description("Duration of a reminder run")
+                .register(meterRegistry);
+        this.lagTimer = Timer.builder("session.reminder.lag")
+                .description("Delay between a reminder falling due and being sent")
+                .register(meterRegistry);
+        this.sentCounter = Counter.builder("session.reminders.sent")
+                .description("Session reminders published")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Send reminders for every session starting within the lead time.
+     *
+     * @return number of reminders sent by this node
+     */
+    public int sendDueReminders() {
+        LocalDateTime now = LocalDateTime.now();
+        return run(Criteria.where("scheduledStartTime").gt(now).lte(now.plus(leadTime)));
+    }
+
+    /**
+     * Send reminders for the given sessions if they are still due (used by the
+     * deadline scheduler; the claim keeps it exactly-once with the sweep).
+     */
+    public int sendReminders(Collection<String> sessionIds) {
+        return run(Criteria.where("_id").in(sessionIds).and("scheduledStartTime").gt(LocalDateTime.now()));
+    }
+
+    private int run(Criteria selection) {
+        long startNanos = System.nanoTime();
+        String token = UUID.randomUUID().toString();
+        try {
+            long claimed = claim(selection, token);
+            return claimed == 0 ? 0 : publishClaimed(token);
+        } finally {
+            sweepTimer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private long claim(Criteria selection, String token) {
+        LocalDateTime now = LocalDateTime.now();
+        Query due = new Query(new Criteria().andOperator(
+                selection,
+                Criteria.where("status").is(ClassStatus.SCHEDULED).and("reminderSent").ne(true),
+                new Criteria().orOperator(
+                        Criteria.where("reminderClaimToken").is(null),
+                        Criteria.where("reminderClaimedAt").lt(now.minus(claimTimeout)))));
+
+        Update claim = new Update()
+                .set("reminderClaimToken", token)
+                .set("reminderClaimedAt", now);
+
+        return mongoTemplate.updateMulti(due, claim, ClassSession.class).getModifiedCount();
+    }
+
+    private int publishClaimed(String token) {
+        Query claimed = new Query(Criteria.where("reminderClaimToken").is(token));
+        claimed.fields().include("courseId", "teacherId", "scheduledStartTime");
+
+        int sent = 0;
+        List<ClassSession> batch = new ArrayList<>(batchSize);
+        try (Stream<ClassSession> stream = mongoTemplate.stream(claimed, ClassSession.class)) {
+            for (ClassSession session : (Iterable<ClassSession>) stream::iterator) {
+                batch.add(session);
+                if (batch.size() == batchSize) {
+                    sent += publishBatch(batch, token);
+                    batch.clear();
+                }
+            }
+        }
+        if (!batch.isEmpty()) {
+            sent += publishBatch(batch, token);
+        }
+
+        if (sent > 0) {
+            log.info("Sent {} session reminders", sent);
+        }
+        return sent;
+    }
+
+    private int publishBatch(List<ClassSession> batch, String token) {
+        List<String> ids = batch.stream().map(ClassSession::getId).toList();
+        Query owned = new Query(Criteria.where("_id").in(ids).and("reminderClaimToken").is(token));
+
+        try {
+            eventPublisher.publishSessionReminders(batch).get(30, TimeUnit.SECONDS);
+        } catch (Exception e) {
+            // Hand the batch back so the next run retries it
+            log.error("Failed to publish {} session reminders, releasing claim", batch.size(), e);
+            mongoTemplate.updateMulti(owned, new Update().unset("reminderClaimToken").unset("reminderClaimedAt"),
+                    ClassSession.class);
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            return 0;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        mongoTemplate.updateMulti(owned, new Update()
+                .set("reminderSent", true)
+                .set("reminderSentAt", now)
+                .unset("reminderClaimToken")
+                .unset("reminderClaimedAt"), ClassSession.class);
+
+        for (ClassSession session : batch) {
+            Duration lag = Duration.between(session.getScheduledStartTime().minus(leadTime), now);
+            lagTimer.record(lag.isNegative() ? Duration.ZERO : lag);
+        }
+        sentCounter.increment(batch.size());
+        return batch.size();
+    }
+}
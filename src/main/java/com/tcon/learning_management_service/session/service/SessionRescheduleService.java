@@ -1,17 +1,26 @@
 package com.tcon.learning_management_service.session.service;
 
+import com.tcon.learning_management_service.availability.service.TeacherBusyIndex;
+import com.tcon.learning_management_service.booking.entity.Booking;
+import com.tcon.learning_management_service.booking.entity.BookingStatus;
 import com.tcon.learning_management_service.event.SessionEventPublisher;
 import com.tcon.learning_management_service.session.dto.SessionDto;
 import com.tcon.learning_management_service.session.dto.SessionRescheduleRequest;
 import com.tcon.learning_management_service.session.entity.ClassSession;
 import com.tcon.learning_management_service.session.entity.ClassStatus;
 import com.tcon.learning_management_service.session.repository.ClassSessionRepository;
+import com.tcon.learning_management_service.session.scheduler.SessionDeadlineScheduler;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 
 @Slf4j
@@ -19,8 +28,17 @@ import java.util.List;
 @RequiredArgsConstructor
 public class SessionRescheduleService {
 
+    private static final List<BookingStatus> HOLDING_SEAT = List.of(
+            BookingStatus.PENDING, BookingStatus.PENDING_PAYMENT, BookingStatus.CONFIRMED);
+
+    private final MongoTemplate mongoTemplate;
     private final ClassSessionRepository sessionRepository;
     private final SessionEventPublisher eventPublisher;
+    private final TeacherBusyIndex busyIndex;
+    private final SessionDeadlineScheduler deadlineScheduler;
+    private final SessionParticipantService participantService;
+    private final StudentTimelineService timelineService;
+    private final SessionConflictService conflictService;
 
     @Transactional
     public SessionDto rescheduleSession(String sessionId, String teacherId,
@@ -42,16 +60,11 @@ public class SessionRescheduleService {
         LocalDateTime newEndTime = request.getNewScheduledStartTime()
                 .plusMinutes(oldSession.getDurationMinutes());
 
-        // Check for conflicts
-        List<ClassSession> conflicts = sessionRepository.findByTeacherIdAndScheduledStartTimeBetween(
-                teacherId,
-                request.getNewScheduledStartTime().minusMinutes(oldSession.getDurationMinutes()),
-                newEndTime
-        );
-
-        conflicts.removeIf(s -> s.getId().equals(sessionId)); // Exclude current session
+        // Check for conflicts, excluding the session being moved
+        boolean conflict = conflictService.hasConflict(teacherId, request.getNewScheduledStartTime(), newEndTime,
+                sessionId);
 
-        if (!conflicts.isEmpty()) {
+        if (conflict) {
             throw new IllegalArgumentException("New time slot conflicts with existing sessions");
         }
 
@@ -71,7 +84,11 @@ public class SessionRescheduleService {
                 .meetingId(oldSession.getMeetingId())
                 .meetingPassword(oldSession.getMeetingPassword())
                 .maxParticipants(oldSession.getMaxParticipants())
-                .participants(oldSession.getParticipants())
+                .participantCount(oldSession.getParticipantCount())
+                // Seats move with the session, so it cannot be overbooked at its new time
+                .reservedSeats(oldSession.getReservedSeats() != null ? oldSession.getReservedSeats() : 0)
+                .reservedStudentIds(oldSession.getReservedStudentIds() != null
+                        ? new ArrayList<>(oldSession.getReservedStudentIds()) : new ArrayList<>())
                 .materialUrls(oldSession.getMaterialUrls())
                 .notes(oldSession.getNotes())
                 .rescheduledFromId(sessionId)
@@ -82,6 +99,9 @@ public class SessionRescheduleService {
                 .build();
 
         ClassSession savedNewSession = sessionRepository.save(newSession);
+        participantService.copyRoster(sessionId, savedNewSession.getId());
+        timelineService.copySession(sessionId, savedNewSession);
+        moveBookings(sessionId, savedNewSession);
 
         // Update old session status
         oldSession.setStatus(ClassStatus.RESCHEDULED);
@@ -90,6 +110,11 @@ public class SessionRescheduleService {
         oldSession.setRescheduledAt(LocalDateTime.now());
         sessionRepository.save(oldSession);
 
+        busyIndex.release(teacherId, TeacherBusyIndex.sessionKey(sessionId));
+        busyIndex.markBusy(savedNewSession);
+        deadlineScheduler.untrack(sessionId);
+        deadlineScheduler.track(savedNewSession);
+
         log.info("Session rescheduled successfully. Old: {}, New: {}", sessionId, savedNewSession.getId());
 
         // Publish event
@@ -98,6 +123,36 @@ public class SessionRescheduleService {
         return toDto(savedNewSession);
     }
 
+    /**
+     * Point the old session's live bookings at the new one, so a later cancellation
+     * gives the seat back where it is now held. Package bookings link their sessions
+     * through sessions[], so the matching element is moved as well.
+     */
+    private void moveBookings(String fromSessionId, ClassSession to) {
+        LocalDateTime now = LocalDateTime.now();
+        Query single = new Query(Criteria.where("sessionId").is(fromSessionId).and("status").in(HOLDING_SEAT));
+        Update update = new Update()
+                .set("sessionId", to.getId())
+                .set("sessionStartTime", to.getScheduledStartTime())
+                .set("sessionEndTime", to.getScheduledEndTime())
+                .set("updatedAt", now);
+        long moved = mongoTemplate.updateMulti(single, update, Booking.class).getModifiedCount();
+
+        Query packaged = new Query(Criteria.where("sessions.sessionId").is(fromSessionId)
+                .and("status").in(HOLDING_SEAT));
+        Update slot = new Update()
+                .set("sessions.$[s].sessionId", to.getId())
+                .set("sessions.$[s].startTime", to.getScheduledStartTime())
+                .set("sessions.$[s].endTime", to.getScheduledEndTime())
+                .set("updatedAt", now)
+                .filterArray(Criteria.where("s.sessionId").is(fromSessionId));
+        moved += mongoTemplate.updateMulti(packaged, slot, Booking.class).getModifiedCount();
+
+        if (moved > 0) {
+            log.info("Moved {} booking(s) from session {} to {}", moved, fromSessionId, to.getId());
+        }
+    }
+
     private SessionDto toDto(ClassSession session) {
         return SessionDto.builder()
                 .id(session.getId())
@@ -116,7 +171,7 @@ public class SessionRescheduleService {
                 .meetingUrl(session.getMeetingUrl())
                 .meetingId(session.getMeetingId())
                 .meetingPassword(session.getMeetingPassword())
-                .participants(session.getParticipants())
+                .participantCount(session.getParticipantCount())
                 .maxParticipants(session.getMaxParticipants())
                 .attendedCount(session.getAttendedCount())
                 .recordingUrl(session.getRecordingUrl())
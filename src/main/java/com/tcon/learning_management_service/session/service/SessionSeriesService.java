@@ -0,0 +1,398 @@
+package com.tcon.learning_management_service.session.service;
+
+import com.tcon.learning_management_service.availability.service.TeacherBusyIndex;
+import com.tcon.learning_management_service.booking.entity.Booking;
+import com.tcon.learning_management_service.booking.service.AvailabilityEngine;
+import com.tcon.learning_management_service.booking.service.BookingLockService;
+import com.tcon.learning_management_service.booking.service.CancellationService;
+import com.tcon.learning_management_service.course.entity.Course;
+import com.tcon.learning_management_service.course.repository.CourseRepository;
+import com.tcon.learning_management_service.event.SessionEventPublisher;
+import com.tcon.learning_management_service.session.dto.SeriesRescheduleRequest;
+import com.tcon.learning_management_service.session.dto.SessionSeriesDto;
+import com.tcon.learning_management_service.session.dto.SessionSeriesRequest;
+import com.tcon.learning_management_service.session.entity.ClassSession;
+import com.tcon.learning_management_service.session.entity.ClassStatus;
+import com.tcon.learning_management_service.session.entity.SessionSeries;
+import com.tcon.learning_management_service.session.entity.StudentTimelineEntry;
+import com.tcon.learning_management_service.session.repository.SessionSeriesRepository;
+import com.tcon.learning_management_service.session.scheduler.SessionDeadlineScheduler;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.AggregationUpdate;
+import org.springframework.data.mongodb.core.aggregation.ArithmeticOperators;
+import org.springframework.data.mongodb.core.aggregation.SetOperation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Schedules and maintains recurring session series.
+ * Creating a series expands the rule in memory, checks every occurrence against the
+ * teacher's calendar with one range read and writes them with a single insert.
+ * Cancelling or moving a series touches all of its future occurrences with one
+ * update on (seriesId, status, scheduledStartTime). All three run under the
+ * teacher's calendar lock, like batch booking.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SessionSeriesService {
+
+    private static final Duration LOCK_WAIT = Duration.ofSeconds(2);
+    private static final int MAX_OCCURRENCES = 500;
+
+    private final MongoTemplate mongoTemplate;
+    private final SessionSeriesRepository seriesRepository;
+    private final CourseRepository courseRepository;
+    private final SessionConflictService conflictService;
+    private final BookingLockService lockService;
+    private final CancellationService cancellationService;
+    private final TeacherBusyIndex busyIndex;
+    private final SessionDeadlineScheduler deadlineScheduler;
+    private final SessionEventPublisher eventPublisher;
+
+    public SessionSeriesDto createSeries(String teacherId, SessionSeriesRequest request) {
+        log.info("Scheduling session series for course: {} by teacher: {}", request.getCourseId(), teacherId);
+
+        Course course = courseRepository.findById(request.getCourseId())
+                .orElseThrow(() -> new IllegalArgumentException("Course not found: " + request.getCourseId()));
+        if (!course.getTeacherId().equals(teacherId)) {
+            throw new IllegalArgumentException("Unauthorized: Teacher does not own this course");
+        }
+        if (request.getEndDate().isBefore(request.getStartDate())) {
+            throw new IllegalArgumentException("End date must not be before start date");
+        }
+
+        int max = request.getOccurrences() != null ? request.getOccurrences() : MAX_OCCURRENCES;
+        LocalDateTime now = LocalDateTime.now();
+        // Dates already past are skipped; today's occurrence counts only if it has not started
+        LocalDate from = request.getStartDate().isBefore(now.toLocalDate()) ? now.toLocalDate() : request.getStartDate();
+        List<LocalDateTime> starts = SessionRecurrenceExpander.weeklyDates(request.getDaysOfWeek(),
+                        from, request.getEndDate(), max + 1).stream()
+                .map(date -> date.atTime(request.getStartTime()))
+                .filter(start -> start.isAfter(now))
+                .limit(max)
+                .toList();
+        if (starts.isEmpty()) {
+            throw new IllegalArgumentException("Recurrence rule has no future occurrences");
+        }
+
+        String seriesId = new ObjectId().toHexString();
+        String lockKey = "teacher:" + teacherId;
+        if (lockService.tryAcquire(lockKey, seriesId, LOCK_WAIT).isEmpty()) {
+            throw new IllegalArgumentException("Teacher's calendar is being updated, please try again");
+        }
+
+        try {
+            rejectConflicts(teacherId, starts, request.getDurationMinutes(), List.of());
+
+            SessionSeries series = seriesRepository.save(SessionSeries.builder()
+                    .id(seriesId)
+                    .teacherId(teacherId)
+                    .courseId(course.getId())
+                    .title(request.getTitle())
+                    .description(request.getDescription())
+                    .sessionType(request.getSessionType())
+                    .daysOfWeek(request.getDaysOfWeek())
+                    .startTime(request.getStartTime())
+                    .durationMinutes(request.getDurationMinutes())
+                    .startDate(request.getStartDate())
+                    .endDate(request.getEndDate())
+                    .maxOccurrences(request.getOccurrences())
+                    .maxParticipants(request.getMaxParticipants() != null
+                            ? request.getMaxParticipants() : course.getMaxStudents())
+                    .meetingUrl(request.getMeetingUrl())
+                    .meetingId(request.getMeetingId())
+                    .meetingPassword(request.getMeetingPassword())
+                    .status(SessionSeries.Status.ACTIVE)
+                    .sessionCount(starts.size())
+                    .createdAt(now)
+                    .updatedAt(now)
+                    .build());
+
+            List<ClassSession> occurrences = new ArrayList<>(starts.size());
+            for (LocalDateTime start : starts) {
+                occurrences.add(occurrence(series, course, start, occurrences.size() + 1));
+            }
+            List<ClassSession> created = new ArrayList<>(mongoTemplate.insert(occurrences, ClassSession.class));
+
+            created.forEach(session -> {
+                busyIndex.markBusy(session);
+                deadlineScheduler.track(session);
+            });
+            eventPublisher.publishSessionsCreated(course.getId(), teacherId, created);
+
+            log.info("✅ Series {} scheduled with {} session(s)", seriesId, created.size());
+            return toDto(series, created.stream().map(ClassSession::getId).toList());
+
+        } finally {
+            lockService.releaseLock(lockKey, seriesId);
+        }
+    }
+
+    public SessionSeriesDto getSeries(String seriesId) {
+        SessionSeries series = requireSeries(seriesId);
+        return toDto(series, futureSessionIds(seriesId));
+    }
+
+    /**
+     * Cancel every future occurrence of a series, and the bookings on them.
+     */
+    public SessionSeriesDto cancelSeries(String seriesId, String teacherId, String reason) {
+        log.info("Cancelling session series: {}", seriesId);
+        SessionSeries series = requireOwnedActiveSeries(seriesId, teacherId);
+
+        String lockKey = "teacher:" + teacherId;
+        String ownerId = new ObjectId().toHexString();
+        if (lockService.tryAcquire(lockKey, ownerId, LOCK_WAIT).isEmpty()) {
+            throw new IllegalArgumentException("Teacher's calendar is being updated, please try again");
+        }
+
+        try {
+            List<String> ids = futureSessionIds(seriesId);
+            LocalDateTime now = LocalDateTime.now();
+            if (!ids.isEmpty()) {
+                mongoTemplate.updateMulti(futureOccurrences(seriesId, ids),
+                        new Update()
+                                .set("status", ClassStatus.CANCELLED)
+                                .set("cancellationReason", reason)
+                                .set("cancelledAt", now)
+                                .set("cancelledBy", teacherId)
+                                .set("updatedAt", now),
+                        ClassSession.class);
+
+                busyIndex.invalidate(teacherId);
+                ids.forEach(deadlineScheduler::untrack);
+                cancellationService.cancelBookingsForSessions(ids, reason, teacherId);
+            }
+
+            series.setStatus(SessionSeries.Status.CANCELLED);
+            series.setCancellationReason(reason);
+            series.setCancelledAt(now);
+            series.setUpdatedAt(now);
+            SessionSeries saved = seriesRepository.save(series);
+
+            eventPublisher.publishSeriesChanged("SESSION_SERIES_CANCELLED", saved, ids, reason);
+            log.info("Series {} cancelled, {} future session(s)", seriesId, ids.size());
+            return toDto(saved, ids);
+
+        } finally {
+            lockService.releaseLock(lockKey, ownerId);
+        }
+    }
+
+    /**
+     * Move every future occurrence of a series to a new time of day, optionally with a
+     * new duration. Occurrences keep their ids, rosters and bookings.
+     */
+    public SessionSeriesDto rescheduleSeries(String seriesId, String teacherId, SeriesRescheduleRequest request) {
+        log.info("Rescheduling session series: {}", seriesId);
+        SessionSeries series = requireOwnedActiveSeries(seriesId, teacherId);
+        int duration = request.getDurationMinutes() != null
+                ? request.getDurationMinutes() : series.getDurationMinutes();
+        long shiftMinutes = Duration.between(series.getStartTime(), request.getNewStartTime()).toMinutes();
+
+        String lockKey = "teacher:" + teacherId;
+        String ownerId = new ObjectId().toHexString();
+        if (lockService.tryAcquire(lockKey, ownerId, LOCK_WAIT).isEmpty()) {
+            throw new IllegalArgumentException("Teacher's calendar is being updated, please try again");
+        }
+
+        try {
+            Query future = new Query(futureCriteria(seriesId))
+                    .with(Sort.by(Sort.Direction.ASC, "scheduledStartTime"));
+            future.fields().include("scheduledStartTime");
+            List<ClassSession> sessions = mongoTemplate.find(future, ClassSession.class);
+            if (sessions.isEmpty()) {
+                throw new IllegalArgumentException("Series has no future sessions to reschedule");
+            }
+
+            List<String> ids = sessions.stream().map(ClassSession::getId).toList();
+            List<LocalDateTime> newStarts = sessions.stream()
+                    .map(session -> session.getScheduledStartTime().plusMinutes(shiftMinutes))
+                    .toList();
+            if (!newStarts.get(0).isAfter(LocalDateTime.now())) {
+                throw new IllegalArgumentException("New start time must be in the future for every session");
+            }
+            rejectConflicts(teacherId, newStarts, duration, ids);
+
+            LocalDateTime now = LocalDateTime.now();
+            long shiftMillis = Duration.ofMinutes(shiftMinutes).toMillis();
+            long endMillis = shiftMillis + Duration.ofMinutes(duration).toMillis();
+
+            // One $set stage, so both ends are computed from the stored start
+            mongoTemplate.updateMulti(futureOccurrences(seriesId, ids),
+                    AggregationUpdate.update().set(SetOperation
+                            .set("scheduledStartTime").toValue(shifted("scheduledStartTime", shiftMillis))
+                            .and().set("scheduledEndTime").toValue(shifted("scheduledStartTime", endMillis))
+                            .and().set("durationMinutes").toValue(duration)
+                            .and().set("rescheduleReason").toValue(request.getReason())
+                            .and().set("rescheduledAt").toValue(now)
+                            .and().set("reminderSent").toValue(false)
+                            .and().set("updatedAt").toValue(now)),
+                    ClassSession.class);
+
+            // Keep denormalised times in step: student timelines and seat bookings
+            mongoTemplate.updateMulti(new Query(Criteria.where("sessionId").in(ids)),
+                    AggregationUpdate.update().set(SetOperation
+                            .set("scheduledStartTime").toValue(shifted("scheduledStartTime", shiftMillis))
+                            .and().set("scheduledEndTime").toValue(shifted("scheduledStartTime", endMillis))),
+                    StudentTimelineEntry.class);
+            mongoTemplate.updateMulti(new Query(Criteria.where("sessionId").in(ids)),
+                    AggregationUpdate.update().set(SetOperation
+                            .set("sessionStartTime").toValue(shifted("sessionStartTime", shiftMillis))
+                            .and().set("sessionEndTime").toValue(shifted("sessionStartTime", endMillis))
+                            .and().set("updatedAt").toValue(now)),
+                    Booking.class);
+
+            busyIndex.invalidate(teacherId);
+            List<ClassSession> moved = mongoTemplate.find(new Query(Criteria.where("_id").in(ids)), ClassSession.class);
+            movePackageSlots(moved, now);
+            moved.forEach(session -> {
+                deadlineScheduler.untrack(session.getId());
+                deadlineScheduler.track(session);
+            });
+
+            series.setStartTime(request.getNewStartTime());
+            series.setDurationMinutes(duration);
+            series.setUpdatedAt(now);
+            SessionSeries saved = seriesRepository.save(series);
+
+            eventPublisher.publishSeriesChanged("SESSION_SERIES_RESCHEDULED", saved, ids, request.getReason());
+            log.info("Series {} rescheduled, {} future session(s) moved by {} minute(s)",
+                    seriesId, ids.size(), shiftMinutes);
+            return toDto(saved, ids);
+
+        } finally {
+            lockService.releaseLock(lockKey, ownerId);
+        }
+    }
+
+    // Package bookings keep each session's time in sessions[]: one array-filtered update
+    // per moved session, sent as a single bulk write
+    private void movePackageSlots(List<ClassSession> moved, LocalDateTime now) {
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Booking.class);
+        for (ClassSession session : moved) {
+            bulk.updateMulti(new Query(Criteria.where("sessions.sessionId").is(session.getId())),
+                    new Update()
+                            .set("sessions.$[s].startTime", session.getScheduledStartTime())
+                            .set("sessions.$[s].endTime", session.getScheduledEndTime())
+                            .set("updatedAt", now)
+                            .filterArray(Criteria.where("s.sessionId").is(session.getId())));
+        }
+        if (!moved.isEmpty()) {
+            bulk.execute();
+        }
+    }
+
+    private void rejectConflicts(String teacherId, List<LocalDateTime> starts, int durationMinutes,
+                                 List<String> excludeSessionIds) {
+        List<AvailabilityEngine.CandidateSlot> slots = starts.stream()
+                .map(start -> new AvailabilityEngine.CandidateSlot(start, start.plusMinutes(durationMinutes), null))
+                .toList();
+        List<LocalDateTime> conflicts = conflictService.findConflicts(teacherId, slots, excludeSessionIds);
+        if (!conflicts.isEmpty()) {
+            log.warn("⚠️ Session series for teacher {} conflicts at {}", teacherId, conflicts);
+            throw new IllegalArgumentException("Series conflicts with existing sessions at: " + conflicts);
+        }
+    }
+
+    private Criteria futureCriteria(String seriesId) {
+        return Criteria.where("seriesId").is(seriesId)
+                .and("status").is(ClassStatus.SCHEDULED)
+                .and("scheduledStartTime").gt(LocalDateTime.now());
+    }
+
+    // Guarded on status as well, so an occurrence that started meanwhile is left alone
+    private Query futureOccurrences(String seriesId, List<String> ids) {
+        return new Query(Criteria.where("_id").in(ids)
+                .and("seriesId").is(seriesId)
+                .and("status").is(ClassStatus.SCHEDULED));
+    }
+
+    private List<String> futureSessionIds(String seriesId) {
+        Query query = new Query(futureCriteria(seriesId))
+                .with(Sort.by(Sort.Direction.ASC, "scheduledStartTime"));
+        query.fields().include("_id");
+        return mongoTemplate.find(query, ClassSession.class).stream().map(ClassSession::getId).toList();
+    }
+
+    private static ArithmeticOperators.Add shifted(String field, long millis) {
+        return ArithmeticOperators.Add.valueOf(field).add(millis);
+    }
+
+    private SessionSeries requireSeries(String seriesId) {
+        return seriesRepository.findById(seriesId)
+                .orElseThrow(() -> new IllegalArgumentException("Session series not found: " + seriesId));
+    }
+
+    private SessionSeries requireOwnedActiveSeries(String seriesId, String teacherId) {
+        SessionSeries series = requireSeries(seriesId);
+        if (!series.getTeacherId().equals(teacherId)) {
+            throw new IllegalArgumentException("Unauthorized: Teacher does not own this series");
+        }
+        if (series.getStatus() != SessionSeries.Status.ACTIVE) {
+            throw new IllegalArgumentException("Session series is not active: " + seriesId);
+        }
+        return series;
+    }
+
+    private ClassSession occurrence(SessionSeries series, Course course, LocalDateTime start, int number) {
+        return ClassSession.builder()
+                .courseId(series.getCourseId())
+                .teacherId(series.getTeacherId())
+                .teacherName("")
+                .title(series.getTitle() + " - Session " + number)
+                .description(series.getDescription())
+                .sessionType(series.getSessionType())
+                .status(ClassStatus.SCHEDULED)
+                .scheduledStartTime(start)
+                .scheduledEndTime(start.plusMinutes(series.getDurationMinutes()))
+                .durationMinutes(series.getDurationMinutes())
+                .meetingUrl(series.getMeetingUrl())
+                .meetingId(series.getMeetingId())
+                .meetingPassword(series.getMeetingPassword())
+                .maxParticipants(series.getMaxParticipants())
+                .attendedCount(0)
+                .materialUrls(new ArrayList<>())
+                .reminderSent(false)
+                .seriesId(series.getId())
+                .createdBy(series.getTeacherId())
+                .build();
+    }
+
+    private SessionSeriesDto toDto(SessionSeries series, List<String> sessionIds) {
+        return SessionSeriesDto.builder()
+                .id(series.getId())
+                .teacherId(series.getTeacherId())
+                .courseId(series.getCourseId())
+                .title(series.getTitle())
+                .description(series.getDescription())
+                .sessionType(series.getSessionType())
+                .daysOfWeek(series.getDaysOfWeek())
+                .startTime(series.getStartTime())
+                .durationMinutes(series.getDurationMinutes())
+                .startDate(series.getStartDate())
+                .endDate(series.getEndDate())
+                .maxParticipants(series.getMaxParticipants())
+                .status(series.getStatus())
+                .sessionCount(series.getSessionCount())
+                .cancellationReason(series.getCancellationReason())
+                .createdAt(series.getCreatedAt())
+                .updatedAt(series.getUpdatedAt())
+                .sessionIds(sessionIds)
+                .build();
+    }
+}
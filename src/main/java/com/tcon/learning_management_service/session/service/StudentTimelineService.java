@@ -0,0 +1,193 @@
+package com.tcon.learning_management_service.session.service;
+
+import com.tcon.learning_management_service.session.dto.SessionTimelinePage;
+import com.tcon.learning_management_service.session.entity.ClassSession;
+import com.tcon.learning_management_service.session.entity.StudentTimelineEntry;
+import com.tcon.learning_management_service.session.repository.TimelineCursor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Maintains student_session_timeline, the per-student index of sessions.
+ * Every write is an idempotent upsert or conditional delete keyed on
+ * (studentId, sessionId), so callers can repeat them safely.
+ */
+@Slf4j
+@Service
+public class StudentTimelineService {
+
+    private final MongoTemplate mongoTemplate;
+    private final int defaultPageSize;
+    private final int maxPageSize;
+
+    public StudentTimelineService(MongoTemplate mongoTemplate,
+                                  @Value("${session.timeline.default-size:50}") int defaultPageSize,
+                                  @Value("${session.timeline.max-size:200}") int maxPageSize) {
+        this.mongoTemplate = mongoTemplate;
+        this.defaultPageSize = defaultPageSize;
+        this.maxPageSize = maxPageSize;
+    }
+
+    /**
+     * Put a session on a student's timeline.
+     */
+    public void add(ClassSession session, String studentId, StudentTimelineEntry.Source source) {
+        mongoTemplate.upsert(entryQuery(studentId, session.getId()), insertOnly(session, source),
+                StudentTimelineEntry.class);
+    }
+
+    /**
+     * Put one-on-one sessions on their students' timelines in one bulk write.
+     */
+    public void addAll(Collection<ClassSession> sessions, StudentTimelineEntry.Source source) {
+        if (sessions.isEmpty()) {
+            return;
+        }
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, StudentTimelineEntry.class);
+        sessions.forEach(session ->
+                bulk.upsert(entryQuery(session.getStudentId(), session.getId()), insertOnly(session, source)));
+        bulk.execute();
+    }
+
+    /**
+     * Record that students were on a session's roster. Entries that only came from a
+     * seat booking are upgraded, so releasing the seat later does not remove them.
+     */
+    public void recordAttendance(ClassSession session, Collection<String> studentIds) {
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.ORDERED, StudentTimelineEntry.class);
+        for (String studentId : studentIds) {
+            bulk.updateOne(
+                    new Query(Criteria.where("studentId").is(studentId)
+                            .and("sessionId").is(session.getId())
+                            .and("source").is(StudentTimelineEntry.Source.BOOKING)),
+                    new Update().set("source", StudentTimelineEntry.Source.ATTENDANCE));
+            bulk.upsert(entryQuery(studentId, session.getId()),
+                    insertOnly(session, StudentTimelineEntry.Source.ATTENDANCE));
+        }
+        bulk.execute();
+    }
+
+    /**
+     * Take seat-booked sessions off timelines once the seats are given back.
+     *
+     * @param studentIdsBySession student ids, grouped by session id
+     */
+    public void removeBooked(Map<String, ? extends Collection<String>> studentIdsBySession) {
+        if (studentIdsBySession.isEmpty()) {
+            return;
+        }
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, StudentTimelineEntry.class);
+        studentIdsBySession.forEach((sessionId, studentIds) -> studentIds.forEach(studentId ->
+                bulk.remove(new Query(Criteria.where("studentId").is(studentId)
+                        .and("sessionId").is(sessionId)
+                        .and("source").is(StudentTimelineEntry.Source.BOOKING)))));
+        bulk.execute();
+    }
+
+    /**
+     * Give everyone who had the old session on their timeline the new one as well.
+     */
+    public void copySession(String fromSessionId, ClassSession to) {
+        Query query = new Query(Criteria.where("sessionId").is(fromSessionId));
+        query.fields().include("studentId", "source");
+        List<StudentTimelineEntry> entries = mongoTemplate.find(query, StudentTimelineEntry.class);
+        if (entries.isEmpty()) {
+            return;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<StudentTimelineEntry> copies = entries.stream()
+                .map(entry -> StudentTimelineEntry.builder()
+                        .studentId(entry.getStudentId())
+                        .sessionId(to.getId())
+                        .scheduledStartTime(to.getScheduledStartTime())
+                        .scheduledEndTime(to.getScheduledEndTime())
+                        .source(entry.getSource())
+                        .createdAt(now)
+                        .build())
+                .toList();
+        mongoTemplate.insert(copies, StudentTimelineEntry.class);
+        log.info("Copied {} timeline entr(ies) from session {} to {}", copies.size(), fromSessionId, to.getId());
+    }
+
+    /**
+     * A student's whole timeline in start-time order.
+     */
+    public List<StudentTimelineEntry> findAll(String studentId) {
+        Query query = new Query(Criteria.where("studentId").is(studentId))
+                .with(Sort.by(Sort.Direction.ASC, "scheduledStartTime", "sessionId"));
+        query.fields().include("sessionId", "scheduledStartTime");
+        return mongoTemplate.find(query, StudentTimelineEntry.class);
+    }
+
+    /**
+     * One page of a student's timeline in start-time order, optionally bounded to
+     * [from, to).
+     */
+    public SessionTimelinePage<StudentTimelineEntry> findPage(String studentId, LocalDateTime from, LocalDateTime to,
+                                                             String cursor, Integer limit) {
+        int size = limit == null ? defaultPageSize : limit;
+        if (size < 1 || size > maxPageSize) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + maxPageSize);
+        }
+        if (from != null && to != null && !from.isBefore(to)) {
+            throw new IllegalArgumentException("'from' must be before 'to'");
+        }
+
+        List<Criteria> criteria = new ArrayList<>();
+        criteria.add(Criteria.where("studentId").is(studentId));
+        if (from != null) {
+            criteria.add(Criteria.where("scheduledStartTime").gte(from));
+        }
+        if (to != null) {
+            criteria.add(Criteria.where("scheduledStartTime").lt(to));
+        }
+        if (cursor != null && !cursor.isBlank()) {
+            TimelineCursor position = TimelineCursor.decode(cursor);
+            criteria.add(new Criteria().orOperator(
+                    Criteria.where("scheduledStartTime").gt(position.getScheduledStartTime()),
+                    Criteria.where("scheduledStartTime").is(position.getScheduledStartTime())
+                            .and("sessionId").gt(position.getSessionId())));
+        }
+
+        Query query = new Query(new Criteria().andOperator(criteria.toArray(new Criteria[0])))
+                .with(Sort.by(Sort.Direction.ASC, "scheduledStartTime", "sessionId"))
+                .limit(size + 1);
+
+        List<StudentTimelineEntry> found = mongoTemplate.find(query, StudentTimelineEntry.class);
+        boolean hasMore = found.size() > size;
+        List<StudentTimelineEntry> items = hasMore ? found.subList(0, size) : found;
+
+        return SessionTimelinePage.<StudentTimelineEntry>builder()
+                .items(items)
+                .nextCursor(hasMore ? TimelineCursor.of(items.get(items.size() - 1)).encode() : null)
+                .hasMore(hasMore)
+                .size(items.size())
+                .build();
+    }
+
+    private Query entryQuery(String studentId, String sessionId) {
+        return new Query(Criteria.where("studentId").is(studentId).and("sessionId").is(sessionId));
+    }
+
+    private Update insertOnly(ClassSession session, StudentTimelineEntry.Source source) {
+        return new Update()
+                .setOnInsert("scheduledStartTime", session.getScheduledStartTime())
+                .setOnInsert("scheduledEndTime", session.getScheduledEndTime())
+                .setOnInsert("source", source)
+                .setOnInsert("createdAt", LocalDateTime.now());
+    }
+}
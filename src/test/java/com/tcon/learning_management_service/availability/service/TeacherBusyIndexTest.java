@@ -0,0 +1,117 @@
+package com.tcon.learning_management_service.availability.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TeacherBusyIndexTest {
+
+    private static final LocalDate DAY = LocalDate.of(2026, 3, 10);
+
+    @Test
+    void overlappingIntervalIsBusyAndTouchingOneIsNot() {
+        TeacherBusyIndex.TeacherCalendar calendar = new TeacherBusyIndex.TeacherCalendar();
+        calendar.add("session:a", at(10, 0), at(11, 0));
+
+        assertThat(calendar.isBusy(at(10, 30), at(10, 45), null)).isTrue();
+        assertThat(calendar.isBusy(at(9, 0), at(10, 5), null)).isTrue();
+        assertThat(calendar.isBusy(at(9, 0), at(10, 0), null)).isFalse();
+        assertThat(calendar.isBusy(at(11, 0), at(12, 0), null)).isFalse();
+    }
+
+    @Test
+    void offGridTimesSharingACellDoNotClash() {
+        TeacherBusyIndex.TeacherCalendar calendar = new TeacherBusyIndex.TeacherCalendar();
+        // Both ends fall inside the 10:05-10:10 cell
+        calendar.add("session:a", at(10, 0), at(10, 7));
+
+        assertThat(calendar.isBusy(at(10, 7), at(10, 30), null)).isFalse();
+        assertThat(calendar.isBusy(at(10, 6), at(10, 30), null)).isTrue();
+        assertThat(calendar.isBusy(at(9, 50).plusSeconds(30), at(10, 0), null)).isFalse();
+    }
+
+    @Test
+    void excludedKeyIsIgnoredButOthersStillCount() {
+        TeacherBusyIndex.TeacherCalendar calendar = new TeacherBusyIndex.TeacherCalendar();
+        calendar.add("session:a", at(10, 0), at(11, 0));
+        calendar.add("session:b", at(10, 30), at(11, 30));
+
+        assertThat(calendar.isBusy(at(10, 0), at(10, 15), "session:a")).isFalse();
+        assertThat(calendar.isBusy(at(10, 0), at(10, 45), "session:a")).isTrue();
+    }
+
+    @Test
+    void removalRebuildsTheDayFromRemainingIntervals() {
+        TeacherBusyIndex.TeacherCalendar calendar = new TeacherBusyIndex.TeacherCalendar();
+        calendar.add("session:a", at(10, 0), at(11, 0));
+        calendar.add("session:b", at(10, 30), at(11, 30));
+
+        calendar.remove("session:a");
+
+        assertThat(calendar.isBusy(at(10, 0), at(10, 30), null)).isFalse();
+        assertThat(calendar.isBusy(at(11, 0), at(11, 15), null)).isTrue();
+    }
+
+    @Test
+    void removingABookingKeyAlsoRemovesItsSessionChildren() {
+        TeacherBusyIndex.TeacherCalendar calendar = new TeacherBusyIndex.TeacherCalendar();
+        calendar.add("booking:x:0", at(9, 0), at(10, 0));
+        calendar.add("booking:x:1", at(14, 0), at(15, 0));
+        calendar.add("booking:xy", at(16, 0), at(17, 0));
+
+        calendar.remove("booking:x");
+
+        assertThat(calendar.isBusy(at(9, 0), at(15, 0), null)).isFalse();
+        assertThat(calendar.isBusy(at(16, 0), at(17, 0), null)).isTrue();
+    }
+
+    @Test
+    void replacingAKeyFreesItsOldTime() {
+        TeacherBusyIndex.TeacherCalendar calendar = new TeacherBusyIndex.TeacherCalendar();
+        calendar.add("session:a", at(10, 0), at(11, 0));
+        calendar.add("session:a", at(15, 0), at(16, 0));
+
+        assertThat(calendar.isBusy(at(10, 0), at(11, 0), null)).isFalse();
+        assertThat(calendar.isBusy(at(15, 30), at(15, 45), null)).isTrue();
+    }
+
+    @Test
+    void intervalsAcrossMidnightAndWordBoundariesAreTracked() {
+        TeacherBusyIndex.TeacherCalendar calendar = new TeacherBusyIndex.TeacherCalendar();
+        calendar.add("session:late", at(23, 30), DAY.plusDays(1).atTime(0, 30));
+        // Cell 64 (05:20) is the first cell of the second word
+        calendar.add("session:edge", at(5, 15), at(5, 25));
+
+        assertThat(calendar.isBusy(at(23, 55), at(23, 59), null)).isTrue();
+        assertThat(calendar.isBusy(DAY.plusDays(1).atTime(0, 0), DAY.plusDays(1).atTime(0, 10), null)).isTrue();
+        assertThat(calendar.isBusy(DAY.plusDays(1).atTime(0, 30), DAY.plusDays(1).atTime(1, 0), null)).isFalse();
+        assertThat(calendar.isBusy(at(5, 20), at(5, 21), null)).isTrue();
+        assertThat(calendar.isBusy(at(5, 25), at(5, 40), null)).isFalse();
+    }
+
+    @Test
+    void emptyIntervalsAreIgnored() {
+        TeacherBusyIndex.TeacherCalendar calendar = new TeacherBusyIndex.TeacherCalendar();
+        calendar.add("session:a", at(10, 0), at(10, 0));
+
+        assertThat(calendar.isBusy(at(0, 0), DAY.plusDays(1).atStartOfDay(), null)).isFalse();
+        assertThat(calendar.countOn(DAY)).isZero();
+    }
+
+    @Test
+    void countsIntervalsByStartDay() {
+        TeacherBusyIndex.TeacherCalendar calendar = new TeacherBusyIndex.TeacherCalendar();
+        calendar.add("session:a", at(9, 0), at(10, 0));
+        calendar.add("session:b", at(23, 0), DAY.plusDays(1).atTime(1, 0));
+
+        assertThat(calendar.countOn(DAY)).isEqualTo(2);
+        assertThat(calendar.countOn(DAY.plusDays(1))).isZero();
+    }
+
+    private static LocalDateTime at(int hour, int minute) {
+        return DAY.atTime(hour, minute);
+    }
+}
@@ -0,0 +1,61 @@
+package com.tcon.learning_management_service.booking.repository;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BookingCursorTest {
+
+    @Test
+    void roundTripsStartTimeAndId() {
+        LocalDateTime start = LocalDateTime.of(2026, 3, 10, 10, 0);
+        BookingCursor cursor = BookingCursor.decode(new BookingCursor(start, "65f1c0ffee").encode());
+
+        assertThat(cursor.getSessionStartTime()).isEqualTo(start);
+        assertThat(cursor.getId()).isEqualTo("65f1c0ffee");
+    }
+
+    @Test
+    void keepsSecondsAndNanos() {
+        LocalDateTime start = LocalDateTime.of(2026, 3, 10, 10, 0, 7, 123_456_789);
+
+        assertThat(BookingCursor.decode(new BookingCursor(start, "id").encode()).getSessionStartTime())
+                .isEqualTo(start);
+    }
+
+    @Test
+    void roundTripsMissingStartTime() {
+        BookingCursor cursor = BookingCursor.decode(new BookingCursor(null, "id").encode());
+
+        assertThat(cursor.getSessionStartTime()).isNull();
+        assertThat(cursor.getId()).isEqualTo("id");
+    }
+
+    @Test
+    void tokenIsUrlSafe() {
+        String token = new BookingCursor(LocalDateTime.of(2026, 12, 31, 23, 59), "??>>").encode();
+
+        assertThat(token).matches("[A-Za-z0-9_-]+");
+    }
+
+    @Test
+    void rejectsMalformedTokens() {
+        assertThatThrownBy(() -> BookingCursor.decode("not base64!"))
+                .isInstanceOf(IllegalArgumentException.class).hasMessage("Invalid cursor");
+        assertThatThrownBy(() -> BookingCursor.decode(encode("no-separator")))
+                .isInstanceOf(IllegalArgumentException.class).hasMessage("Invalid cursor");
+        assertThatThrownBy(() -> BookingCursor.decode(encode("2026-03-10T10:00|")))
+                .isInstanceOf(IllegalArgumentException.class).hasMessage("Invalid cursor");
+        assertThatThrownBy(() -> BookingCursor.decode(encode("yesterday|id")))
+                .isInstanceOf(IllegalArgumentException.class).hasMessage("Invalid cursor");
+    }
+
+    private static String encode(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,120 @@
+package com.tcon.learning_management_service.session.scheduler;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HierarchicalTimingWheelTest {
+
+    private static final long TICK = 1_000;
+    private static final int SIZE = 8;
+
+    @Test
+    void firesAtTheFirstTickAtOrAfterTheDeadline() {
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(TICK, SIZE, 0);
+        wheel.schedule("on-tick", 3_000, "on-tick");
+        wheel.schedule("off-tick", 3_001, "off-tick");
+
+        assertThat(wheel.advanceTo(2_999)).isEmpty();
+        assertThat(wheel.advanceTo(3_000)).containsExactly("on-tick");
+        assertThat(wheel.advanceTo(3_999)).isEmpty();
+        assertThat(wheel.advanceTo(4_000)).containsExactly("off-tick");
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void refusesDeadlinesThatAreAlreadyDue() {
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(TICK, SIZE, 5_000);
+
+        assertThat(wheel.schedule("past", 4_000, "past")).isFalse();
+        assertThat(wheel.schedule("now", 5_000, "now")).isFalse();
+        assertThat(wheel.schedule("next", 5_001, "next")).isTrue();
+        assertThat(wheel.contains("past")).isFalse();
+        assertThat(wheel.contains("next")).isTrue();
+    }
+
+    @Test
+    void slotExactlyOneTurnAheadFiresOnTime() {
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(TICK, SIZE, 0);
+        wheel.schedule("turn", TICK * SIZE, "turn");
+
+        assertThat(wheel.advanceTo(TICK * SIZE - 1)).isEmpty();
+        assertThat(wheel.advanceTo(TICK * SIZE)).containsExactly("turn");
+    }
+
+    @Test
+    void cascadesThroughOverflowWheelsWithoutFiringEarlyOrLate() {
+        HierarchicalTimingWheel<Long> wheel = new HierarchicalTimingWheel<>(TICK, SIZE, 0);
+        // Beyond the lowest wheel (8s), its first overflow (64s) and the second (512s)
+        long[] deadlines = {9_000, 63_500, 64_000, 65_000, 130_250, 512_000, 700_001};
+        for (long deadline : deadlines) {
+            wheel.schedule("d" + deadline, deadline, deadline);
+        }
+
+        Map<Long, Long> firedAt = new HashMap<>();
+        for (long now = TICK; now <= 800_000; now += TICK) {
+            for (long deadline : wheel.advanceTo(now)) {
+                firedAt.put(deadline, now);
+            }
+        }
+
+        for (long deadline : deadlines) {
+            assertThat(firedAt).containsEntry(deadline, ceilToTick(deadline));
+        }
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void startingOffTickStillFiresEveryDeadlineOnce() {
+        HierarchicalTimingWheel<Long> wheel = new HierarchicalTimingWheel<>(TICK, SIZE, 12_345);
+        Random random = new Random(42);
+        List<Long> deadlines = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            long deadline = 12_346 + random.nextInt(2_000_000);
+            deadlines.add(deadline);
+            wheel.schedule("k" + i, deadline, deadline);
+        }
+
+        List<Long> fired = new ArrayList<>();
+        for (long now = 13_000; now <= 2_100_000; now += TICK) {
+            for (long deadline : wheel.advanceTo(now)) {
+                assertThat(deadline).isLessThanOrEqualTo(now);
+                assertThat(now - deadline).isLessThan(TICK);
+                fired.add(deadline);
+            }
+        }
+        assertThat(fired).containsExactlyInAnyOrderElementsOf(deadlines);
+    }
+
+    @Test
+    void rescheduleReplacesAndCancelRemoves() {
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(TICK, SIZE, 0);
+        wheel.schedule("a", 100_000, "a-old");
+        wheel.schedule("a", 2_000, "a-new");
+        wheel.schedule("b", 3_000, "b");
+        wheel.cancel("b");
+
+        assertThat(wheel.size()).isEqualTo(1);
+        assertThat(wheel.advanceTo(200_000)).containsExactly("a-new");
+    }
+
+    @Test
+    void advancingAcrossManyTicksKeepsFiringOrder() {
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(TICK, SIZE, 0);
+        wheel.schedule("late", 90_000, "late");
+        wheel.schedule("early", 2_000, "early");
+        wheel.schedule("middle", 20_000, "middle");
+
+        assertThat(wheel.advanceTo(100_000)).containsExactly("early", "middle", "late");
+    }
+
+    private static long ceilToTick(long millis) {
+        return Math.floorDiv(millis + TICK - 1, TICK) * TICK;
+    }
+}
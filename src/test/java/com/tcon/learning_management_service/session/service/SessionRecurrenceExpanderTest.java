@@ -0,0 +1,78 @@
+package com.tcon.learning_management_service.session.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.List;
+
+import static java.time.DayOfWeek.FRIDAY;
+import static java.time.DayOfWeek.MONDAY;
+import static java.time.DayOfWeek.TUESDAY;
+import static java.time.DayOfWeek.WEDNESDAY;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SessionRecurrenceExpanderTest {
+
+    // A Tuesday
+    private static final LocalDate FROM = LocalDate.of(2026, 3, 10);
+
+    @Test
+    void listsEveryMatchingDayInOrder() {
+        List<LocalDate> dates = SessionRecurrenceExpander.weeklyDates(
+                List.of(FRIDAY, MONDAY), FROM, FROM.plusDays(13), Integer.MAX_VALUE);
+
+        assertThat(dates).containsExactly(
+                LocalDate.of(2026, 3, 13), LocalDate.of(2026, 3, 16),
+                LocalDate.of(2026, 3, 20), LocalDate.of(2026, 3, 23));
+    }
+
+    @Test
+    void includesBothEnds() {
+        List<LocalDate> dates = SessionRecurrenceExpander.weeklyDates(
+                List.of(TUESDAY), FROM, FROM.plusWeeks(2), Integer.MAX_VALUE);
+
+        assertThat(dates).containsExactly(FROM, FROM.plusWeeks(1), FROM.plusWeeks(2));
+    }
+
+    @Test
+    void stopsAtMaxMidWeek() {
+        List<LocalDate> dates = SessionRecurrenceExpander.weeklyDates(
+                List.of(MONDAY, WEDNESDAY, FRIDAY), FROM, FROM.plusYears(1), 4);
+
+        assertThat(dates).containsExactly(
+                LocalDate.of(2026, 3, 11), LocalDate.of(2026, 3, 13),
+                LocalDate.of(2026, 3, 16), LocalDate.of(2026, 3, 18));
+    }
+
+    @Test
+    void ignoresDuplicateDays() {
+        List<LocalDate> dates = SessionRecurrenceExpander.weeklyDates(
+                List.of(WEDNESDAY, WEDNESDAY), FROM, FROM.plusDays(8), Integer.MAX_VALUE);
+
+        assertThat(dates).containsExactly(LocalDate.of(2026, 3, 11), LocalDate.of(2026, 3, 18));
+    }
+
+    @Test
+    void isEmptyWhenNoDayFallsInRange() {
+        assertThat(SessionRecurrenceExpander.weeklyDates(
+                List.of(MONDAY), FROM, FROM.plusDays(5), Integer.MAX_VALUE)).isEmpty();
+        assertThat(SessionRecurrenceExpander.weeklyDates(
+                List.<DayOfWeek>of(), FROM, FROM.plusYears(1), Integer.MAX_VALUE)).isEmpty();
+        assertThat(SessionRecurrenceExpander.weeklyDates(
+                List.of(TUESDAY), FROM, FROM.minusDays(1), Integer.MAX_VALUE)).isEmpty();
+    }
+
+    @Test
+    void matchesADayByDayWalk() {
+        List<DayOfWeek> days = List.of(DayOfWeek.SUNDAY, TUESDAY, DayOfWeek.SATURDAY);
+        LocalDate until = FROM.plusDays(200);
+
+        List<LocalDate> walked = FROM.datesUntil(until.plusDays(1))
+                .filter(date -> days.contains(date.getDayOfWeek()))
+                .limit(50)
+                .toList();
+
+        assertThat(SessionRecurrenceExpander.weeklyDates(days, FROM, until, 50)).isEqualTo(walked);
+    }
+}
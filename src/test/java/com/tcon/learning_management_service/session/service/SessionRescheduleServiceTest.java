@@ -0,0 +1,152 @@
+package com.tcon.learning_management_service.session.service;
+
+import com.mongodb.client.result.UpdateResult;
+import com.tcon.learning_management_service.availability.service.TeacherBusyIndex;
+import com.tcon.learning_management_service.booking.dto.AvailabilityDto;
+import com.tcon.learning_management_service.booking.entity.Booking;
+import com.tcon.learning_management_service.booking.entity.BookingStatus;
+import com.tcon.learning_management_service.booking.service.AvailabilityEngine;
+import com.tcon.learning_management_service.event.SessionEventPublisher;
+import com.tcon.learning_management_service.session.dto.SessionRescheduleRequest;
+import com.tcon.learning_management_service.session.entity.ClassSession;
+import com.tcon.learning_management_service.session.entity.ClassStatus;
+import com.tcon.learning_management_service.session.repository.ClassSessionRepository;
+import com.tcon.learning_management_service.session.scheduler.SessionDeadlineScheduler;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.mongodb.core.query.UpdateDefinition;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SessionRescheduleServiceTest {
+
+    private static final LocalDate DAY = LocalDate.now().plusDays(7);
+    private static final String TEACHER = "teacher-1";
+    private static final String OLD_SESSION = "session-old";
+    private static final String NEW_SESSION = "session-new";
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+    @Mock
+    private ClassSessionRepository sessionRepository;
+    @Mock
+    private SessionEventPublisher eventPublisher;
+    @Mock
+    private TeacherBusyIndex busyIndex;
+    @Mock
+    private SessionDeadlineScheduler deadlineScheduler;
+    @Mock
+    private SessionParticipantService participantService;
+    @Mock
+    private StudentTimelineService timelineService;
+    @Mock
+    private SessionConflictService conflictService;
+
+    @InjectMocks
+    private SessionRescheduleService rescheduleService;
+
+    private final AvailabilityEngine engine = new AvailabilityEngine();
+
+    @Test
+    void reschedulingAPackageSessionFreesTheOldSlotAndHoldsTheNewOne() {
+        ClassSession oldSession = ClassSession.builder()
+                .id(OLD_SESSION)
+                .teacherId(TEACHER)
+                .status(ClassStatus.SCHEDULED)
+                .scheduledStartTime(at(10))
+                .scheduledEndTime(at(11))
+                .durationMinutes(60)
+                .build();
+        when(sessionRepository.findById(OLD_SESSION)).thenReturn(Optional.of(oldSession));
+        when(sessionRepository.save(any(ClassSession.class))).thenAnswer(invocation -> {
+            ClassSession session = invocation.getArgument(0);
+            if (session.getId() == null) {
+                session.setId(NEW_SESSION);
+            }
+            return session;
+        });
+        when(mongoTemplate.updateMulti(any(Query.class), any(UpdateDefinition.class), eq(Booking.class)))
+                .thenReturn(UpdateResult.acknowledged(1, 1L, null));
+
+        Booking packageBooking = Booking.builder()
+                .id("booking-1")
+                .teacherId(TEACHER)
+                .status(BookingStatus.CONFIRMED)
+                .sessions(new ArrayList<>(List.of(
+                        slot(OLD_SESSION, at(10), at(11)),
+                        slot("session-other", at(16), at(17)))))
+                .build();
+
+        rescheduleService.rescheduleSession(OLD_SESSION, TEACHER, SessionRescheduleRequest.builder()
+                .newScheduledStartTime(at(14))
+                .reason("Teacher unavailable")
+                .build());
+
+        ArgumentCaptor<Query> queries = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<UpdateDefinition> updates = ArgumentCaptor.forClass(UpdateDefinition.class);
+        verify(mongoTemplate, times(2)).updateMulti(queries.capture(), updates.capture(), eq(Booking.class));
+
+        Query packaged = queries.getAllValues().get(1);
+        assertThat(packaged.getQueryObject().get("sessions.sessionId")).isEqualTo(OLD_SESSION);
+        applyArrayFilteredSet(packageBooking, (Update) updates.getAllValues().get(1));
+
+        assertThat(packageBooking.getSessions().get(0).getSessionId()).isEqualTo(NEW_SESSION);
+        assertThat(packageBooking.getSessions().get(1).getStartTime()).isEqualTo(at(16));
+
+        List<AvailabilityDto> result = engine.evaluate(
+                List.of(new AvailabilityEngine.CandidateSlot(at(10), at(11), null),
+                        new AvailabilityEngine.CandidateSlot(at(14), at(15), null)),
+                engine.toBusyIntervals(List.of(), List.of(packageBooking)), 0, null);
+        assertThat(result).extracting(AvailabilityDto::getIsAvailable).containsExactly(true, false);
+    }
+
+    // Applies a $set on sessions.$[s].* to the elements the update's array filter selects
+    private static void applyArrayFilteredSet(Booking booking, Update update) {
+        Document filter = update.getArrayFilters().get(0).asDocument();
+        Object selected = filter.get("s.sessionId");
+        Document set = update.getUpdateObject().get("$set", Document.class);
+
+        for (Booking.SessionTime time : booking.getSessions()) {
+            if (!selected.equals(time.getSessionId())) {
+                continue;
+            }
+            for (Map.Entry<String, Object> field : set.entrySet()) {
+                switch (field.getKey()) {
+                    case "sessions.$[s].sessionId" -> time.setSessionId((String) field.getValue());
+                    case "sessions.$[s].startTime" -> time.setStartTime((LocalDateTime) field.getValue());
+                    case "sessions.$[s].endTime" -> time.setEndTime((LocalDateTime) field.getValue());
+                    default -> { }
+                }
+            }
+        }
+    }
+
+    private static Booking.SessionTime slot(String sessionId, LocalDateTime start, LocalDateTime end) {
+        return Booking.SessionTime.builder().sessionId(sessionId).startTime(start).endTime(end).build();
+    }
+
+    private static LocalDateTime at(int hour) {
+        return DAY.atTime(hour, 0);
+    }
+}